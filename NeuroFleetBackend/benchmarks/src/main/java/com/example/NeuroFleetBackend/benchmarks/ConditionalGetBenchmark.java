@@ -0,0 +1,94 @@
+package com.example.NeuroFleetBackend.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.NeuroFleetBackend.controller.DashboardController;
+import com.example.NeuroFleetBackend.model.Vehicle;
+import com.example.NeuroFleetBackend.security.AuthenticatedUser;
+import com.example.NeuroFleetBackend.service.FleetCounters;
+import com.example.NeuroFleetBackend.service.FleetStateCache;
+import com.example.NeuroFleetBackend.service.GeoIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// The customer dashboard (every available vehicle plus the caller's counts) answered in
+// full and serialized, against a revalidation with a matching If-None-Match that ends in a
+// 304. The body size is printed once per trial; a 304 carries headers only.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConditionalGetBenchmark {
+
+    private static final String[] STATUSES = { "AVAILABLE", "AVAILABLE", "BOOKED", "IN_USE", "MAINTENANCE" };
+
+    @Param({ "100", "1000", "10000" })
+    private int fleetSize;
+
+    private ObjectMapper objectMapper;
+    private DashboardController controller;
+    private AuthenticatedUser customer;
+    private String etag;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        FleetCounters counters = new FleetCounters();
+        FleetStateCache fleetState = new FleetStateCache();
+        ReflectionTestUtils.setField(fleetState, "geoIndex", new GeoIndex(0.05));
+        ReflectionTestUtils.setField(fleetState, "counters", counters);
+        ReflectionTestUtils.setField(fleetState, "loaded", true);
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 6, 9, 30);
+        for (int i = 0; i < fleetSize; i++) {
+            fleetState.put(new Vehicle((long) i + 1, String.format("KA-%02d-%04d", i / 10000, i % 10000),
+                    "Nexon EV", "CAR", STATUSES[random.nextInt(STATUSES.length)],
+                    12.9716 + (random.nextDouble() - 0.5) * 0.4, 77.5946 + (random.nextDouble() - 0.5) * 0.4,
+                    random.nextDouble() * 80, random.nextDouble() * 100, random.nextDouble() * 100,
+                    now.minusSeconds(random.nextInt(3600))));
+        }
+        controller = new DashboardController();
+        ReflectionTestUtils.setField(controller, "fleetState", fleetState);
+        ReflectionTestUtils.setField(controller, "counters", counters);
+        customer = new AuthenticatedUser(7L, "customer7", "CUSTOMER");
+
+        ResponseEntity<?> first = controller.getCustomerDashboard(null, customer, null, null);
+        etag = first.getHeaders().getETag();
+        System.out.printf("%n%d vehicles: 200 body %d bytes, 304 body 0 bytes%n",
+                fleetSize, objectMapper.writeValueAsBytes(first.getBody()).length);
+    }
+
+    @Benchmark
+    public int fullResponse() throws JsonProcessingException {
+        ResponseEntity<?> response = controller.getCustomerDashboard(null, customer, null, null);
+        return objectMapper.writeValueAsBytes(response.getBody()).length;
+    }
+
+    @Benchmark
+    public int notModified() {
+        return controller.getCustomerDashboard(etag, customer, null, null).getStatusCode().value();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.NeuroFleetBackend.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.NeuroFleetBackend.service.DispatchSolver;
+
+// One dispatch solve of size pickups against size vehicles scattered over a 40 km city,
+// with the production defaults (25 km limit, 8 candidates). solve() is what the service
+// runs: exact up to optimalMaxSize, greedy above; greedy() always takes the greedy path.
+// -p optimalMaxSize=1000 times the exact method on the 1000 batch.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DispatchBenchmark {
+
+    @Param({ "100", "1000", "5000" })
+    private int size;
+
+    @Param({ "300" })
+    private int optimalMaxSize;
+
+    private ForkJoinPool pool;
+    private DispatchSolver solver;
+    private double[] pickupLat;
+    private double[] pickupLon;
+    private double[] vehicleLat;
+    private double[] vehicleLon;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        solver = new DispatchSolver(pool, 25, optimalMaxSize, 8);
+        Random random = new Random(42);
+        pickupLat = new double[size];
+        pickupLon = new double[size];
+        vehicleLat = new double[size];
+        vehicleLon = new double[size];
+        for (int i = 0; i < size; i++) {
+            pickupLat[i] = 12.8 + random.nextDouble() * 0.36;
+            pickupLon[i] = 77.4 + random.nextDouble() * 0.36;
+            vehicleLat[i] = 12.8 + random.nextDouble() * 0.36;
+            vehicleLon[i] = 77.4 + random.nextDouble() * 0.36;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public double solve() {
+        return solver.solve(pickupLat, pickupLon, vehicleLat, vehicleLon, Long.MAX_VALUE).getTotalDistanceKm();
+    }
+
+    @Benchmark
+    public double greedy() {
+        return solver.greedy(pickupLat, pickupLon, vehicleLat, vehicleLon).getTotalDistanceKm();
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.NeuroFleetBackend.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.NeuroFleetBackend.config.ColumnarHttpMessageConverter;
+import com.example.NeuroFleetBackend.dto.VehicleColumns;
+import com.example.NeuroFleetBackend.dto.VehicleSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// A fleet snapshot written as the default Jackson rows, as columnar JSON and as CBOR
+// columns, into a stream that only counts bytes. The sizes are printed once per trial;
+// run with -prof gc for the bytes allocated per encode.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class EncodingBenchmark {
+
+    private static final String[] MODELS = { "Nexon EV", "Ertiga", "Innova Crysta", "Ace Gold", "Activa 6G" };
+    private static final String[] TYPES = { "CAR", "CAR", "VAN", "TRUCK", "BIKE" };
+    private static final String[] STATUSES = { "AVAILABLE", "AVAILABLE", "BOOKED", "IN_USE", "MAINTENANCE" };
+
+    @Param({ "1000", "10000", "100000" })
+    private int fleetSize;
+
+    private ObjectMapper objectMapper;
+    private ColumnarHttpMessageConverter converter;
+    private List<VehicleSnapshot> vehicles;
+    private final CountingMessage message = new CountingMessage();
+
+    @Setup
+    public void setUp() throws IOException {
+        // Configured like Spring Boot's auto-configured mapper
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        converter = new ColumnarHttpMessageConverter(objectMapper.getFactory());
+
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 6, 9, 30);
+        vehicles = new ArrayList<>(fleetSize);
+        for (int i = 0; i < fleetSize; i++) {
+            int kind = random.nextInt(MODELS.length);
+            vehicles.add(new VehicleSnapshot((long) i + 1, String.format("KA-%02d-%04d", i / 10000, i % 10000),
+                    MODELS[kind], TYPES[kind], STATUSES[random.nextInt(STATUSES.length)],
+                    12.9716 + (random.nextDouble() - 0.5) * 0.4, 77.5946 + (random.nextDouble() - 0.5) * 0.4,
+                    random.nextDouble() * 80, random.nextDouble() * 100, random.nextDouble() * 100,
+                    now.minusSeconds(random.nextInt(3600)), 0L));
+        }
+
+        System.out.printf("%n%d vehicles: rows %d bytes, columns+json %d bytes, cbor %d bytes%n",
+                fleetSize, jacksonRows(), columnsJson(), cbor());
+    }
+
+    @Benchmark
+    public long jacksonRows() throws IOException {
+        message.reset();
+        objectMapper.writeValue(message.getBody(), vehicles);
+        return message.count;
+    }
+
+    @Benchmark
+    public long columnsJson() throws IOException {
+        message.reset();
+        converter.write(new VehicleColumns(vehicles), ColumnarHttpMessageConverter.COLUMNS_JSON, message);
+        return message.count;
+    }
+
+    @Benchmark
+    public long cbor() throws IOException {
+        message.reset();
+        converter.write(new VehicleColumns(vehicles), MediaType.APPLICATION_CBOR, message);
+        return message.count;
+    }
+
+    private static final class CountingMessage extends OutputStream implements HttpOutputMessage {
+
+        private HttpHeaders headers = new HttpHeaders();
+        private long count;
+
+        void reset() {
+            headers = new HttpHeaders();
+            count = 0;
+        }
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return this;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public void close() {
+            // Jackson closes its target after writeValue; nothing to release
+        }
+    }
+}
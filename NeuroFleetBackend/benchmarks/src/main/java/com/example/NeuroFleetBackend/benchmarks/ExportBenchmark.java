@@ -0,0 +1,156 @@
+package com.example.NeuroFleetBackend.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.NeuroFleetBackend.service.BookingExportService;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// A full booking export, NDJSON and CSV, from a file-backed H2 database into a stream that
+// only counts bytes. Each invocation exports every row once. The fork runs with a 128 MB
+// heap, so a multi-million-row export only finishes if memory stays flat; rows per second,
+// bytes written and the peak heap of each export (uncollected garbage included) are printed.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx128m")
+@State(Scope.Benchmark)
+public class ExportBenchmark {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Param({ "1000000", "5000000" })
+    private int bookings;
+
+    private File directory;
+    private SingleConnectionDataSource dataSource;
+    private BookingExportService exportService;
+    private final CountingStream out = new CountingStream();
+    private long started;
+    private long rows;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = File.createTempFile("export", "");
+        directory.delete();
+        directory.mkdirs();
+        // A small page cache keeps the database itself out of the heap being measured
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:file:" + directory.getAbsolutePath() + "/fleet;MODE=MySQL;CACHE_SIZE=8192", true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50))");
+        jdbcTemplate.execute("CREATE TABLE vehicles (id BIGINT PRIMARY KEY, vehicle_number VARCHAR(20))");
+        jdbcTemplate.execute("CREATE TABLE bookings (id BIGINT PRIMARY KEY, booking_time TIMESTAMP, "
+                + "start_time TIMESTAMP, end_time TIMESTAMP, status VARCHAR(20), vehicle_id BIGINT, "
+                + "user_id BIGINT, pickup_location VARCHAR(255), drop_location VARCHAR(255), "
+                + "estimated_cost DOUBLE, actual_cost DOUBLE, remarks VARCHAR(255))");
+        jdbcTemplate.execute("INSERT INTO users SELECT X, CONCAT('user', X) FROM SYSTEM_RANGE(1, 50000)");
+        jdbcTemplate.execute("INSERT INTO vehicles SELECT X, CONCAT('KA-01-', LPAD(X, 5, '0')) "
+                + "FROM SYSTEM_RANGE(1, 10000)");
+        jdbcTemplate.execute("INSERT INTO bookings SELECT X, "
+                + "DATEADD('MINUTE', X / 10, TIMESTAMP '2024-01-01 00:00:00'), "
+                + "DATEADD('MINUTE', X / 10 + 30, TIMESTAMP '2024-01-01 00:00:00'), "
+                + "DATEADD('MINUTE', X / 10 + 90, TIMESTAMP '2024-01-01 00:00:00'), "
+                + "CASEWHEN(MOD(X, 7) = 0, 'CANCELLED', 'COMPLETED'), MOD(X, 10000) + 1, MOD(X, 50000) + 1, "
+                + "'MG Road, Bengaluru', 'Kempegowda International Airport, Bengaluru', "
+                + "450 + MOD(X, 900) * 0.5, 430 + MOD(X, 950) * 0.5, "
+                + "CASEWHEN(MOD(X, 13) = 0, 'Asked for a child seat, \"front\" pickup', NULL) "
+                + "FROM SYSTEM_RANGE(1, " + bookings + ")");
+        jdbcTemplate.execute("CREATE INDEX idx_booking_start ON bookings (start_time)");
+
+        exportService = new BookingExportService();
+        ReflectionTestUtils.setField(exportService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(exportService, "objectMapper", Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+        ReflectionTestUtils.setField(exportService, "fetchSize", 1000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.destroy();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Setup(Level.Invocation)
+    public void beforeExport() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+        out.count = 0;
+        started = System.nanoTime();
+    }
+
+    @TearDown(Level.Invocation)
+    public void afterExport() {
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peakHeap += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.printf("%n%d rows, %.0f rows/s, %d MB written, peak heap %d MB%n",
+                rows, rows / seconds, out.count >> 20, peakHeap >> 20);
+    }
+
+    @Benchmark
+    public long ndjson() throws IOException {
+        rows = exportService.exportNdjson(FROM, TO, out);
+        return out.count;
+    }
+
+    @Benchmark
+    public long csv() throws IOException {
+        rows = exportService.exportCsv(FROM, TO, out);
+        return out.count;
+    }
+
+    private static final class CountingStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
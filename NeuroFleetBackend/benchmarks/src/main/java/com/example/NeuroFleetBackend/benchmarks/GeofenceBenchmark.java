@@ -0,0 +1,102 @@
+package com.example.NeuroFleetBackend.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.NeuroFleetBackend.model.Geofence;
+import com.example.NeuroFleetBackend.service.GeofenceIndex;
+
+// Position checks per second on one thread against fenceCount depots and zones packed
+// into one square degree (a large city), plus one city-limits polygon covering all of
+// it. Random positions land inside about six fences on average.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GeofenceBenchmark {
+
+    private static final int POSITIONS = 1 << 16;
+
+    @Param({ "1000", "10000" })
+    private int fenceCount;
+
+    @Param({ "0.01" })
+    private double cellDegrees;
+
+    private GeofenceIndex index;
+    private GeofenceIndex.Hits hits;
+    private double[] latitudes;
+    private double[] longitudes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Geofence> fences = new ArrayList<>();
+        for (long id = 1; id <= fenceCount; id++) {
+            double latitude = 12.5 + random.nextDouble();
+            double longitude = 77.2 + random.nextDouble();
+            Geofence fence = new Geofence();
+            fence.setId(id);
+            if (random.nextBoolean()) {
+                fence.setShape("CIRCLE");
+                fence.setLatitude(latitude);
+                fence.setLongitude(longitude);
+                fence.setRadiusMeters(200 + random.nextDouble() * 2800);
+            } else {
+                fence.setShape("POLYGON");
+                fence.setPoints(ring(random, latitude, longitude, 4 + random.nextInt(12)));
+            }
+            fences.add(fence);
+        }
+        Geofence city = new Geofence();
+        city.setId(fenceCount + 1L);
+        city.setShape("POLYGON");
+        city.setPoints(ring(random, 13.0, 77.7, 200));
+        fences.add(city);
+
+        index = GeofenceIndex.build(fences, cellDegrees, 4096);
+        hits = new GeofenceIndex.Hits();
+        latitudes = new double[POSITIONS];
+        longitudes = new double[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            latitudes[i] = 12.5 + random.nextDouble();
+            longitudes[i] = 77.2 + random.nextDouble();
+        }
+    }
+
+    @Benchmark
+    public int lookup() {
+        int i = next++ & (POSITIONS - 1);
+        index.lookup(latitudes[i], longitudes[i], hits);
+        return hits.size();
+    }
+
+    // Irregular polygon around a center, about 2 km across for small rings and the whole area for the city
+    private static List<double[]> ring(Random random, double latitude, double longitude, int vertices) {
+        double radius = vertices > 100 ? 0.6 : 0.002 + random.nextDouble() * 0.02;
+        List<double[]> points = new ArrayList<>(vertices);
+        for (int k = 0; k < vertices; k++) {
+            double angle = 2 * Math.PI * k / vertices;
+            double r = radius * (0.5 + random.nextDouble() * 0.5);
+            points.add(new double[] { latitude + r * Math.sin(angle), longitude + r * Math.cos(angle) });
+        }
+        return points;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.NeuroFleetBackend.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.NeuroFleetBackend.security.JwtUtil;
+
+// Token issue on login and role lookup on every authenticated request. The uncached
+// case is the first request with a token (signature check and claims parsing); the
+// cached case is every request after that.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private JwtUtil uncached;
+    private String token;
+    private String[] alternating;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        token = jwtUtil.generateToken(42L, "driver42", "DRIVER");
+        jwtUtil.parse(token);
+
+        // With no room in the verified-token cache, two tokens in turn always miss
+        uncached = new JwtUtil();
+        ReflectionTestUtils.setField(uncached, "maxCachedTokens", 0);
+        alternating = new String[] { token, uncached.generateToken(43L, "driver43", "DRIVER") };
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(42L, "driver42", "DRIVER");
+    }
+
+    @Benchmark
+    public String extractRoleCached() {
+        return jwtUtil.extractRole(token);
+    }
+
+    @Benchmark
+    public String extractRoleUncached() {
+        return uncached.extractRole(alternating[next++ & 1]);
+    }
+}
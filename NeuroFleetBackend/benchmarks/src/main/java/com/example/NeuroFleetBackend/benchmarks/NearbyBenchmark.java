@@ -0,0 +1,174 @@
+package com.example.NeuroFleetBackend.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.NeuroFleetBackend.repository.VehicleRepository;
+import com.example.NeuroFleetBackend.service.GeoIndex;
+
+// The nearby-vehicles query (10 closest AVAILABLE within 5 km) three ways over a fleet
+// spread across a 45 km city: the GeoIndex grid, a linear haversine scan over the same
+// positions, and VehicleRepository.findAvailableNearby, the SQL fallback used before the
+// fleet state is warm. The SQL runs on in-memory H2 in MySQL mode, so it shows the cost
+// of a full-table haversine without network or disk; MySQL is slower still.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class NearbyBenchmark {
+
+    private static final int QUERIES = 1024;
+    private static final double RADIUS_KM = 5;
+    private static final int LIMIT = 10;
+    private static final String[] STATUSES = { "AVAILABLE", "AVAILABLE", "BOOKED", "IN_USE", "MAINTENANCE" };
+
+    @Param({ "1000", "10000", "100000" })
+    private int fleetSize;
+
+    // geo.index.cell-degrees; 0.05 is the default
+    @Param({ "0.05", "0.01" })
+    private double cellDegrees;
+
+    private GeoIndex index;
+    private double[] vehicleLat;
+    private double[] vehicleLon;
+    private boolean[] available;
+    private double[] queryLat;
+    private double[] queryLon;
+    private int next;
+
+    private Connection connection;
+    private PreparedStatement nearby;
+    private List<String> parameters;
+
+    @Setup
+    public void setUp() throws Exception {
+        Random random = new Random(42);
+        index = new GeoIndex(cellDegrees);
+        vehicleLat = new double[fleetSize];
+        vehicleLon = new double[fleetSize];
+        available = new boolean[fleetSize];
+        for (int i = 0; i < fleetSize; i++) {
+            vehicleLat[i] = 12.77 + random.nextDouble() * 0.4;
+            vehicleLon[i] = 77.39 + random.nextDouble() * 0.4;
+            available[i] = "AVAILABLE".equals(STATUSES[random.nextInt(STATUSES.length)]);
+            index.update(i, vehicleLat[i], vehicleLon[i]);
+        }
+        queryLat = new double[QUERIES];
+        queryLon = new double[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryLat[i] = 12.77 + random.nextDouble() * 0.4;
+            queryLon[i] = 77.39 + random.nextDouble() * 0.4;
+        }
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:nearby;MODE=MySQL");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE vehicles (id BIGINT PRIMARY KEY, type VARCHAR(20), status VARCHAR(20), "
+                    + "latitude DOUBLE, longitude DOUBLE)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO vehicles VALUES (?, 'CAR', ?, ?, ?)")) {
+            for (int i = 0; i < fleetSize; i++) {
+                insert.setLong(1, i);
+                insert.setString(2, available[i] ? "AVAILABLE" : "BOOKED");
+                insert.setDouble(3, vehicleLat[i]);
+                insert.setDouble(4, vehicleLon[i]);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        // The repository's own SQL, with its named parameters turned into JDBC ones
+        String sql = VehicleRepository.class.getMethod("findAvailableNearby", double.class, double.class,
+                double.class, String.class, int.class).getAnnotation(Query.class).value();
+        parameters = new ArrayList<>();
+        Matcher named = Pattern.compile(":(\\w+)").matcher(sql);
+        while (named.find()) {
+            parameters.add(named.group(1));
+        }
+        nearby = connection.prepareStatement(named.replaceAll("?"));
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public int index() {
+        int query = next++ & (QUERIES - 1);
+        return index.nearest(queryLat[query], queryLon[query], RADIUS_KM, LIMIT, id -> available[(int) id]).size();
+    }
+
+    @Benchmark
+    public int linearScan() {
+        int query = next++ & (QUERIES - 1);
+        double lat = queryLat[query];
+        double lon = queryLon[query];
+        PriorityQueue<GeoIndex.Neighbor> best = new PriorityQueue<>(
+                Comparator.comparingDouble(GeoIndex.Neighbor::getDistanceKm).reversed());
+        for (int i = 0; i < fleetSize; i++) {
+            if (!available[i]) {
+                continue;
+            }
+            double distance = GeoIndex.haversineKm(lat, lon, vehicleLat[i], vehicleLon[i]);
+            if (distance <= RADIUS_KM && (best.size() < LIMIT || distance < best.peek().getDistanceKm())) {
+                best.offer(new GeoIndex.Neighbor(i, distance));
+                if (best.size() > LIMIT) {
+                    best.poll();
+                }
+            }
+        }
+        return best.size();
+    }
+
+    @Benchmark
+    public int sql() throws SQLException {
+        int query = next++ & (QUERIES - 1);
+        for (int i = 0; i < parameters.size(); i++) {
+            switch (parameters.get(i)) {
+                case "lat" -> nearby.setDouble(i + 1, queryLat[query]);
+                case "lon" -> nearby.setDouble(i + 1, queryLon[query]);
+                case "radiusKm" -> nearby.setDouble(i + 1, RADIUS_KM);
+                case "type" -> nearby.setNull(i + 1, Types.VARCHAR);
+                case "limit" -> nearby.setInt(i + 1, LIMIT);
+                default -> throw new IllegalStateException("Unknown parameter " + parameters.get(i));
+            }
+        }
+        int rows = 0;
+        try (ResultSet result = nearby.executeQuery()) {
+            while (result.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
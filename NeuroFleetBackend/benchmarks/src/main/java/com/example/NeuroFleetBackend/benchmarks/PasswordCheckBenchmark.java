@@ -0,0 +1,47 @@
+package com.example.NeuroFleetBackend.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.NeuroFleetBackend.security.SecurityConfig;
+
+// The BCrypt check in AuthController.login, which bounds logins per core.
+// Uses the application's own encoder bean so a cost change shows up here.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordCheckBenchmark {
+
+    private PasswordEncoder passwordEncoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new SecurityConfig(null, null).passwordEncoder();
+        hash = passwordEncoder.encode("driver@2024");
+    }
+
+    @Benchmark
+    public boolean correctPassword() {
+        return passwordEncoder.matches("driver@2024", hash);
+    }
+
+    @Benchmark
+    public boolean wrongPassword() {
+        return passwordEncoder.matches("driver@2023", hash);
+    }
+}
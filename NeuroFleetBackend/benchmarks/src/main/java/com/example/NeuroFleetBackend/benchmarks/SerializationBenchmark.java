@@ -0,0 +1,122 @@
+package com.example.NeuroFleetBackend.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.NeuroFleetBackend.dto.BookingView;
+import com.example.NeuroFleetBackend.dto.VehicleSnapshot;
+import com.example.NeuroFleetBackend.model.Booking;
+import com.example.NeuroFleetBackend.model.User;
+import com.example.NeuroFleetBackend.model.Vehicle;
+import com.example.NeuroFleetBackend.service.BookingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Jackson serialization of vehicle and booking lists from a handful of rows up to a
+// 100k fleet. Covers both the entities and the DTOs the endpoints actually return.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private static final String[] MODELS = { "Nexon EV", "Ertiga", "Innova Crysta", "Ace Gold", "Activa 6G" };
+    private static final String[] TYPES = { "CAR", "CAR", "VAN", "TRUCK", "BIKE" };
+    private static final String[] VEHICLE_STATUSES = { "AVAILABLE", "AVAILABLE", "BOOKED", "IN_USE", "MAINTENANCE" };
+    private static final String[] BOOKING_STATUSES = { "PENDING", "CONFIRMED", "IN_PROGRESS", "COMPLETED", "CANCELLED" };
+
+    @Param({ "10", "1000", "10000", "100000" })
+    private int fleetSize;
+
+    private ObjectMapper objectMapper;
+    private List<Vehicle> vehicles;
+    private List<VehicleSnapshot> snapshots;
+    private List<Booking> bookings;
+    private List<BookingView> bookingViews;
+
+    @Setup
+    public void setUp() {
+        // Configured like Spring Boot's auto-configured mapper
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 6, 9, 30);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < Math.min(fleetSize, 1000); i++) {
+            User user = new User("customer" + i, "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z1C6Tq0sHQ6v5ky0CqZJkB1e", "CUSTOMER");
+            user.setId((long) i + 1);
+            users.add(user);
+        }
+
+        vehicles = new ArrayList<>(fleetSize);
+        snapshots = new ArrayList<>(fleetSize);
+        bookings = new ArrayList<>(fleetSize);
+        bookingViews = new ArrayList<>(fleetSize);
+        for (int i = 0; i < fleetSize; i++) {
+            int kind = random.nextInt(MODELS.length);
+            Vehicle vehicle = new Vehicle((long) i + 1, String.format("KA-%02d-%04d", i / 10000, i % 10000),
+                    MODELS[kind], TYPES[kind], VEHICLE_STATUSES[random.nextInt(VEHICLE_STATUSES.length)],
+                    12.9716 + (random.nextDouble() - 0.5) * 0.4, 77.5946 + (random.nextDouble() - 0.5) * 0.4,
+                    random.nextDouble() * 80, random.nextDouble() * 100, random.nextDouble() * 100,
+                    now.minusSeconds(random.nextInt(3600)));
+            vehicle.setVersion((long) random.nextInt(20));
+            vehicles.add(vehicle);
+            snapshots.add(VehicleSnapshot.from(vehicle));
+
+            LocalDateTime start = now.plusHours(random.nextInt(24 * 30));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(72));
+            Booking booking = new Booking(vehicle, users.get(i % users.size()), start, end,
+                    "Koramangala 5th Block", "Kempegowda International Airport");
+            booking.setId((long) i + 1);
+            booking.setBookingTime(now.minusMinutes(random.nextInt(60 * 24 * 7)));
+            booking.setStatus(BOOKING_STATUSES[random.nextInt(BOOKING_STATUSES.length)]);
+            booking.setEstimatedCost(BookingService.estimateCost(start, end));
+            booking.setVersion(0L);
+            bookings.add(booking);
+            bookingViews.add(BookingView.from(booking));
+        }
+    }
+
+    @Benchmark
+    public void vehicleEntities() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), vehicles);
+    }
+
+    @Benchmark
+    public void vehicleSnapshots() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), snapshots);
+    }
+
+    @Benchmark
+    public void bookingEntities() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), bookings);
+    }
+
+    @Benchmark
+    public void bookingViews() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), bookingViews);
+    }
+}
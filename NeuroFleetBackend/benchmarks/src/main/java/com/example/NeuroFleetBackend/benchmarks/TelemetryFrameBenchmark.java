@@ -0,0 +1,79 @@
+package com.example.NeuroFleetBackend.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.NeuroFleetBackend.dto.TelemetryUpdate;
+import com.example.NeuroFleetBackend.gateway.FrameAuthenticator;
+import com.example.NeuroFleetBackend.gateway.TelemetryFrame;
+
+// Work TelemetryGateway does per binary frame, in frames per second on one thread (the
+// gateway has one selector thread). verifyAndDecode is the tag check and decode, which
+// should show 0 B/op under -prof gc; toUpdate adds the TelemetryUpdate handed to the
+// ingestion queue.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TelemetryFrameBenchmark {
+
+    private static final int FRAMES = 1024;
+
+    private byte[] frames;
+    private FrameAuthenticator authenticator;
+    private TelemetryFrame frame;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        byte[] deviceKey = new byte[32];
+        byte[] challenge = new byte[FrameAuthenticator.CHALLENGE_LENGTH];
+        random.nextBytes(deviceKey);
+        random.nextBytes(challenge);
+
+        FrameAuthenticator device = new FrameAuthenticator(deviceKey, challenge);
+        frames = new byte[FRAMES * TelemetryFrame.SIZE];
+        for (int i = 0; i < FRAMES; i++) {
+            TelemetryFrame.encode(frames, i * TelemetryFrame.SIZE, TelemetryFrame.HAS_POSITION | TelemetryFrame.HAS_SPEED
+                    | TelemetryFrame.HAS_BATTERY, i, System.currentTimeMillis(), 12.9 + random.nextDouble(),
+                    77.5 + random.nextDouble(), random.nextInt(1200) / 10.0, random.nextInt(100), 0);
+            device.sign(frames, i * TelemetryFrame.SIZE);
+        }
+        authenticator = new FrameAuthenticator(deviceKey, challenge);
+        frame = new TelemetryFrame();
+    }
+
+    @Benchmark
+    public double verifyAndDecode() {
+        int off = (next++ & (FRAMES - 1)) * TelemetryFrame.SIZE;
+        if (!authenticator.verify(frames, off)) {
+            throw new IllegalStateException("bad tag");
+        }
+        frame.decode(frames, off);
+        return frame.getLatitude();
+    }
+
+    @Benchmark
+    public TelemetryUpdate verifyDecodeAndHandOff() {
+        int off = (next++ & (FRAMES - 1)) * TelemetryFrame.SIZE;
+        if (!authenticator.verify(frames, off)) {
+            throw new IllegalStateException("bad tag");
+        }
+        frame.decode(frames, off);
+        return frame.toUpdate(42L);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.NeuroFleetBackend.loadtest;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+// Uploads --import-rows new vehicles to POST /api/vehicles/import as one CSV, then the
+// same vehicle numbers again with new telemetry so every row is an update. Reports
+// rows per second for both passes, end to end and as measured by the server.
+final class ImportBenchmark {
+
+    private static final String[] MODELS = { "Nexon EV", "Ertiga", "Innova Crysta", "Ace Gold", "Activa 6G" };
+    private static final String[] TYPES = { "CAR", "CAR", "VAN", "TRUCK", "BIKE" };
+
+    private ImportBenchmark() {
+    }
+
+    static Map<String, Object> run(ApiClient client, String adminToken, int rows) throws Exception {
+        String prefix = "IMP-" + Long.toString(System.currentTimeMillis(), 36) + "-";
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rows", rows);
+        result.put("insert", upload(client, adminToken, csv(prefix, rows, new Random(1)), rows, "insert"));
+        result.put("upsert", upload(client, adminToken, csv(prefix, rows, new Random(2)), rows, "upsert"));
+        return result;
+    }
+
+    private static Map<String, Object> upload(ApiClient client, String token, String csv, int rows, String pass)
+            throws Exception {
+        System.out.println("Importing " + rows + " vehicles (" + pass + ")");
+        long started = System.nanoTime();
+        HttpResponse<String> response = client.send(client.postText("/api/vehicles/import", token,
+                "text/csv", csv, Duration.ofMinutes(10)));
+        double seconds = (System.nanoTime() - started) / 1e9;
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Import failed with " + response.statusCode() + ": " + response.body());
+        }
+
+        JsonNode body = client.readTree(response.body());
+        long serverMs = body.get("durationMs").asLong();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("seconds", Math.round(seconds * 100) / 100.0);
+        stats.put("rowsPerSecond", Math.round(rows / seconds));
+        stats.put("serverMs", serverMs);
+        stats.put("serverRowsPerSecond", serverMs == 0 ? null : Math.round(rows * 1000.0 / serverMs));
+        stats.put("created", body.get("created").asInt());
+        stats.put("updated", body.get("updated").asInt());
+        stats.put("failed", body.get("failed").asInt());
+        System.out.printf(Locale.ROOT, "  %d created, %d updated, %d failed in %.2f s (%d rows/s)%n",
+                body.get("created").asInt(), body.get("updated").asInt(), body.get("failed").asInt(),
+                seconds, Math.round(rows / seconds));
+        return stats;
+    }
+
+    private static String csv(String prefix, int rows, Random random) {
+        StringBuilder csv = new StringBuilder(rows * 80);
+        csv.append("vehicleNumber,model,type,status,latitude,longitude,batteryLevel,fuelLevel\n");
+        for (int i = 0; i < rows; i++) {
+            int kind = random.nextInt(MODELS.length);
+            csv.append(prefix).append(i).append(',')
+                    .append(MODELS[kind]).append(',')
+                    .append(TYPES[kind]).append(",AVAILABLE,")
+                    .append(String.format(Locale.ROOT, "%.6f,%.6f,%.1f,%.1f",
+                            SyntheticFleet.CENTER_LAT + (random.nextDouble() - 0.5) * 0.3,
+                            SyntheticFleet.CENTER_LON + (random.nextDouble() - 0.5) * 0.3,
+                            random.nextDouble() * 100, random.nextDouble() * 100))
+                    .append('\n');
+        }
+        return csv.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.NeuroFleetBackend.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-endpoint latencies and outcomes for one phase. Every sample is kept, so the
+// percentiles are exact; a few minutes at a few thousand requests per second is
+// a few MB. Status -1 means the request failed without a response.
+public class LatencyRecorder {
+
+    private final ConcurrentHashMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public void record(String endpoint, int status, long latencyNanos) {
+        endpoints.computeIfAbsent(endpoint, name -> new Endpoint()).add(status, latencyNanos);
+    }
+
+    // A request the generator could not send because max-in-flight was reached
+    public void dropped() {
+        dropped.incrementAndGet();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getRequests() {
+        long requests = 0;
+        for (Endpoint endpoint : endpoints.values()) {
+            requests += endpoint.count();
+        }
+        return requests;
+    }
+
+    public Map<String, Object> summary(double seconds) {
+        Map<String, Object> summary = new TreeMap<>();
+        endpoints.forEach((name, endpoint) -> summary.put(name, endpoint.summary(seconds)));
+        return summary;
+    }
+
+    private static final class Endpoint {
+
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+        private long rejected;
+        private final Map<Integer, Long> statuses = new TreeMap<>();
+
+        synchronized void add(int status, long latencyNanos) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            statuses.merge(status, 1L, Long::sum);
+            if (status < 0 || status >= 500) {
+                errors++;
+            } else if (status >= 400) {
+                rejected++;
+            }
+        }
+
+        synchronized int count() {
+            return size;
+        }
+
+        synchronized Map<String, Object> summary(double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("p50", millis(percentile(sorted, 0.50)));
+            latency.put("p90", millis(percentile(sorted, 0.90)));
+            latency.put("p99", millis(percentile(sorted, 0.99)));
+            latency.put("p999", millis(percentile(sorted, 0.999)));
+            latency.put("max", millis(size == 0 ? 0 : sorted[size - 1]));
+            latency.put("mean", millis(size == 0 ? 0 : Arrays.stream(sorted).sum() / size));
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", size);
+            summary.put("throughputRps", round(size / seconds));
+            summary.put("errors", errors);
+            summary.put("errorRate", size == 0 ? 0.0 : round((double) errors / size));
+            summary.put("rejected", rejected);
+            summary.put("rejectedRate", size == 0 ? 0.0 : round((double) rejected / size));
+            summary.put("statusCodes", new TreeMap<>(statuses));
+            summary.put("latencyMs", latency);
+            return summary;
+        }
+
+        // Nearest-rank percentile
+        private static long percentile(long[] sorted, double fraction) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(fraction * sorted.length);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+
+        private static double millis(long nanos) {
+            return round(nanos / 1_000_000.0);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 1000) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.NeuroFleetBackend.loadtest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Command line options (--name=value). Options this class does not know are passed on
+// to the embedded application, e.g. --telemetry.flush-interval-ms=500.
+public class LoadTestConfig {
+
+    // Base URL of a running backend; when null the application is started in-process on H2
+    private String target;
+
+    private int customers = 2000;
+    private int drivers = 200;
+    private int fleet = 1000;
+    private int rps = 200;
+    private int durationSeconds = 60;
+    private int warmupSeconds = 10;
+    private int maxInFlight = 2000;
+    private int setupThreads = 32;
+    // Vehicles to bulk import before the traffic run; 0 skips the import benchmark
+    private int importRows = 0;
+    private String adminLogin = "admin:admin123";
+    private String managerLogin = "manager:manager123";
+    private String report = "loadtest-report.json";
+    private final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+    private final List<String> applicationArgs = new ArrayList<>();
+
+    public static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (Operation operation : Operation.values()) {
+            config.mix.put(operation, operation.getDefaultWeight());
+        }
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (name) {
+                case "target" -> config.target = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "customers" -> config.customers = positive(name, value);
+                case "drivers" -> config.drivers = positive(name, value);
+                case "fleet" -> config.fleet = positive(name, value);
+                case "rps" -> config.rps = positive(name, value);
+                case "duration" -> config.durationSeconds = positive(name, value);
+                case "warmup" -> config.warmupSeconds = Integer.parseInt(value);
+                case "max-in-flight" -> config.maxInFlight = positive(name, value);
+                case "setup-threads" -> config.setupThreads = positive(name, value);
+                case "import-rows" -> config.importRows = Integer.parseInt(value);
+                case "admin" -> config.adminLogin = value;
+                case "manager" -> config.managerLogin = value;
+                case "report" -> config.report = value;
+                case "mix" -> config.parseMix(value);
+                default -> config.applicationArgs.add(arg);
+            }
+        }
+        return config;
+    }
+
+    // e.g. --mix=telemetry:70,create-booking:20,dashboard:10; operations left out get weight 0
+    private void parseMix(String value) {
+        mix.replaceAll((operation, weight) -> 0);
+        for (String part : value.split(",")) {
+            String[] entry = part.trim().split(":");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in --mix but got: " + part);
+            }
+            mix.put(Operation.fromKey(entry[0]), Integer.parseInt(entry[1]));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("--mix needs at least one positive weight");
+        }
+    }
+
+    private static int positive(String name, String value) {
+        int parsed = Integer.parseInt(value);
+        if (parsed <= 0) {
+            throw new IllegalArgumentException("--" + name + " must be positive");
+        }
+        return parsed;
+    }
+
+    // Echoed into the report so results can be compared like for like
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("target", target != null ? target : "embedded-h2");
+        map.put("customers", customers);
+        map.put("drivers", drivers);
+        map.put("fleet", fleet);
+        map.put("rps", rps);
+        map.put("durationSeconds", durationSeconds);
+        map.put("warmupSeconds", warmupSeconds);
+        map.put("maxInFlight", maxInFlight);
+        map.put("importRows", importRows);
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        mix.forEach((operation, weight) -> weights.put(operation.getKey(), weight));
+        map.put("mix", weights);
+        map.put("applicationArgs", applicationArgs);
+        return map;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public int getCustomers() {
+        return customers;
+    }
+
+    public int getDrivers() {
+        return drivers;
+    }
+
+    public int getFleet() {
+        return fleet;
+    }
+
+    public int getRps() {
+        return rps;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getSetupThreads() {
+        return setupThreads;
+    }
+
+    public int getImportRows() {
+        return importRows;
+    }
+
+    public String getAdminLogin() {
+        return adminLogin;
+    }
+
+    public String getManagerLogin() {
+        return managerLogin;
+    }
+
+    public String getReport() {
+        return report;
+    }
+
+    public Map<Operation, Integer> getMix() {
+        return mix;
+    }
+
+    public List<String> getApplicationArgs() {
+        return applicationArgs;
+    }
+}
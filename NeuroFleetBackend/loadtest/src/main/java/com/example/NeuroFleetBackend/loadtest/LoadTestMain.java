@@ -0,0 +1,136 @@
+package com.example.NeuroFleetBackend.loadtest;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.NeuroFleetBackend.NeuroFleetBackendApplication;
+
+// Boots the backend on an in-memory H2 database in MySQL mode (or targets a running
+// one with --target), creates users and vehicles through the API, replays a traffic
+// mix at a fixed rate and writes a JSON report with per-endpoint throughput,
+// latency percentiles and error rates.
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        ConfigurableApplicationContext application = null;
+        String target = config.getTarget();
+        if (target == null) {
+            application = startEmbedded(config.getApplicationArgs());
+            target = "http://localhost:" + ((WebServerApplicationContext) application).getWebServer().getPort();
+            System.out.println("Embedded backend started at " + target);
+        }
+
+        try {
+            ApiClient client = new ApiClient(target);
+
+            LatencyRecorder setupStats = new LatencyRecorder();
+            long setupStarted = System.nanoTime();
+            SyntheticFleet fleet = SyntheticFleet.create(client, config, setupStats);
+            double setupSeconds = (System.nanoTime() - setupStarted) / 1e9;
+            System.out.printf("Setup done in %.1f s%n", setupSeconds);
+
+            Map<String, Object> importStats = null;
+            if (config.getImportRows() > 0) {
+                importStats = ImportBenchmark.run(client, fleet.getAdminToken(), config.getImportRows());
+            }
+
+            TrafficGenerator generator = new TrafficGenerator(client, fleet, config);
+            if (config.getWarmupSeconds() > 0) {
+                System.out.println("Warming up for " + config.getWarmupSeconds() + " s");
+                generator.run(config.getWarmupSeconds(), new LatencyRecorder());
+            }
+
+            System.out.println("Running " + config.getRps() + " req/s for " + config.getDurationSeconds() + " s");
+            LatencyRecorder runStats = new LatencyRecorder();
+            generator.run(config.getDurationSeconds(), runStats);
+
+            Map<String, Object> report = report(config, setupStats, setupSeconds, runStats);
+            if (importStats != null) {
+                report.put("import", importStats);
+            }
+            client.getObjectMapper().writerWithDefaultPrettyPrinter().writeValue(new File(config.getReport()), report);
+            printSummary(runStats, config.getDurationSeconds());
+            System.out.println("Report written to " + new File(config.getReport()).getAbsolutePath());
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startEmbedded(List<String> applicationArgs) throws Exception {
+        Path history = Files.createTempDirectory("loadtest-telemetry");
+        Map<String, String> args = new LinkedHashMap<>();
+        for (String arg : List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--telemetry.history.dir=" + history)) {
+            args.put(optionName(arg), arg);
+        }
+        // Options given to the load test replace these; Spring would join repeated options with commas
+        for (String arg : applicationArgs) {
+            args.put(optionName(arg), arg);
+        }
+        return SpringApplication.run(NeuroFleetBackendApplication.class, args.values().toArray(new String[0]));
+    }
+
+    private static String optionName(String arg) {
+        return arg.substring(0, arg.indexOf('='));
+    }
+
+    private static Map<String, Object> report(LoadTestConfig config, LatencyRecorder setupStats,
+                                              double setupSeconds, LatencyRecorder runStats) {
+        Map<String, Object> setup = new LinkedHashMap<>();
+        setup.put("seconds", Math.round(setupSeconds * 10) / 10.0);
+        setup.put("endpoints", setupStats.summary(setupSeconds));
+
+        long requests = runStats.getRequests();
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("durationSeconds", config.getDurationSeconds());
+        run.put("targetRps", config.getRps());
+        run.put("achievedRps", Math.round(requests * 10.0 / config.getDurationSeconds()) / 10.0);
+        run.put("requests", requests);
+        run.put("dropped", runStats.getDropped());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("config", config.toMap());
+        report.put("setup", setup);
+        report.put("run", run);
+        report.put("endpoints", runStats.summary(config.getDurationSeconds()));
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printSummary(LatencyRecorder stats, int seconds) {
+        System.out.printf("%-40s %9s %9s %9s %9s %9s %8s%n", "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "errors");
+        stats.summary(seconds).forEach((endpoint, value) -> {
+            Map<String, Object> summary = (Map<String, Object>) value;
+            Map<String, Object> latency = (Map<String, Object>) summary.get("latencyMs");
+            System.out.printf("%-40s %9d %9.1f %9.2f %9.2f %9.2f %7.2f%%%n", endpoint,
+                    summary.get("requests"), summary.get("throughputRps"), latency.get("p50"),
+                    latency.get("p99"), latency.get("p999"), (Double) summary.get("errorRate") * 100);
+        });
+        if (stats.getDropped() > 0) {
+            System.out.println(stats.getDropped() + " requests not sent because max-in-flight was reached");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.NeuroFleetBackend.loadtest;
+
+// Kinds of traffic in the replayed mix, with their default share (weights, not percent)
+public enum Operation {
+
+    TELEMETRY("telemetry", 45),
+    TELEMETRY_BATCH("telemetry-batch", 5),
+    VEHICLE_LIST("vehicle-list", 10),
+    NEARBY("nearby", 8),
+    DASHBOARD("dashboard", 12),
+    CREATE_BOOKING("create-booking", 10),
+    STATUS_TRANSITION("status-transition", 6),
+    MY_BOOKINGS("my-bookings", 4);
+
+    private final String key;
+    private final int defaultWeight;
+
+    Operation(String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation in --mix: " + key);
+    }
+}
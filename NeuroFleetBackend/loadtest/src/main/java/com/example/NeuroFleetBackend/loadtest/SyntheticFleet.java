@@ -0,0 +1,175 @@
+package com.example.NeuroFleetBackend.loadtest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+// Users and vehicles created through the public API before the run: customers and
+// drivers via /api/auth/register (then logged in), vehicles via POST /api/vehicles.
+// Names carry a run id so repeated runs against the same database do not collide.
+public class SyntheticFleet {
+
+    static final double CENTER_LAT = 12.9716;
+    static final double CENTER_LON = 77.5946;
+
+    private static final String PASSWORD = "loadtest-pass";
+    private static final String[] MODELS = { "Nexon EV", "Ertiga", "Innova Crysta", "Ace Gold", "Activa 6G" };
+    private static final String[] TYPES = { "CAR", "CAR", "VAN", "TRUCK", "BIKE" };
+
+    private String adminToken;
+    private String managerToken;
+    private List<String> customerTokens;
+    private List<String> driverTokens;
+    private long[] vehicleIds;
+    private double[] latitudes;
+    private double[] longitudes;
+
+    public static SyntheticFleet create(ApiClient client, LoadTestConfig config, LatencyRecorder stats)
+            throws InterruptedException {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        SyntheticFleet fleet = new SyntheticFleet();
+        ExecutorService pool = Executors.newFixedThreadPool(config.getSetupThreads());
+        try {
+            fleet.adminToken = login(client, config.getAdminLogin(), stats);
+            fleet.managerToken = login(client, config.getManagerLogin(), stats);
+
+            System.out.println("Registering " + config.getCustomers() + " customers and " + config.getDrivers() + " drivers");
+            fleet.customerTokens = parallel(pool, config.getCustomers(),
+                    i -> () -> registerAndLogin(client, "lt-" + run + "-c" + i, "CUSTOMER", stats));
+            fleet.driverTokens = parallel(pool, config.getDrivers(),
+                    i -> () -> registerAndLogin(client, "lt-" + run + "-d" + i, "DRIVER", stats));
+
+            System.out.println("Seeding " + config.getFleet() + " vehicles");
+            Random random = new Random(42);
+            fleet.latitudes = new double[config.getFleet()];
+            fleet.longitudes = new double[config.getFleet()];
+            for (int i = 0; i < config.getFleet(); i++) {
+                fleet.latitudes[i] = CENTER_LAT + (random.nextDouble() - 0.5) * 0.3;
+                fleet.longitudes[i] = CENTER_LON + (random.nextDouble() - 0.5) * 0.3;
+            }
+            List<Long> ids = parallel(pool, config.getFleet(),
+                    i -> () -> createVehicle(client, fleet, "LT-" + run + "-" + i, i, stats));
+            fleet.vehicleIds = ids.stream().mapToLong(Long::longValue).toArray();
+        } finally {
+            pool.shutdownNow();
+        }
+        return fleet;
+    }
+
+    private static String login(ApiClient client, String credentials, LatencyRecorder stats) {
+        int separator = credentials.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Expected username:password but got: " + credentials);
+        }
+        Map<String, String> body = Map.of("username", credentials.substring(0, separator),
+                "password", credentials.substring(separator + 1));
+        HttpResponse<String> response = timed(client, stats, "POST /api/auth/login",
+                client.post("/api/auth/login", null, body));
+        expect(response, 200, "login as " + body.get("username"));
+        return client.readTree(response.body()).get("token").asText();
+    }
+
+    private static String registerAndLogin(ApiClient client, String username, String role, LatencyRecorder stats) {
+        Map<String, String> user = Map.of("username", username, "password", PASSWORD, "role", role);
+        expect(timed(client, stats, "POST /api/auth/register", client.post("/api/auth/register", null, user)),
+                200, "register " + username);
+        return login(client, username + ":" + PASSWORD, stats);
+    }
+
+    private static long createVehicle(ApiClient client, SyntheticFleet fleet, String number, int index,
+                                      LatencyRecorder stats) {
+        Map<String, Object> vehicle = new LinkedHashMap<>();
+        vehicle.put("vehicleNumber", number);
+        vehicle.put("model", MODELS[index % MODELS.length]);
+        vehicle.put("type", TYPES[index % TYPES.length]);
+        vehicle.put("status", "AVAILABLE");
+        vehicle.put("latitude", fleet.latitudes[index]);
+        vehicle.put("longitude", fleet.longitudes[index]);
+        vehicle.put("speed", 0.0);
+        vehicle.put("batteryLevel", 80.0);
+        vehicle.put("fuelLevel", 60.0);
+        HttpResponse<String> response = timed(client, stats, "POST /api/vehicles",
+                client.post("/api/vehicles", fleet.adminToken, vehicle));
+        expect(response, 201, "create vehicle " + number);
+        return client.readTree(response.body()).get("id").asLong();
+    }
+
+    private static HttpResponse<String> timed(ApiClient client, LatencyRecorder stats, String endpoint,
+                                              HttpRequest request) {
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request);
+            stats.record(endpoint, response.statusCode(), System.nanoTime() - started);
+            return response;
+        } catch (IOException e) {
+            stats.record(endpoint, -1, System.nanoTime() - started);
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during setup", e);
+        }
+    }
+
+    private static void expect(HttpResponse<String> response, int status, String action) {
+        if (response.statusCode() != status) {
+            throw new IllegalStateException("Could not " + action + ": HTTP " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    private static <T> List<T> parallel(ExecutorService pool, int count, IntFunction<Callable<T>> task)
+            throws InterruptedException {
+        List<Future<T>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            futures.add(pool.submit(task.apply(i)));
+        }
+        List<T> results = new ArrayList<>(count);
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Setup failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return results;
+    }
+
+    public String getAdminToken() {
+        return adminToken;
+    }
+
+    public String getManagerToken() {
+        return managerToken;
+    }
+
+    public List<String> getCustomerTokens() {
+        return customerTokens;
+    }
+
+    public List<String> getDriverTokens() {
+        return driverTokens;
+    }
+
+    public long[] getVehicleIds() {
+        return vehicleIds;
+    }
+
+    public double[] getLatitudes() {
+        return latitudes;
+    }
+
+    public double[] getLongitudes() {
+        return longitudes;
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.NeuroFleetBackend.loadtest;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+// Open-loop traffic at a fixed arrival rate. Requests are issued on schedule whether or
+// not earlier ones have finished, and latency is measured from the scheduled send time,
+// so a stalled server shows up as latency rather than as fewer requests sent.
+public class TrafficGenerator {
+
+    private static final String[] NEXT_STATUS = { "CONFIRMED", "IN_PROGRESS", "COMPLETED" };
+    private static final int TELEMETRY_BATCH_SIZE = 20;
+
+    private final ApiClient client;
+    private final SyntheticFleet fleet;
+    private final LoadTestConfig config;
+    private final Semaphore inFlight;
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    // Bookings created during the run and the step of their lifecycle reached so far
+    private final ConcurrentLinkedQueue<long[]> bookingsToAdvance = new ConcurrentLinkedQueue<>();
+
+    // Only touched by the pacing thread
+    private final Random random = new Random(7);
+
+    public TrafficGenerator(ApiClient client, SyntheticFleet fleet, LoadTestConfig config) {
+        this.client = client;
+        this.fleet = fleet;
+        this.config = config;
+        this.inFlight = new Semaphore(config.getMaxInFlight());
+
+        List<Operation> enabled = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Operation, Integer> entry : config.getMix().entrySet()) {
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                enabled.add(entry.getKey());
+                cumulative.add(total);
+            }
+        }
+        this.operations = enabled.toArray(new Operation[0]);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public void run(int seconds, LatencyRecorder recorder) throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / config.getRps();
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * interval;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            if (!inFlight.tryAcquire()) {
+                recorder.dropped();
+                continue;
+            }
+            Call call = next();
+            client.sendAsync(call.request).whenComplete((response, error) -> {
+                inFlight.release();
+                long latency = System.nanoTime() - scheduled;
+                recorder.record(call.endpoint, response != null ? response.statusCode() : -1, latency);
+                if (response != null && call.onResponse != null) {
+                    call.onResponse.accept(response);
+                }
+            });
+        }
+
+        // Let the requests of this phase finish before it is reported
+        if (inFlight.tryAcquire(config.getMaxInFlight(), 60, TimeUnit.SECONDS)) {
+            inFlight.release(config.getMaxInFlight());
+        }
+    }
+
+    private Call next() {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (cumulativeWeights[index] <= pick) {
+            index++;
+        }
+
+        switch (operations[index]) {
+            case TELEMETRY:
+                return telemetry();
+            case TELEMETRY_BATCH:
+                return telemetryBatch();
+            case VEHICLE_LIST:
+                return new Call("GET /api/vehicles",
+                        client.get("/api/vehicles?limit=100", fleet.getManagerToken()), null);
+            case NEARBY:
+                return nearby();
+            case DASHBOARD:
+                return dashboard();
+            case STATUS_TRANSITION:
+                long[] booking = bookingsToAdvance.poll();
+                if (booking != null) {
+                    return statusTransition(booking);
+                }
+                // Nothing to advance yet, book instead
+                return createBooking();
+            case MY_BOOKINGS:
+                return new Call("GET /api/bookings/my-bookings",
+                        client.get("/api/bookings/my-bookings?limit=50", anyOf(fleet.getCustomerTokens())), null);
+            case CREATE_BOOKING:
+            default:
+                return createBooking();
+        }
+    }
+
+    private Call telemetry() {
+        int vehicle = random.nextInt(fleet.getVehicleIds().length);
+        move(vehicle);
+        String query = String.format(Locale.ROOT, "?latitude=%.6f&longitude=%.6f&speed=%.1f&batteryLevel=%.1f",
+                fleet.getLatitudes()[vehicle], fleet.getLongitudes()[vehicle],
+                random.nextDouble() * 60, 20 + random.nextDouble() * 80);
+        return new Call("PATCH /api/vehicles/{id}/telemetry",
+                client.patch("/api/vehicles/" + fleet.getVehicleIds()[vehicle] + "/telemetry" + query,
+                        anyOf(fleet.getDriverTokens())), null);
+    }
+
+    private Call telemetryBatch() {
+        List<Map<String, Object>> pings = new ArrayList<>(TELEMETRY_BATCH_SIZE);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < TELEMETRY_BATCH_SIZE; i++) {
+            int vehicle = random.nextInt(fleet.getVehicleIds().length);
+            move(vehicle);
+            Map<String, Object> ping = new LinkedHashMap<>();
+            ping.put("vehicleId", fleet.getVehicleIds()[vehicle]);
+            ping.put("latitude", fleet.getLatitudes()[vehicle]);
+            ping.put("longitude", fleet.getLongitudes()[vehicle]);
+            ping.put("speed", random.nextDouble() * 60);
+            ping.put("timestamp", now);
+            pings.add(ping);
+        }
+        return new Call("POST /api/vehicles/telemetry/batch",
+                client.post("/api/vehicles/telemetry/batch", anyOf(fleet.getDriverTokens()), pings), null);
+    }
+
+    private Call nearby() {
+        String query = String.format(Locale.ROOT, "?lat=%.6f&lon=%.6f&radiusKm=5&limit=10",
+                SyntheticFleet.CENTER_LAT + (random.nextDouble() - 0.5) * 0.3,
+                SyntheticFleet.CENTER_LON + (random.nextDouble() - 0.5) * 0.3);
+        return new Call("GET /api/vehicles/nearby",
+                client.get("/api/vehicles/nearby" + query, anyOf(fleet.getCustomerTokens())), null);
+    }
+
+    private Call dashboard() {
+        switch (random.nextInt(3)) {
+            case 0:
+                return new Call("GET /api/dashboard/admin",
+                        client.get("/api/dashboard/admin", fleet.getAdminToken()), null);
+            case 1:
+                return new Call("GET /api/dashboard/fleet-manager",
+                        client.get("/api/dashboard/fleet-manager", fleet.getManagerToken()), null);
+            default:
+                return new Call("GET /api/dashboard/customer",
+                        client.get("/api/dashboard/customer", anyOf(fleet.getCustomerTokens())), null);
+        }
+    }
+
+    // Future windows on random vehicles; overlaps are answered with 409 and count as rejected
+    private Call createBooking() {
+        LocalDateTime start = LocalDateTime.now().plusHours(1 + random.nextInt(24 * 60)).withNano(0);
+        LocalDateTime end = start.plusHours(1 + random.nextInt(48));
+        Map<String, Object> booking = new LinkedHashMap<>();
+        booking.put("vehicleId", fleet.getVehicleIds()[random.nextInt(fleet.getVehicleIds().length)]);
+        booking.put("startTime", DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(start));
+        booking.put("endTime", DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(end));
+        booking.put("pickupLocation", "Koramangala");
+        booking.put("dropLocation", "Kempegowda International Airport");
+
+        Consumer<HttpResponse<String>> remember = response -> {
+            if (response.statusCode() == 201) {
+                bookingsToAdvance.add(new long[] { client.readTree(response.body()).get("id").asLong(), 0 });
+            }
+        };
+        return new Call("POST /api/bookings",
+                client.post("/api/bookings", anyOf(fleet.getCustomerTokens()), booking), remember);
+    }
+
+    // PENDING -> CONFIRMED -> IN_PROGRESS -> COMPLETED
+    private Call statusTransition(long[] booking) {
+        int step = (int) booking[1];
+        Consumer<HttpResponse<String>> advance = response -> {
+            if (response.statusCode() == 200 && step + 1 < NEXT_STATUS.length) {
+                bookingsToAdvance.add(new long[] { booking[0], step + 1 });
+            }
+        };
+        return new Call("PATCH /api/bookings/{id}/status",
+                client.patch("/api/bookings/" + booking[0] + "/status?status=" + NEXT_STATUS[step],
+                        fleet.getManagerToken()), advance);
+    }
+
+    // Small random walk so positions stay plausible
+    private void move(int vehicle) {
+        fleet.getLatitudes()[vehicle] += (random.nextDouble() - 0.5) * 0.002;
+        fleet.getLongitudes()[vehicle] += (random.nextDouble() - 0.5) * 0.002;
+    }
+
+    private String anyOf(List<String> tokens) {
+        return tokens.get(random.nextInt(tokens.size()));
+    }
+
+    private static final class Call {
+
+        private final String endpoint;
+        private final HttpRequest request;
+        private final Consumer<HttpResponse<String>> onResponse;
+
+        Call(String endpoint, HttpRequest request, Consumer<HttpResponse<String>> onResponse) {
+            this.endpoint = endpoint;
+            this.request = request;
+            this.onResponse = onResponse;
+        }
+    }
+}
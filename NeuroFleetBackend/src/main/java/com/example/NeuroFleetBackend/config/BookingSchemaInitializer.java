@@ -0,0 +1,36 @@
+package com.example.NeuroFleetBackend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+// Bookings waiting for dispatch have no vehicle, but databases created before dispatch
+// have bookings.vehicle_id NOT NULL and ddl-auto=update never relaxes a constraint.
+// Before anything is inserted the column is made nullable. Runs after the schema update.
+@Component
+@DependsOn("entityManagerFactory")
+public class BookingSchemaInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingSchemaInitializer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void init() {
+        Integer notNull = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() "
+                + "AND TABLE_NAME = 'bookings' AND COLUMN_NAME = 'vehicle_id' AND IS_NULLABLE = 'NO'",
+                Integer.class);
+        if (notNull != null && notNull > 0) {
+            // MODIFY keeps the foreign key; the column has no other attributes to carry over
+            jdbcTemplate.execute("ALTER TABLE bookings MODIFY vehicle_id BIGINT NULL");
+            log.info("Made bookings.vehicle_id nullable for undispatched bookings");
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.example.NeuroFleetBackend.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.function.IntFunction;
+import java.util.function.IntToLongFunction;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.example.NeuroFleetBackend.dto.ColumnWriter;
+import com.example.NeuroFleetBackend.dto.Columnar;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+// Writes Columnar bodies as application/cbor (RFC 8949) or as columnar JSON. Both are
+// streamed straight from the rows: the CBOR side is hand-encoded into one reused buffer,
+// and the JSON side goes through a Jackson generator without any databind. Write-only.
+public class ColumnarHttpMessageConverter extends AbstractHttpMessageConverter<Columnar> {
+
+    public static final MediaType COLUMNS_JSON = MediaType.parseMediaType(Columnar.COLUMNS_JSON_VALUE);
+
+    private final JsonFactory jsonFactory;
+
+    public ColumnarHttpMessageConverter(JsonFactory jsonFactory) {
+        super(MediaType.APPLICATION_CBOR, COLUMNS_JSON);
+        this.jsonFactory = jsonFactory;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Columnar.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Columnar readInternal(Class<? extends Columnar> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Columnar bodies are write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Columnar body, HttpOutputMessage outputMessage) throws IOException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        if (contentType != null && MediaType.APPLICATION_CBOR.isCompatibleWith(contentType)) {
+            CborColumns cbor = new CborColumns(outputMessage.getBody(), body.size());
+            cbor.start(body.columnCount());
+            body.writeColumns(cbor);
+            cbor.flush();
+        } else {
+            JsonColumns json = new JsonColumns(jsonFactory.createGenerator(outputMessage.getBody(), JsonEncoding.UTF8),
+                    body.size());
+            json.start();
+            body.writeColumns(json);
+            json.end();
+        }
+    }
+
+    private static long epochMillis(LocalDateTime time, ZoneRules zone) {
+        return time.toEpochSecond(zone.getOffset(time)) * 1000 + time.getNano() / 1_000_000;
+    }
+
+    // {"rows": n, name: [...], ...} as a CBOR map of definite-length arrays. Floats take
+    // four bytes when that loses nothing, eight otherwise.
+    private static final class CborColumns implements ColumnWriter {
+
+        private static final int UNSIGNED = 0;
+        private static final int NEGATIVE = 1;
+        private static final int TEXT = 3;
+        private static final int ARRAY = 4;
+        private static final int MAP = 5;
+        private static final byte FLOAT32 = (byte) 0xfa;
+        private static final byte FLOAT64 = (byte) 0xfb;
+        private static final byte NULL = (byte) 0xf6;
+
+        private final OutputStream out;
+        private final int rows;
+        private final ZoneRules zone = ZoneId.systemDefault().getRules();
+        private final byte[] buffer = new byte[8192];
+        private int position;
+
+        CborColumns(OutputStream out, int rows) {
+            this.out = out;
+            this.rows = rows;
+        }
+
+        void start(int columns) throws IOException {
+            head(MAP, columns + 1);
+            text("rows");
+            integer(rows);
+        }
+
+        @Override
+        public void longs(String name, IntToLongFunction column) throws IOException {
+            text(name);
+            head(ARRAY, rows);
+            for (int i = 0; i < rows; i++) {
+                integer(column.applyAsLong(i));
+            }
+        }
+
+        @Override
+        public void doubles(String name, IntFunction<Double> column) throws IOException {
+            text(name);
+            head(ARRAY, rows);
+            for (int i = 0; i < rows; i++) {
+                Double value = column.apply(i);
+                if (value == null) {
+                    nil();
+                } else {
+                    number(value);
+                }
+            }
+        }
+
+        @Override
+        public void strings(String name, IntFunction<String> column) throws IOException {
+            text(name);
+            head(ARRAY, rows);
+            for (int i = 0; i < rows; i++) {
+                String value = column.apply(i);
+                if (value == null) {
+                    nil();
+                } else {
+                    text(value);
+                }
+            }
+        }
+
+        @Override
+        public void times(String name, IntFunction<LocalDateTime> column) throws IOException {
+            text(name);
+            head(ARRAY, rows);
+            for (int i = 0; i < rows; i++) {
+                LocalDateTime value = column.apply(i);
+                if (value == null) {
+                    nil();
+                } else {
+                    integer(epochMillis(value, zone));
+                }
+            }
+        }
+
+        void flush() throws IOException {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+
+        private void integer(long value) throws IOException {
+            if (value >= 0) {
+                head(UNSIGNED, value);
+            } else {
+                head(NEGATIVE, -1 - value);
+            }
+        }
+
+        private void number(double value) throws IOException {
+            float narrow = (float) value;
+            if (narrow == value || Double.isNaN(value)) {
+                reserve(5);
+                buffer[position++] = FLOAT32;
+                putBytes(Float.floatToIntBits(narrow), 4);
+            } else {
+                reserve(9);
+                buffer[position++] = FLOAT64;
+                putBytes(Double.doubleToLongBits(value), 8);
+            }
+        }
+
+        private void nil() throws IOException {
+            reserve(1);
+            buffer[position++] = NULL;
+        }
+
+        private void text(String value) throws IOException {
+            int length = value.length();
+            boolean ascii = length <= buffer.length;
+            for (int i = 0; i < length && ascii; i++) {
+                ascii = value.charAt(i) < 0x80;
+            }
+            if (ascii) {
+                head(TEXT, length);
+                reserve(length);
+                for (int i = 0; i < length; i++) {
+                    buffer[position++] = (byte) value.charAt(i);
+                }
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            head(TEXT, utf8.length);
+            flush();
+            out.write(utf8);
+        }
+
+        // Initial byte plus the shortest argument that holds value (RFC 8949, 3.1)
+        private void head(int major, long value) throws IOException {
+            reserve(9);
+            int type = major << 5;
+            if (value < 24) {
+                buffer[position++] = (byte) (type | value);
+            } else if (value < 0x100) {
+                buffer[position++] = (byte) (type | 24);
+                putBytes(value, 1);
+            } else if (value < 0x10000) {
+                buffer[position++] = (byte) (type | 25);
+                putBytes(value, 2);
+            } else if (value < 0x100000000L) {
+                buffer[position++] = (byte) (type | 26);
+                putBytes(value, 4);
+            } else {
+                buffer[position++] = (byte) (type | 27);
+                putBytes(value, 8);
+            }
+        }
+
+        // Big-endian; the caller has reserved the room
+        private void putBytes(long value, int count) {
+            for (int shift = (count - 1) * 8; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void reserve(int bytes) throws IOException {
+            if (position + bytes > buffer.length) {
+                flush();
+            }
+        }
+    }
+
+    private static final class JsonColumns implements ColumnWriter {
+
+        private final JsonGenerator generator;
+        private final int rows;
+        private final ZoneRules zone = ZoneId.systemDefault().getRules();
+
+        JsonColumns(JsonGenerator generator, int rows) {
+            this.generator = generator;
+            this.rows = rows;
+            // The container closes the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        void start() throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("rows", rows);
+        }
+
+        void end() throws IOException {
+            generator.writeEndObject();
+            generator.close();
+        }
+
+        @Override
+        public void longs(String name, IntToLongFunction column) throws IOException {
+            generator.writeArrayFieldStart(name);
+            for (int i = 0; i < rows; i++) {
+                generator.writeNumber(column.applyAsLong(i));
+            }
+            generator.writeEndArray();
+        }
+
+        @Override
+        public void doubles(String name, IntFunction<Double> column) throws IOException {
+            generator.writeArrayFieldStart(name);
+            for (int i = 0; i < rows; i++) {
+                Double value = column.apply(i);
+                if (value == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeNumber(value.doubleValue());
+                }
+            }
+            generator.writeEndArray();
+        }
+
+        @Override
+        public void strings(String name, IntFunction<String> column) throws IOException {
+            generator.writeArrayFieldStart(name);
+            for (int i = 0; i < rows; i++) {
+                generator.writeString(column.apply(i));
+            }
+            generator.writeEndArray();
+        }
+
+        @Override
+        public void times(String name, IntFunction<LocalDateTime> column) throws IOException {
+            generator.writeArrayFieldStart(name);
+            for (int i = 0; i < rows; i++) {
+                LocalDateTime value = column.apply(i);
+                if (value == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeNumber(epochMillis(value, zone));
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.NeuroFleetBackend.config;
 
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -14,6 +16,8 @@ import com.example.NeuroFleetBackend.repository.VehicleRepository;
 @Component
 public class DataInitializer implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
     @Autowired
     private UserRepository userRepository;
     
@@ -51,11 +55,7 @@ public class DataInitializer implements CommandLineRunner {
             customer.setRole("CUSTOMER");
             userRepository.save(customer);
             
-            System.out.println("Default users created:");
-            System.out.println("Admin - username: admin, password: admin123");
-            System.out.println("Fleet Manager - username: manager, password: manager123");
-            System.out.println("Driver - username: driver, password: driver123");
-            System.out.println("Customer - username: customer, password: customer123");
+            log.info("Default users created: admin/admin123, manager/manager123, driver/driver123, customer/customer123");
         }
         
         // Initialize sample vehicles if database is empty
@@ -108,7 +108,7 @@ public class DataInitializer implements CommandLineRunner {
             v4.setFuelLevel(null);
             vehicleRepository.save(v4);
             
-            System.out.println("Sample vehicles created in database with Maharashtra (Latur) coordinates");
+            log.info("Sample vehicles created in database with Maharashtra (Latur) coordinates");
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.example.NeuroFleetBackend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.NeuroFleetBackend.model.Vehicle;
+
+import jakarta.annotation.PostConstruct;
+
+// Vehicle ids used to come from AUTO_INCREMENT. On a database that already has vehicles
+// the id_generators row would start below ids in use, so before anything is inserted
+// it is raised to hand out ids above MAX(id). Runs after the schema update created the table.
+@Component
+@DependsOn("entityManagerFactory")
+public class IdGeneratorInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(IdGeneratorInitializer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void init() {
+        ensureAboveExisting("vehicles", "vehicles", Vehicle.ID_BLOCK_SIZE);
+    }
+
+    // The pooled optimizer hands out (next_val - blockSize, next_val] for the value it reads
+    private void ensureAboveExisting(String name, String table, int blockSize) {
+        long floor = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class) + blockSize;
+        int raised = jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE name = ? AND next_val < ?",
+                floor, name, floor);
+        if (raised > 0) {
+            log.info("Raised {} id generator to {}", name, floor);
+            return;
+        }
+
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM id_generators WHERE name = ?",
+                Integer.class, name);
+        if (rows == 0) {
+            try {
+                jdbcTemplate.update("INSERT INTO id_generators (name, next_val) VALUES (?, ?)", name, floor);
+            } catch (DuplicateKeyException e) {
+                // Another node inserted it first; make sure it is high enough
+                jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE name = ? AND next_val < ?",
+                        floor, name, floor);
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.NeuroFleetBackend.config;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.NeuroFleetBackend.gateway.TelemetryGateway;
+import com.example.NeuroFleetBackend.security.JwtUtil;
+import com.example.NeuroFleetBackend.service.BookingLifecycleService;
+import com.example.NeuroFleetBackend.service.BookingService;
+import com.example.NeuroFleetBackend.service.DispatchService;
+import com.example.NeuroFleetBackend.service.FleetCounters;
+import com.example.NeuroFleetBackend.service.FleetStreamService;
+import com.example.NeuroFleetBackend.service.GeofenceService;
+import com.example.NeuroFleetBackend.service.TelemetryIngestionService;
+import com.example.NeuroFleetBackend.service.UserCache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Application meters for /actuator/prometheus. The services keep their own atomic
+// counters, so these meters only read them at scrape time and add nothing to the
+// request path. HTTP, repository, Hikari and JVM meters come from Spring Boot.
+@Configuration
+public class MetricsConfig {
+
+    private static final List<String> VEHICLE_STATUSES = List.of("AVAILABLE", "BOOKED", "IN_USE", "MAINTENANCE");
+    private static final List<String> BOOKING_STATUSES =
+            List.of("PENDING", "CONFIRMED", "IN_PROGRESS", "COMPLETED", "CANCELLED");
+
+    @Bean
+    public MeterBinder telemetryMetrics(TelemetryIngestionService telemetry) {
+        return registry -> {
+            FunctionCounter.builder("telemetry.pings", telemetry, TelemetryIngestionService::getAcceptedTotal)
+                    .description("Telemetry pings received")
+                    .tag("outcome", "accepted")
+                    .register(registry);
+            FunctionCounter.builder("telemetry.pings", telemetry, TelemetryIngestionService::getCoalescedTotal)
+                    .description("Telemetry pings received")
+                    .tag("outcome", "coalesced")
+                    .register(registry);
+            FunctionCounter.builder("telemetry.pings", telemetry, TelemetryIngestionService::getRejectedTotal)
+                    .description("Telemetry pings received")
+                    .tag("outcome", "rejected")
+                    .register(registry);
+            Gauge.builder("telemetry.queue.depth", telemetry, TelemetryIngestionService::getQueueDepth)
+                    .description("Vehicles with a ping waiting for the next flush")
+                    .register(registry);
+            FunctionTimer.builder("telemetry.flush", telemetry, TelemetryIngestionService::getFlushCount,
+                            TelemetryIngestionService::getFlushMillisTotal, TimeUnit.MILLISECONDS)
+                    .description("Batched telemetry writes to the database")
+                    .register(registry);
+            FunctionCounter.builder("telemetry.flush.rows", telemetry, TelemetryIngestionService::getFlushedRowsTotal)
+                    .register(registry);
+            FunctionCounter.builder("telemetry.flush.failures", telemetry, TelemetryIngestionService::getFlushFailures)
+                    .register(registry);
+            TimeGauge.builder("telemetry.flush.lag", telemetry, TimeUnit.MILLISECONDS,
+                            TelemetryIngestionService::getLastFlushLagMillis)
+                    .description("Age of the oldest ping written by the last flush")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder bookingMetrics(BookingService bookings) {
+        return registry -> {
+            FunctionCounter.builder("bookings.requests", bookings, BookingService::getCreatedTotal)
+                    .description("Booking requests by outcome")
+                    .tag("outcome", "created")
+                    .register(registry);
+            FunctionCounter.builder("bookings.requests", bookings, BookingService::getUnavailableTotal)
+                    .description("Booking requests by outcome")
+                    .tag("outcome", "rejected_unavailable")
+                    .register(registry);
+            FunctionCounter.builder("bookings.requests", bookings, BookingService::getConflictTotal)
+                    .description("Booking requests by outcome")
+                    .tag("outcome", "conflict")
+                    .register(registry);
+            FunctionCounter.builder("bookings.requests", bookings, BookingService::getConcurrentUpdateTotal)
+                    .description("Booking requests by outcome")
+                    .tag("outcome", "concurrent_update")
+                    .register(registry);
+            FunctionCounter.builder("bookings.optimistic.retries", bookings, BookingService::getRetriesTotal)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder bookingLifecycleMetrics(BookingLifecycleService lifecycle) {
+        return registry -> {
+            Gauge.builder("bookings.lifecycle.timers", lifecycle, BookingLifecycleService::getTimerCount)
+                    .description("Scheduled booking lifecycle timers, including stale ones not yet due")
+                    .register(registry);
+            FunctionCounter.builder("bookings.lifecycle.transitions", lifecycle, BookingLifecycleService::getExpired)
+                    .tag("type", "expired")
+                    .register(registry);
+            FunctionCounter.builder("bookings.lifecycle.transitions", lifecycle, BookingLifecycleService::getStarted)
+                    .tag("type", "started")
+                    .register(registry);
+            FunctionCounter.builder("bookings.lifecycle.transitions", lifecycle, BookingLifecycleService::getOverdue)
+                    .tag("type", "overdue")
+                    .register(registry);
+            FunctionCounter.builder("bookings.lifecycle.conflicts", lifecycle, BookingLifecycleService::getConflicts)
+                    .description("Transition batches put off after repeated optimistic lock conflicts")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder fleetMetrics(FleetCounters counters, FleetStreamService stream) {
+        return registry -> {
+            for (String status : VEHICLE_STATUSES) {
+                Gauge.builder("fleet.vehicles", counters, c -> c.getVehicleCount(status))
+                        .tag("status", status)
+                        .register(registry);
+            }
+            for (String status : BOOKING_STATUSES) {
+                Gauge.builder("fleet.bookings", counters, c -> c.getBookingCount(status))
+                        .tag("status", status)
+                        .register(registry);
+            }
+            Gauge.builder("stream.subscribers", stream, FleetStreamService::getSubscriberCount)
+                    .register(registry);
+            FunctionCounter.builder("stream.events.sent", stream, FleetStreamService::getEventsSent)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder securityMetrics(JwtUtil jwtUtil, UserCache userCache) {
+        return registry -> {
+            // Signature checks happen on cache misses only
+            FunctionTimer.builder("jwt.verify", jwtUtil, JwtUtil::getCacheMisses,
+                            JwtUtil::getVerifyNanos, TimeUnit.NANOSECONDS)
+                    .description("JWT signature verification")
+                    .register(registry);
+            FunctionCounter.builder("jwt.cache.lookups", jwtUtil, JwtUtil::getCacheHits)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("jwt.cache.lookups", jwtUtil, JwtUtil::getCacheMisses)
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("jwt.cache.size", jwtUtil, JwtUtil::getCacheSize)
+                    .register(registry);
+            FunctionCounter.builder("users.cache.lookups", userCache, UserCache::getHits)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("users.cache.lookups", userCache, UserCache::getMisses)
+                    .tag("result", "miss")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder gatewayMetrics(TelemetryGateway gateway) {
+        return registry -> {
+            Gauge.builder("gateway.connections", gateway, TelemetryGateway::getOpenConnections)
+                    .description("Open binary telemetry connections")
+                    .register(registry);
+            FunctionCounter.builder("gateway.connections.opened", gateway, TelemetryGateway::getConnectionsTotal)
+                    .register(registry);
+            FunctionCounter.builder("gateway.frames", gateway, TelemetryGateway::getFramesAccepted)
+                    .description("Binary telemetry frames by outcome")
+                    .tag("outcome", "accepted")
+                    .register(registry);
+            FunctionCounter.builder("gateway.frames", gateway, TelemetryGateway::getFramesRejected)
+                    .description("Binary telemetry frames by outcome")
+                    .tag("outcome", "rejected")
+                    .register(registry);
+            FunctionCounter.builder("gateway.auth.failures", gateway, TelemetryGateway::getAuthFailures)
+                    .description("Failed handshakes, bad frame tags and replayed sequence numbers")
+                    .register(registry);
+            FunctionCounter.builder("gateway.handshake.timeouts", gateway, TelemetryGateway::getHandshakeTimeouts)
+                    .description("Connections closed for not completing the handshake in time")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder geofenceMetrics(GeofenceService geofences) {
+        return registry -> {
+            Gauge.builder("geofence.fences", geofences, GeofenceService::getFenceCount)
+                    .register(registry);
+            FunctionTimer.builder("geofence.check", geofences, GeofenceService::getChecks,
+                            GeofenceService::getCheckNanos, TimeUnit.NANOSECONDS)
+                    .description("Vehicle positions checked against the geofence index")
+                    .register(registry);
+            FunctionCounter.builder("geofence.events", geofences, GeofenceService::getEnters)
+                    .tag("type", "enter")
+                    .register(registry);
+            FunctionCounter.builder("geofence.events", geofences, GeofenceService::getExits)
+                    .tag("type", "exit")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder dispatchMetrics(DispatchService dispatch) {
+        return registry -> {
+            FunctionTimer.builder("dispatch.solve", dispatch, DispatchService::getSolves,
+                            DispatchService::getSolveNanos, TimeUnit.NANOSECONDS)
+                    .description("Dispatch assignment solves, previews included")
+                    .register(registry);
+            FunctionCounter.builder("dispatch.assignments", dispatch, DispatchService::getAssigned)
+                    .tag("outcome", "assigned")
+                    .register(registry);
+            FunctionCounter.builder("dispatch.assignments", dispatch, DispatchService::getFailed)
+                    .tag("outcome", "failed")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.NeuroFleetBackend.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import com.example.NeuroFleetBackend.repository.UserRepository;
+import com.example.NeuroFleetBackend.security.JwtUtil;
+import com.example.NeuroFleetBackend.service.UserCache;
+
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "*")
+public class AdminController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminController.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    // Hit/miss/eviction statistics of the in-memory caches
+    @GetMapping("/caches")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("users", userCache.getStats());
+        stats.put("tokens", jwtUtil.getCacheStats());
+        return ResponseEntity.ok(stats);
+    }
+
+    // Change a user's role; takes effect for new logins (existing tokens keep their role until they expire)
+    @PatchMapping("/users/{id}/role")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> updateUserRole(@PathVariable Long id, @RequestParam String role) {
+        String newRole = role.toUpperCase();
+        if (!newRole.equals("ADMIN") && !newRole.equals("FLEET_MANAGER") &&
+            !newRole.equals("DRIVER") && !newRole.equals("CUSTOMER")) {
+            return ResponseEntity.badRequest().body("Invalid role. Must be ADMIN, FLEET_MANAGER, DRIVER, or CUSTOMER");
+        }
+
+        return userRepository.findById(id)
+                .map(user -> {
+                    user.setRole(newRole);
+                    userRepository.save(user);
+                    userCache.invalidate(user);
+                    log.info("Role of user {} changed to {}", user.getUsername(), newRole);
+                    return ResponseEntity.ok("Role updated to " + newRole);
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -4,6 +4,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,11 +19,15 @@ import org.springframework.web.bind.annotation.RestController;
 import com.example.NeuroFleetBackend.model.User;
 import com.example.NeuroFleetBackend.repository.UserRepository;
 import com.example.NeuroFleetBackend.security.JwtUtil;
+import com.example.NeuroFleetBackend.service.FleetCounters;
+import com.example.NeuroFleetBackend.service.UserCache;
 
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*")
 public class AuthController {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
     
     @Autowired
     private UserRepository userRepository;
@@ -32,6 +38,12 @@ public class AuthController {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private FleetCounters counters;
+    
+    @Autowired
+    private UserCache userCache;
+    
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody User loginRequest) {
         Optional<User> optionalUser = userRepository.findByUsername(loginRequest.getUsername());
@@ -40,9 +52,9 @@ public class AuthController {
             User user = optionalUser.get();
 
             if (passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
-                String token = jwtUtil.generateToken(user.getUsername(), user.getRole());
+                String token = jwtUtil.generateToken(user.getId(), user.getUsername(), user.getRole());
                 
-                System.out.println("Token generated for user: " + user.getUsername() + " with role: " + user.getRole());
+                log.debug("Token generated for user: {} with role: {}", user.getUsername(), user.getRole());
                 
                 Map<String, String> response = new HashMap<>();
                 response.put("token", token);
@@ -79,6 +91,8 @@ public class AuthController {
         
         user.setRole(role);
         userRepository.save(user);
+        userCache.invalidate(user);
+        counters.userRegistered();
         
         return ResponseEntity.ok("User registered successfully with role: " + role);
     }
@@ -1,132 +1,160 @@
 package com.example.NeuroFleetBackend.controller;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.NeuroFleetBackend.dto.BookingCursor;
 import com.example.NeuroFleetBackend.dto.BookingRequest;
+import com.example.NeuroFleetBackend.dto.BookingView;
+import com.example.NeuroFleetBackend.dto.KeysetPage;
+import com.example.NeuroFleetBackend.dto.VehicleSnapshot;
 import com.example.NeuroFleetBackend.model.Booking;
 import com.example.NeuroFleetBackend.model.User;
-import com.example.NeuroFleetBackend.model.Vehicle;
 import com.example.NeuroFleetBackend.repository.BookingRepository;
-import com.example.NeuroFleetBackend.repository.UserRepository;
-import com.example.NeuroFleetBackend.repository.VehicleRepository;
-import com.example.NeuroFleetBackend.security.JwtUtil;
+import com.example.NeuroFleetBackend.security.AuthenticatedUser;
+import com.example.NeuroFleetBackend.security.CurrentUser;
+import com.example.NeuroFleetBackend.service.BookingException;
+import com.example.NeuroFleetBackend.service.BookingExportService;
+import com.example.NeuroFleetBackend.service.BookingService;
+import com.example.NeuroFleetBackend.service.FleetStateCache;
+import com.example.NeuroFleetBackend.service.ReservationEngine;
+import com.example.NeuroFleetBackend.service.UserCache;
 
 @RestController
 @RequestMapping("/api/bookings")
 @CrossOrigin(origins = "*")
 public class BookingController {
 
+    private static final Logger log = LoggerFactory.getLogger(BookingController.class);
+
     @Autowired
     private BookingRepository bookingRepository;
     
     @Autowired
-    private VehicleRepository vehicleRepository;
+    private UserCache userCache;
+    
+    @Autowired
+    private FleetStateCache fleetState;
     
     @Autowired
-    private UserRepository userRepository;
+    private ReservationEngine reservationEngine;
     
     @Autowired
-    private JwtUtil jwtUtil;
+    private BookingService bookingService;
+    
+    @Autowired
+    private BookingExportService bookingExportService;
+    
+    @Value("${pagination.default-limit:100}")
+    private int defaultPageSize;
+    
+    @Value("${pagination.max-limit:500}")
+    private int maxPageSize;
     
     // Create a new booking (Customer and Driver can book)
     @PostMapping
     @PreAuthorize("hasAnyAuthority('CUSTOMER', 'DRIVER', 'ADMIN')")
     public ResponseEntity<?> createBooking(
             @RequestBody BookingRequest bookingRequest,
-            @RequestHeader("Authorization") String authHeader) {
-        
-        // Extract username from token
-        String token = authHeader.substring(7);
-        String username = jwtUtil.extractUsername(token);
+            @CurrentUser AuthenticatedUser currentUser) {
         
         // Find user
-        User user = userRepository.findByUsername(username)
+        User user = userCache.findById(currentUser.getId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        // Find vehicle
-        Vehicle vehicle = vehicleRepository.findById(bookingRequest.getVehicleId())
-                .orElse(null);
-        
-        if (vehicle == null) {
-            return ResponseEntity.badRequest().body("Vehicle not found");
-        }
-        
-        // Check if vehicle is available
-        if (!"AVAILABLE".equals(vehicle.getStatus())) {
-            return ResponseEntity.badRequest()
-                    .body("Vehicle is not available for booking");
+        Booking savedBooking;
+        try {
+            savedBooking = bookingService.create(user, bookingRequest);
+        } catch (BookingException e) {
+            return ResponseEntity.status(e.getStatus()).body(e.getMessage());
         }
         
-        // Create booking
-        Booking booking = new Booking();
-        booking.setVehicle(vehicle);
-        booking.setUser(user);
-        booking.setStartTime(bookingRequest.getStartTime());
-        booking.setEndTime(bookingRequest.getEndTime());
-        booking.setPickupLocation(bookingRequest.getPickupLocation());
-        booking.setDropLocation(bookingRequest.getDropLocation());
-        booking.setRemarks(bookingRequest.getRemarks());
-        booking.setStatus("PENDING");
+        log.debug("Booking created: {} by user: {}", savedBooking.getId(), user.getUsername());
         
-        // Calculate estimated cost (basic calculation: ₹500 per day)
-        if (bookingRequest.getStartTime() != null && bookingRequest.getEndTime() != null) {
-            long hours = java.time.Duration.between(
-                    bookingRequest.getStartTime(), 
-                    bookingRequest.getEndTime()
-            ).toHours();
-            double days = Math.max(1, hours / 24.0);
-            booking.setEstimatedCost(days * 500.0);
-        }
-        
-        // Update vehicle status
-        vehicle.setStatus("BOOKED");
-        vehicleRepository.save(vehicle);
-        
-        // Save booking
-        Booking savedBooking = bookingRepository.save(booking);
-        
-        System.out.println("Booking created: " + savedBooking.getId() + 
-                         " by user: " + user.getUsername());
-        
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedBooking);
+        return ResponseEntity.status(HttpStatus.CREATED).body(BookingView.from(savedBooking));
     }
     
-    // Get all bookings (Admin and Fleet Manager)
+    // Get all bookings (Admin and Fleet Manager), newest first, one page at a time
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ADMIN', 'FLEET_MANAGER')")
-    public ResponseEntity<List<Booking>> getAllBookings() {
-        return ResponseEntity.ok(bookingRepository.findAll());
+    public ResponseEntity<?> getAllBookings(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Long vehicleId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return bookingPage(status, userId, vehicleId, from, to, cursor, limit);
+    }
+    
+    // Stream every booking in the window (by start time) as NDJSON or CSV without loading them into memory
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'FLEET_MANAGER')")
+    public ResponseEntity<?> exportBookings(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().body("format must be ndjson or csv");
+        }
+        LocalDateTime start = from != null ? from : LocalDateTime.of(1970, 1, 1, 0, 0);
+        LocalDateTime end = to != null ? to : LocalDateTime.of(9999, 12, 31, 0, 0);
+        if (!end.isAfter(start)) {
+            return ResponseEntity.badRequest().body("to must be after from");
+        }
+        
+        StreamingResponseBody body = out -> {
+            long started = System.currentTimeMillis();
+            long rows = csv ? bookingExportService.exportCsv(start, end, out)
+                    : bookingExportService.exportNdjson(start, end, out);
+            log.info("Booking export ({}): {} rows in {} ms", format, rows, System.currentTimeMillis() - started);
+        };
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookings." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
     }
     
     // Get my bookings (Current user)
     @GetMapping("/my-bookings")
     @PreAuthorize("hasAnyAuthority('CUSTOMER', 'DRIVER', 'ADMIN')")
     public ResponseEntity<?> getMyBookings(
-            @RequestHeader("Authorization") String authHeader) {
-        
-        String token = authHeader.substring(7);
-        String username = jwtUtil.extractUsername(token);
-        
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        List<Booking> bookings = bookingRepository.findByUserId(user.getId());
-        return ResponseEntity.ok(bookings);
+            @CurrentUser AuthenticatedUser currentUser,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return bookingPage(status, currentUser.getId(), null, null, null, cursor, limit);
     }
     
     // Get booking by ID
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ADMIN', 'FLEET_MANAGER', 'CUSTOMER', 'DRIVER')")
     public ResponseEntity<?> getBookingById(@PathVariable Long id) {
-        return bookingRepository.findById(id)
+        return bookingRepository.findViewById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -138,33 +166,16 @@ public class BookingController {
             @PathVariable Long id,
             @RequestParam String status) {
         
-        return bookingRepository.findById(id)
-                .map(booking -> {
-                    String oldStatus = booking.getStatus();
-                    booking.setStatus(status.toUpperCase());
-                    
-                    // If booking is completed or cancelled, make vehicle available
-                    if ("COMPLETED".equals(status.toUpperCase()) || 
-                        "CANCELLED".equals(status.toUpperCase())) {
-                        Vehicle vehicle = booking.getVehicle();
-                        vehicle.setStatus("AVAILABLE");
-                        vehicleRepository.save(vehicle);
-                    }
-                    
-                    // If booking is confirmed, mark vehicle as in use
-                    if ("CONFIRMED".equals(status.toUpperCase()) || 
-                        "IN_PROGRESS".equals(status.toUpperCase())) {
-                        Vehicle vehicle = booking.getVehicle();
-                        vehicle.setStatus("IN_USE");
-                        vehicleRepository.save(vehicle);
-                    }
-                    
-                    Booking updated = bookingRepository.save(booking);
-                    System.out.println("Booking " + id + " status changed from " + 
-                                     oldStatus + " to " + status);
-                    return ResponseEntity.ok(updated);
-                })
-                .orElse(ResponseEntity.notFound().build());
+        try {
+            return bookingService.updateStatus(id, status)
+                    .<ResponseEntity<?>>map(updated -> {
+                        log.debug("Booking {} status changed to {}", id, status);
+                        return ResponseEntity.ok(BookingView.from(updated));
+                    })
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (BookingException e) {
+            return ResponseEntity.status(e.getStatus()).body(e.getMessage());
+        }
     }
     
     // Cancel booking (Customer can cancel their own booking)
@@ -172,44 +183,75 @@ public class BookingController {
     @PreAuthorize("hasAnyAuthority('ADMIN', 'CUSTOMER', 'DRIVER')")
     public ResponseEntity<?> cancelBooking(
             @PathVariable Long id,
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentUser AuthenticatedUser currentUser) {
         
-        String token = authHeader.substring(7);
-        String username = jwtUtil.extractUsername(token);
-        String role = jwtUtil.extractRole(token);
+        try {
+            return bookingService.cancel(id, currentUser.getId(), currentUser.getRole())
+                    .<ResponseEntity<?>>map(booking -> {
+                        log.debug("Booking {} cancelled by {}", id, currentUser.getUsername());
+                        return ResponseEntity.ok("Booking cancelled successfully");
+                    })
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (BookingException e) {
+            return ResponseEntity.status(e.getStatus()).body(e.getMessage());
+        }
+    }
+    
+    // Vehicles whose calendar is free for the whole window (Customer picks from these)
+    @GetMapping("/available-vehicles")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'FLEET_MANAGER', 'CUSTOMER', 'DRIVER')")
+    public ResponseEntity<?> getVehiclesFreeBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String type) {
         
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (!to.isAfter(from)) {
+            return ResponseEntity.badRequest().body("to must be after from");
+        }
         
-        return bookingRepository.findById(id)
-                .map(booking -> {
-                    // Check if user owns this booking or is admin
-                    if (!booking.getUser().getId().equals(user.getId()) && 
-                        !"ADMIN".equals(role)) {
-                        return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                                .body("You can only cancel your own bookings");
-                    }
-                    
-                    // Update booking status
-                    booking.setStatus("CANCELLED");
-                    bookingRepository.save(booking);
-                    
-                    // Make vehicle available again
-                    Vehicle vehicle = booking.getVehicle();
-                    vehicle.setStatus("AVAILABLE");
-                    vehicleRepository.save(vehicle);
-                    
-                    System.out.println("Booking " + id + " cancelled by " + username);
-                    return ResponseEntity.ok("Booking cancelled successfully");
-                })
-                .orElse(ResponseEntity.notFound().build());
+        boolean includesNow = !from.isAfter(LocalDateTime.now());
+        Map<Long, VehicleSnapshot> candidates = new LinkedHashMap<>();
+        for (VehicleSnapshot vehicle : fleetState.getAll()) {
+            if ("MAINTENANCE".equals(vehicle.getStatus())
+                    || (includesNow && !"AVAILABLE".equals(vehicle.getStatus()))
+                    || (type != null && !type.equalsIgnoreCase(vehicle.getType()))) {
+                continue;
+            }
+            candidates.put(vehicle.getId(), vehicle);
+        }
+        
+        List<VehicleSnapshot> free = new ArrayList<>();
+        for (Long vehicleId : reservationEngine.findFreeVehicles(candidates.keySet(), from, to)) {
+            free.add(candidates.get(vehicleId));
+        }
+        return ResponseEntity.ok(free);
     }
     
     // Get bookings by status
     @GetMapping("/status/{status}")
     @PreAuthorize("hasAnyAuthority('ADMIN', 'FLEET_MANAGER')")
-    public ResponseEntity<List<Booking>> getBookingsByStatus(@PathVariable String status) {
-        List<Booking> bookings = bookingRepository.findByStatus(status.toUpperCase());
-        return ResponseEntity.ok(bookings);
+    public ResponseEntity<?> getBookingsByStatus(
+            @PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return bookingPage(status, null, null, null, null, cursor, limit);
+    }
+    
+    // Keyset page of bookings; the next page's cursor is returned in the X-Next-Cursor header
+    private ResponseEntity<?> bookingPage(String status, Long userId, Long vehicleId,
+                                          LocalDateTime from, LocalDateTime to, String cursor, Integer limit) {
+        BookingCursor after;
+        try {
+            after = BookingCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        
+        int pageSize = limit == null ? defaultPageSize : Math.min(Math.max(limit, 1), maxPageSize);
+        List<BookingView> rows = bookingRepository.findViewPage(
+                status != null ? status.toUpperCase() : null, userId, vehicleId, from, to,
+                after != null ? after.getBookingTime() : null, after != null ? after.getId() : null,
+                Limit.of(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, BookingCursor::encode).toResponse();
     }
 }
\ No newline at end of file
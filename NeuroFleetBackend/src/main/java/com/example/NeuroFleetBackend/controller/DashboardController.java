@@ -3,128 +3,158 @@ package com.example.NeuroFleetBackend.controller;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import com.example.NeuroFleetBackend.model.User;
-import com.example.NeuroFleetBackend.model.Vehicle;
-import com.example.NeuroFleetBackend.repository.BookingRepository;
-import com.example.NeuroFleetBackend.repository.UserRepository;
-import com.example.NeuroFleetBackend.repository.VehicleRepository;
-import com.example.NeuroFleetBackend.security.JwtUtil;
+import com.example.NeuroFleetBackend.dto.VehicleSnapshot;
+import com.example.NeuroFleetBackend.security.AuthenticatedUser;
+import com.example.NeuroFleetBackend.security.CurrentUser;
+import com.example.NeuroFleetBackend.service.FleetCounters;
+import com.example.NeuroFleetBackend.service.FleetStateCache;
 
 @RestController
 @RequestMapping("/api/dashboard")
 @CrossOrigin(origins = "*")
 public class DashboardController {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardController.class);
     
     @Autowired
-    private VehicleRepository vehicleRepository;
-    
-    @Autowired
-    private UserRepository userRepository;
-    
-    @Autowired
-    private BookingRepository bookingRepository;
+    private FleetStateCache fleetState;
     
     @Autowired
-    private JwtUtil jwtUtil;
+    private FleetCounters counters;
     
     @GetMapping("/admin")
     @PreAuthorize("hasAuthority('ADMIN')")
-    public ResponseEntity<Map<String, Object>> getAdminDashboard() {
+    public ResponseEntity<Map<String, Object>> getAdminDashboard(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @CurrentUser AuthenticatedUser user) {
+        
+        String etag = ETags.of(user, false, 0, counters.getVersion());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
         Map<String, Object> dashboard = new HashMap<>();
         
-        dashboard.put("totalVehicles", vehicleRepository.count());
-        dashboard.put("availableVehicles", vehicleRepository.findByStatus("AVAILABLE").size());
-        dashboard.put("inUseVehicles", vehicleRepository.findByStatus("IN_USE").size());
-        dashboard.put("maintenanceVehicles", vehicleRepository.findByStatus("MAINTENANCE").size());
-        dashboard.put("bookedVehicles", vehicleRepository.findByStatus("BOOKED").size());
-        dashboard.put("totalUsers", userRepository.count());
-        dashboard.put("totalBookings", bookingRepository.count());
-        dashboard.put("pendingBookings", bookingRepository.findByStatus("PENDING").size());
+        dashboard.put("totalVehicles", counters.getTotalVehicles());
+        dashboard.put("availableVehicles", counters.getVehicleCount("AVAILABLE"));
+        dashboard.put("inUseVehicles", counters.getVehicleCount("IN_USE"));
+        dashboard.put("maintenanceVehicles", counters.getVehicleCount("MAINTENANCE"));
+        dashboard.put("bookedVehicles", counters.getVehicleCount("BOOKED"));
+        dashboard.put("totalUsers", counters.getTotalUsers());
+        dashboard.put("totalBookings", counters.getTotalBookings());
+        dashboard.put("pendingBookings", counters.getBookingCount("PENDING"));
         dashboard.put("role", "ADMIN");
         
-        System.out.println("Admin dashboard accessed");
-        return ResponseEntity.ok(dashboard);
+        log.debug("Admin dashboard accessed");
+        return ETags.response(HttpStatus.OK, etag).body(dashboard);
     }
     
     @GetMapping("/fleet-manager")
     @PreAuthorize("hasAuthority('FLEET_MANAGER')")
-    public ResponseEntity<Map<String, Object>> getFleetManagerDashboard() {
+    public ResponseEntity<Map<String, Object>> getFleetManagerDashboard(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @CurrentUser AuthenticatedUser user) {
+        
+        String etag = ETags.of(user, false, 0, counters.getVersion());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
         Map<String, Object> dashboard = new HashMap<>();
         
-        dashboard.put("totalVehicles", vehicleRepository.count());
-        dashboard.put("availableVehicles", vehicleRepository.findByStatus("AVAILABLE").size());
-        dashboard.put("inUseVehicles", vehicleRepository.findByStatus("IN_USE").size());
-        dashboard.put("maintenanceVehicles", vehicleRepository.findByStatus("MAINTENANCE").size());
-        dashboard.put("bookedVehicles", vehicleRepository.findByStatus("BOOKED").size());
-        dashboard.put("totalBookings", bookingRepository.count());
-        dashboard.put("pendingBookings", bookingRepository.findByStatus("PENDING").size());
+        dashboard.put("totalVehicles", counters.getTotalVehicles());
+        dashboard.put("availableVehicles", counters.getVehicleCount("AVAILABLE"));
+        dashboard.put("inUseVehicles", counters.getVehicleCount("IN_USE"));
+        dashboard.put("maintenanceVehicles", counters.getVehicleCount("MAINTENANCE"));
+        dashboard.put("bookedVehicles", counters.getVehicleCount("BOOKED"));
+        dashboard.put("totalBookings", counters.getTotalBookings());
+        dashboard.put("pendingBookings", counters.getBookingCount("PENDING"));
         dashboard.put("role", "FLEET_MANAGER");
         
-        System.out.println("Fleet Manager dashboard accessed");
-        return ResponseEntity.ok(dashboard);
+        log.debug("Fleet Manager dashboard accessed");
+        return ETags.response(HttpStatus.OK, etag).body(dashboard);
     }
     
     @GetMapping("/driver")
     @PreAuthorize("hasAuthority('DRIVER')")
     public ResponseEntity<Map<String, Object>> getDriverDashboard(
-            @RequestHeader("Authorization") String authHeader) {
-        
-        String token = authHeader.substring(7);
-        String username = jwtUtil.extractUsername(token);
-        
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @CurrentUser AuthenticatedUser user) {
         
+        String etag = ETags.of(user, true, 0, counters.getVersion());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
         Map<String, Object> dashboard = new HashMap<>();
         
-        dashboard.put("availableVehicles", vehicleRepository.findByStatus("AVAILABLE").size());
-        dashboard.put("myBookings", bookingRepository.findByUserId(user.getId()).size());
-        dashboard.put("myActiveBookings", bookingRepository.findByUserIdAndStatus(user.getId(), "CONFIRMED").size());
+        dashboard.put("availableVehicles", counters.getVehicleCount("AVAILABLE"));
+        dashboard.put("myBookings", counters.getUserBookingCount(user.getId()));
+        dashboard.put("myActiveBookings", counters.getUserBookingCount(user.getId(), "CONFIRMED"));
         dashboard.put("role", "DRIVER");
         
-        System.out.println("Driver dashboard accessed");
-        return ResponseEntity.ok(dashboard);
+        log.debug("Driver dashboard accessed");
+        return ETags.response(HttpStatus.OK, etag).body(dashboard);
     }
     
     @GetMapping("/customer")
     @PreAuthorize("hasAuthority('CUSTOMER')")
     public ResponseEntity<Map<String, Object>> getCustomerDashboard(
-            @RequestHeader("Authorization") String authHeader) {
-        
-        String token = authHeader.substring(7);
-        String username = jwtUtil.extractUsername(token);
-        
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @CurrentUser AuthenticatedUser user,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon) {
         
+        // The vehicle list only has a version once it is served from memory
+        String etag = fleetState.isLoaded()
+                ? ETags.of(user, true, Objects.hash(lat, lon), fleetState.getVersion(), counters.getVersion())
+                : null;
+        if (etag != null && ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
         Map<String, Object> dashboard = new HashMap<>();
         
         // Get available vehicles
-        List<Vehicle> availableVehicles = vehicleRepository.findByStatus("AVAILABLE");
+        List<VehicleSnapshot> availableVehicles = fleetState.getByStatus("AVAILABLE");
         
         dashboard.put("availableVehicles", availableVehicles.size());
         dashboard.put("vehicles", availableVehicles); // Send full vehicle list
-        dashboard.put("myBookings", bookingRepository.findByUserId(user.getId()).size());
-        dashboard.put("myActiveBookings", bookingRepository.findByUserIdAndStatus(user.getId(), "CONFIRMED").size());
-        dashboard.put("myPendingBookings", bookingRepository.findByUserIdAndStatus(user.getId(), "PENDING").size());
+        
+        // Closest available vehicles when the client shares its location
+        if (lat != null && lon != null) {
+            dashboard.put("nearbyVehicles", fleetState.findNearbyAvailable(lat, lon, 10, null, 10));
+        }
+        dashboard.put("myBookings", counters.getUserBookingCount(user.getId()));
+        dashboard.put("myActiveBookings", counters.getUserBookingCount(user.getId(), "CONFIRMED"));
+        dashboard.put("myPendingBookings", counters.getUserBookingCount(user.getId(), "PENDING"));
         dashboard.put("role", "CUSTOMER");
         
-        System.out.println("Customer dashboard accessed by: " + username);
-        return ResponseEntity.ok(dashboard);
+        log.debug("Customer dashboard accessed by: {}", user.getUsername());
+        return etag != null ? ETags.response(HttpStatus.OK, etag).body(dashboard) : ResponseEntity.ok(dashboard);
     }
     
     // New endpoint: Get available vehicles for customers
     @GetMapping("/customer/available-vehicles")
     @PreAuthorize("hasAuthority('CUSTOMER')")
-    public ResponseEntity<List<Vehicle>> getAvailableVehiclesForCustomer() {
-        List<Vehicle> availableVehicles = vehicleRepository.findByStatus("AVAILABLE");
-        System.out.println("Customer fetching available vehicles: " + availableVehicles.size());
-        return ResponseEntity.ok(availableVehicles);
+    public ResponseEntity<List<VehicleSnapshot>> getAvailableVehiclesForCustomer(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @CurrentUser AuthenticatedUser user) {
+        
+        String etag = fleetState.isLoaded() ? ETags.of(user, false, 0, fleetState.getVersion()) : null;
+        if (etag != null && ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        List<VehicleSnapshot> availableVehicles = fleetState.getByStatus("AVAILABLE");
+        log.debug("Customer fetching available vehicles: {}", availableVehicles.size());
+        return etag != null ? ETags.response(HttpStatus.OK, etag).body(availableVehicles)
+                : ResponseEntity.ok(availableVehicles);
     }
 }
\ No newline at end of file
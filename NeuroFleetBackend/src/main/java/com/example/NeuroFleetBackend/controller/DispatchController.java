@@ -0,0 +1,31 @@
+package com.example.NeuroFleetBackend.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import com.example.NeuroFleetBackend.dto.DispatchPlan;
+import com.example.NeuroFleetBackend.service.DispatchService;
+
+@RestController
+@RequestMapping("/api/dispatch")
+@CrossOrigin(origins = "*")
+public class DispatchController {
+
+    @Autowired
+    private DispatchService dispatchService;
+
+    // Assignments a run would make now; nothing is written
+    @GetMapping("/preview")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'FLEET_MANAGER')")
+    public ResponseEntity<DispatchPlan> preview() {
+        return ResponseEntity.ok(dispatchService.preview());
+    }
+
+    @PostMapping("/run")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'FLEET_MANAGER')")
+    public ResponseEntity<DispatchPlan> run() {
+        return ResponseEntity.ok(dispatchService.run());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.NeuroFleetBackend.controller;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.example.NeuroFleetBackend.security.AuthenticatedUser;
+
+// Strong ETags for GET responses built from the in-memory fleet state and counters.
+// A tag is "<epoch>-<versions>-<role>[-<user id>]-<query hash>": the epoch is random per
+// process, so a tag from another node or an earlier run never matches, and the role (and
+// user id for per-user bodies) is part of the tag, so a 304 only confirms a body built for
+// the same caller. Versions are read before the body is built; a change that races the
+// build makes the tag older than the body, which only costs a full response next time.
+final class ETags {
+
+    private static final String EPOCH = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+
+    private ETags() {
+    }
+
+    static String of(AuthenticatedUser user, boolean perUser, int queryHash, long... versions) {
+        StringBuilder tag = new StringBuilder(48).append('"').append(EPOCH);
+        for (long version : versions) {
+            tag.append('-').append(Long.toString(version, 36));
+        }
+        tag.append('-').append(user.getRole());
+        if (perUser) {
+            tag.append('-').append(user.getId());
+        }
+        return tag.append('-').append(Integer.toHexString(queryHash)).append('"').toString();
+    }
+
+    // If-None-Match uses the weak comparison, so W/ is ignored (RFC 9110, 13.1.2)
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag) {
+        return response(HttpStatus.NOT_MODIFIED, etag).build();
+    }
+
+    // Caches may keep the body but must revalidate, and only for the same Authorization and
+    // Accept (some endpoints also answer in columns, see Columnar)
+    static ResponseEntity.BodyBuilder response(HttpStatus status, String etag) {
+        return ResponseEntity.status(status)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.AUTHORIZATION, HttpHeaders.ACCEPT);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.NeuroFleetBackend.controller;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import com.example.NeuroFleetBackend.dto.GeofenceEvent;
+import com.example.NeuroFleetBackend.model.Geofence;
+import com.example.NeuroFleetBackend.service.GeofenceService;
+
+@RestController
+@RequestMapping("/api/geofences")
+@CrossOrigin(origins = "*")
+public class GeofenceController {
+
+    private static final Logger log = LoggerFactory.getLogger(GeofenceController.class);
+
+    private static final int MAX_EVENTS = 1000;
+
+    @Autowired
+    private GeofenceService geofenceService;
+
+    @GetMapping
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'FLEET_MANAGER', 'DRIVER')")
+    public ResponseEntity<List<Geofence>> getGeofences() {
+        return ResponseEntity.ok(geofenceService.findAll());
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'FLEET_MANAGER', 'DRIVER')")
+    public ResponseEntity<?> getGeofence(@PathVariable Long id) {
+        return geofenceService.find(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'FLEET_MANAGER')")
+    public ResponseEntity<?> createGeofence(@RequestBody Geofence geofence) {
+        try {
+            Geofence saved = geofenceService.create(geofence);
+            log.info("Geofence created: {} ({})", saved.getName(), saved.getId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'FLEET_MANAGER')")
+    public ResponseEntity<?> updateGeofence(@PathVariable Long id, @RequestBody Geofence details) {
+        try {
+            return geofenceService.update(id, details)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'FLEET_MANAGER')")
+    public ResponseEntity<?> deleteGeofence(@PathVariable Long id) {
+        if (!geofenceService.delete(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        log.info("Geofence deleted: {}", id);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Enter/exit events kept on this node, oldest first; poll with after = seq of the last one seen
+    @GetMapping("/events")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'FLEET_MANAGER')")
+    public ResponseEntity<List<GeofenceEvent>> getEvents(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(required = false) Long vehicleId,
+            @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_EVENTS));
+        return ResponseEntity.ok(geofenceService.findEvents(after, vehicleId, pageSize));
+    }
+
+    // Fences the vehicle is inside at its last reported position
+    @GetMapping("/vehicles/{vehicleId}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'FLEET_MANAGER', 'DRIVER')")
+    public ResponseEntity<List<Geofence>> getVehicleGeofences(@PathVariable Long vehicleId) {
+        return ResponseEntity.ok(geofenceService.findContaining(vehicleId));
+    }
+}
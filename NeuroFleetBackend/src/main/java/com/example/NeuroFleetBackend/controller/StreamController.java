@@ -0,0 +1,82 @@
+package com.example.NeuroFleetBackend.controller;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.NeuroFleetBackend.dto.Columnar;
+import com.example.NeuroFleetBackend.dto.VehicleColumns;
+import com.example.NeuroFleetBackend.dto.VehicleSnapshot;
+import com.example.NeuroFleetBackend.security.AuthenticatedUser;
+import com.example.NeuroFleetBackend.security.CurrentUser;
+import com.example.NeuroFleetBackend.service.FleetStateCache;
+import com.example.NeuroFleetBackend.service.FleetStreamService;
+
+@RestController
+@RequestMapping("/api/stream")
+@CrossOrigin(origins = "*")
+public class StreamController {
+
+    @Autowired
+    private FleetStreamService fleetStreamService;
+
+    @Autowired
+    private FleetStateCache fleetState;
+
+    // Live fleet: a "snapshot" event, then "delta" events. EventSource cannot set headers,
+    // so the token may also be passed as ?access_token=
+    @GetMapping(value = "/fleet", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'FLEET_MANAGER', 'DRIVER')")
+    public ResponseEntity<?> streamFleet(@CurrentUser AuthenticatedUser user) throws IOException {
+        SseEmitter emitter = fleetStreamService.subscribe(user);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Too many subscribers, try again later");
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    // The whole fleet in one response, e.g. to draw a map; /fleet then keeps it current
+    @GetMapping("/fleet/snapshot")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'FLEET_MANAGER', 'DRIVER')")
+    public ResponseEntity<?> getFleetSnapshot(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @CurrentUser AuthenticatedUser user) {
+        return snapshot(ifNoneMatch, user, null);
+    }
+
+    @GetMapping(value = "/fleet/snapshot", produces = { MediaType.APPLICATION_CBOR_VALUE, Columnar.COLUMNS_JSON_VALUE })
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'FLEET_MANAGER', 'DRIVER')")
+    public ResponseEntity<?> getFleetSnapshotColumns(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(HttpHeaders.ACCEPT) String accept,
+            @CurrentUser AuthenticatedUser user) {
+        return snapshot(ifNoneMatch, user, accept);
+    }
+
+    private ResponseEntity<?> snapshot(String ifNoneMatch, AuthenticatedUser user, String columnsAccept) {
+        String etag = fleetState.isLoaded()
+                ? ETags.of(user, false, Objects.hashCode(columnsAccept), fleetState.getVersion())
+                : null;
+        if (etag != null && ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        List<VehicleSnapshot> vehicles = fleetState.getAll();
+        ResponseEntity.BodyBuilder response = etag != null ? ETags.response(HttpStatus.OK, etag) : ResponseEntity.ok();
+        return columnsAccept != null ? response.body(new VehicleColumns(vehicles)) : response.body(vehicles);
+    }
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'FLEET_MANAGER')")
+    public ResponseEntity<?> getStreamStats() {
+        return ResponseEntity.ok(fleetStreamService.getStats());
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.NeuroFleetBackend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Opaque position in the (bookingTime DESC, id DESC) order of booking listings
+public class BookingCursor {
+
+    private final LocalDateTime bookingTime;
+    private final Long id;
+
+    public BookingCursor(LocalDateTime bookingTime, Long id) {
+        this.bookingTime = bookingTime;
+        this.id = id;
+    }
+
+    public static String encode(BookingView booking) {
+        String raw = booking.getBookingTime() + "|" + booking.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns null for a missing cursor (first page); throws IllegalArgumentException if malformed
+    public static BookingCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new BookingCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public LocalDateTime getBookingTime() {
+        return bookingTime;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
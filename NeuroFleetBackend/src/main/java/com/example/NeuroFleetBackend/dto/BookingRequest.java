@@ -4,11 +4,14 @@ import java.time.LocalDateTime;
 
 public class BookingRequest {
     
+    // Null to leave the choice of vehicle to the dispatcher, which needs the pickup coordinates
     private Long vehicleId;
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private String pickupLocation;
     private String dropLocation;
+    private Double pickupLatitude;
+    private Double pickupLongitude;
     private String remarks;
     
     // Constructors
@@ -64,6 +67,22 @@ public class BookingRequest {
         this.dropLocation = dropLocation;
     }
     
+    public Double getPickupLatitude() {
+        return pickupLatitude;
+    }
+    
+    public void setPickupLatitude(Double pickupLatitude) {
+        this.pickupLatitude = pickupLatitude;
+    }
+    
+    public Double getPickupLongitude() {
+        return pickupLongitude;
+    }
+    
+    public void setPickupLongitude(Double pickupLongitude) {
+        this.pickupLongitude = pickupLongitude;
+    }
+    
     public String getRemarks() {
         return remarks;
     }
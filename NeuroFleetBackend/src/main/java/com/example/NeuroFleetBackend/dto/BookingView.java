@@ -0,0 +1,190 @@
+package com.example.NeuroFleetBackend.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.NeuroFleetBackend.model.Booking;
+import com.example.NeuroFleetBackend.model.User;
+import com.example.NeuroFleetBackend.model.Vehicle;
+
+// Read model for booking responses: the booking plus the few vehicle and user fields
+// the screens show. Loaded with one join query (see BookingRepository), never carries
+// the user's password.
+public class BookingView {
+
+    private final Long id;
+    private final LocalDateTime bookingTime;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final String status;
+    private final boolean overdue;
+    private final String pickupLocation;
+    private final String dropLocation;
+    private final Double pickupLatitude;
+    private final Double pickupLongitude;
+    private final Double estimatedCost;
+    private final Double actualCost;
+    private final String remarks;
+    private final VehicleSummary vehicle;
+    private final UserSummary user;
+
+    // Flat constructor for JPQL constructor expressions
+    public BookingView(Long id, LocalDateTime bookingTime, LocalDateTime startTime, LocalDateTime endTime,
+                       String status, boolean overdue, String pickupLocation, String dropLocation,
+                       Double pickupLatitude, Double pickupLongitude,
+                       Double estimatedCost, Double actualCost, String remarks,
+                       Long vehicleId, String vehicleNumber, String vehicleModel, String vehicleType,
+                       String vehicleStatus, Long userId, String username, String userRole) {
+        this.id = id;
+        this.bookingTime = bookingTime;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.status = status;
+        this.overdue = overdue;
+        this.pickupLocation = pickupLocation;
+        this.dropLocation = dropLocation;
+        this.pickupLatitude = pickupLatitude;
+        this.pickupLongitude = pickupLongitude;
+        this.estimatedCost = estimatedCost;
+        this.actualCost = actualCost;
+        this.remarks = remarks;
+        // No vehicle until the booking has been dispatched
+        this.vehicle = vehicleId == null ? null
+                : new VehicleSummary(vehicleId, vehicleNumber, vehicleModel, vehicleType, vehicleStatus);
+        this.user = new UserSummary(userId, username, userRole);
+    }
+
+    // From an entity whose vehicle and user are already loaded
+    public static BookingView from(Booking booking) {
+        Vehicle vehicle = booking.getVehicle();
+        User user = booking.getUser();
+        return new BookingView(booking.getId(), booking.getBookingTime(), booking.getStartTime(),
+                booking.getEndTime(), booking.getStatus(), booking.isOverdue(), booking.getPickupLocation(),
+                booking.getDropLocation(), booking.getPickupLatitude(), booking.getPickupLongitude(),
+                booking.getEstimatedCost(), booking.getActualCost(), booking.getRemarks(),
+                vehicle == null ? null : vehicle.getId(), vehicle == null ? null : vehicle.getVehicleNumber(),
+                vehicle == null ? null : vehicle.getModel(), vehicle == null ? null : vehicle.getType(),
+                vehicle == null ? null : vehicle.getStatus(), user.getId(), user.getUsername(), user.getRole());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDateTime getBookingTime() {
+        return bookingTime;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public boolean isOverdue() {
+        return overdue;
+    }
+
+    public String getPickupLocation() {
+        return pickupLocation;
+    }
+
+    public String getDropLocation() {
+        return dropLocation;
+    }
+
+    public Double getPickupLatitude() {
+        return pickupLatitude;
+    }
+
+    public Double getPickupLongitude() {
+        return pickupLongitude;
+    }
+
+    public Double getEstimatedCost() {
+        return estimatedCost;
+    }
+
+    public Double getActualCost() {
+        return actualCost;
+    }
+
+    public String getRemarks() {
+        return remarks;
+    }
+
+    public VehicleSummary getVehicle() {
+        return vehicle;
+    }
+
+    public UserSummary getUser() {
+        return user;
+    }
+
+    public static class VehicleSummary {
+
+        private final Long id;
+        private final String vehicleNumber;
+        private final String model;
+        private final String type;
+        private final String status;
+
+        public VehicleSummary(Long id, String vehicleNumber, String model, String type, String status) {
+            this.id = id;
+            this.vehicleNumber = vehicleNumber;
+            this.model = model;
+            this.type = type;
+            this.status = status;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getVehicleNumber() {
+            return vehicleNumber;
+        }
+
+        public String getModel() {
+            return model;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+    }
+
+    public static class UserSummary {
+
+        private final Long id;
+        private final String username;
+        private final String role;
+
+        public UserSummary(Long id, String username, String role) {
+            this.id = id;
+            this.username = username;
+            this.role = role;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getRole() {
+            return role;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.NeuroFleetBackend.dto;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.function.IntFunction;
+import java.util.function.IntToLongFunction;
+
+// Receives a Columnar body one column at a time. Each value is read from the rows by index
+// as it is written, so the rows are never copied into column arrays. Nulls are allowed
+// except in longs columns.
+public interface ColumnWriter {
+
+    void longs(String name, IntToLongFunction column) throws IOException;
+
+    void doubles(String name, IntFunction<Double> column) throws IOException;
+
+    void strings(String name, IntFunction<String> column) throws IOException;
+
+    // Written as epoch millis in the server's zone, like the telemetry timestamps
+    void times(String name, IntFunction<LocalDateTime> column) throws IOException;
+}
@@ -0,0 +1,18 @@
+package com.example.NeuroFleetBackend.dto;
+
+import java.io.IOException;
+
+// A list body that can also be sent column by column: one array per field instead of one
+// object per row, so each field name is written once and numbers need no per-row keys.
+// Written as {"rows": n, "<column>": [...], ...} in JSON or CBOR by ColumnarHttpMessageConverter.
+public interface Columnar {
+
+    String COLUMNS_JSON_VALUE = "application/vnd.neurofleet.columns+json";
+
+    int size();
+
+    // Number of columns writeColumns() emits
+    int columnCount();
+
+    void writeColumns(ColumnWriter writer) throws IOException;
+}
@@ -0,0 +1,108 @@
+package com.example.NeuroFleetBackend.dto;
+
+import java.util.List;
+
+// Result of one dispatch pass: which undispatched booking goes to which available
+// vehicle. A preview only proposes; a run also applies each assignment and reports
+// the ones that no longer held (vehicle taken meanwhile, booking cancelled...).
+public class DispatchPlan {
+
+    private final String algorithm;
+    private final int bookings;
+    private final int vehicles;
+    private final List<Assignment> assignments;
+    // Bookings with no vehicle within dispatch.max-distance-km, or not enough vehicles
+    private final List<Long> unassignedBookingIds;
+    private final double totalDistanceKm;
+    private final long solveMs;
+    private final boolean applied;
+    private final int failed;
+
+    public DispatchPlan(String algorithm, int bookings, int vehicles, List<Assignment> assignments,
+                        List<Long> unassignedBookingIds, double totalDistanceKm, long solveMs,
+                        boolean applied, int failed) {
+        this.algorithm = algorithm;
+        this.bookings = bookings;
+        this.vehicles = vehicles;
+        this.assignments = assignments;
+        this.unassignedBookingIds = unassignedBookingIds;
+        this.totalDistanceKm = totalDistanceKm;
+        this.solveMs = solveMs;
+        this.applied = applied;
+        this.failed = failed;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getBookings() {
+        return bookings;
+    }
+
+    public int getVehicles() {
+        return vehicles;
+    }
+
+    public List<Assignment> getAssignments() {
+        return assignments;
+    }
+
+    public List<Long> getUnassignedBookingIds() {
+        return unassignedBookingIds;
+    }
+
+    public double getTotalDistanceKm() {
+        return totalDistanceKm;
+    }
+
+    public long getSolveMs() {
+        return solveMs;
+    }
+
+    public boolean isApplied() {
+        return applied;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public static class Assignment {
+
+        private final Long bookingId;
+        private final Long vehicleId;
+        private final String vehicleNumber;
+        private final double distanceKm;
+        // Set when applying this assignment failed
+        private final String error;
+
+        public Assignment(Long bookingId, Long vehicleId, String vehicleNumber, double distanceKm, String error) {
+            this.bookingId = bookingId;
+            this.vehicleId = vehicleId;
+            this.vehicleNumber = vehicleNumber;
+            this.distanceKm = distanceKm;
+            this.error = error;
+        }
+
+        public Long getBookingId() {
+            return bookingId;
+        }
+
+        public Long getVehicleId() {
+            return vehicleId;
+        }
+
+        public String getVehicleNumber() {
+            return vehicleNumber;
+        }
+
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.NeuroFleetBackend.dto;
+
+// A vehicle entering or leaving a geofence. seq orders the events of one node and is
+// the cursor for GET /api/geofences/events?after=
+public class GeofenceEvent {
+
+    private final long seq;
+    private final String type;
+    private final long vehicleId;
+    private final long geofenceId;
+    private final String geofenceName;
+    private final String category;
+    private final double latitude;
+    private final double longitude;
+
+    // Device time of the position that triggered the event, epoch millis
+    private final long timestamp;
+
+    public GeofenceEvent(long seq, String type, long vehicleId, long geofenceId, String geofenceName,
+                         String category, double latitude, double longitude, long timestamp) {
+        this.seq = seq;
+        this.type = type;
+        this.vehicleId = vehicleId;
+        this.geofenceId = geofenceId;
+        this.geofenceName = geofenceName;
+        this.category = category;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.timestamp = timestamp;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public long getVehicleId() {
+        return vehicleId;
+    }
+
+    public long getGeofenceId() {
+        return geofenceId;
+    }
+
+    public String getGeofenceName() {
+        return geofenceName;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.NeuroFleetBackend.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.http.ResponseEntity;
+
+// One page of a keyset-paginated listing. The body stays a plain JSON array and the
+// cursor for the next page travels in the X-Next-Cursor header (absent on the last page).
+public class KeysetPage<T> {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public KeysetPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // fetched holds up to limit + 1 rows; the extra row only signals that another page exists
+    public static <T> KeysetPage<T> of(List<T> fetched, int limit, Function<T, String> cursorOf) {
+        if (fetched.size() <= limit) {
+            return new KeysetPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, limit);
+        return new KeysetPage<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public ResponseEntity<List<T>> toResponse() {
+        return toResponse(ResponseEntity.ok());
+    }
+
+    // For callers that set headers of their own (e.g. an ETag)
+    public ResponseEntity<List<T>> toResponse(ResponseEntity.BodyBuilder response) {
+        return toResponse(response, items -> items);
+    }
+
+    // With the items wrapped in another body, e.g. VehicleColumns
+    public <B> ResponseEntity<B> toResponse(ResponseEntity.BodyBuilder response, Function<List<T>, B> body) {
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(body.apply(items));
+    }
+}
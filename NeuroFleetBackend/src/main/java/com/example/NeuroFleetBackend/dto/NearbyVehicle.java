@@ -0,0 +1,20 @@
+package com.example.NeuroFleetBackend.dto;
+
+public class NearbyVehicle {
+
+    private final double distanceKm;
+    private final VehicleSnapshot vehicle;
+
+    public NearbyVehicle(double distanceKm, VehicleSnapshot vehicle) {
+        this.distanceKm = distanceKm;
+        this.vehicle = vehicle;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public VehicleSnapshot getVehicle() {
+        return vehicle;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.NeuroFleetBackend.dto;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+// Opaque delta sync position. "since" is when the previous sync started; a token
+// handed out mid-sync also carries the (lastUpdated, id) of the last vehicle sent.
+// Times are base-36 microseconds so a token stays around a dozen characters.
+public class SyncToken {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final LocalDateTime since;
+    private final LocalDateTime afterTime;
+    private final Long afterId;
+
+    public SyncToken(LocalDateTime since, LocalDateTime afterTime, Long afterId) {
+        this.since = since;
+        this.afterTime = afterTime;
+        this.afterId = afterId;
+    }
+
+    public String encode() {
+        String token = Long.toString(toMicros(since), 36);
+        if (afterTime != null) {
+            token += "." + Long.toString(toMicros(afterTime), 36) + "." + Long.toString(afterId, 36);
+        }
+        return token;
+    }
+
+    // Returns null for a missing token (full sync); throws IllegalArgumentException if malformed
+    public static SyncToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = token.split("\\.");
+            LocalDateTime since = fromMicros(Long.parseLong(parts[0], 36));
+            if (parts.length == 1) {
+                return new SyncToken(since, null, null);
+            }
+            if (parts.length == 3) {
+                return new SyncToken(since, fromMicros(Long.parseLong(parts[1], 36)), Long.parseLong(parts[2], 36));
+            }
+        } catch (RuntimeException e) {
+            // fall through
+        }
+        throw new IllegalArgumentException("Invalid sync token");
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return ChronoUnit.MICROS.between(EPOCH, time);
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+
+    public LocalDateTime getSince() {
+        return since;
+    }
+
+    public LocalDateTime getAfterTime() {
+        return afterTime;
+    }
+
+    public Long getAfterId() {
+        return afterId;
+    }
+}
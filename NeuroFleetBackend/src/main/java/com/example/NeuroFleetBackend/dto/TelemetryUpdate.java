@@ -0,0 +1,121 @@
+package com.example.NeuroFleetBackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+public class TelemetryUpdate {
+
+    private Long vehicleId;
+    private Double latitude;
+    private Double longitude;
+    private Double speed;
+    private Double batteryLevel;
+    private Double fuelLevel;
+
+    // Epoch millis reported by the device (defaults to the time the ping was received)
+    private Long timestamp;
+
+    // Time the oldest coalesced ping entered the queue, used for flush lag
+    @JsonIgnore
+    private long receivedAt;
+
+    // Constructors
+    public TelemetryUpdate() {}
+
+    public TelemetryUpdate(Long vehicleId, Double latitude, Double longitude, Double speed,
+                           Double batteryLevel, Double fuelLevel, Long timestamp) {
+        this.vehicleId = vehicleId;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.speed = speed;
+        this.batteryLevel = batteryLevel;
+        this.fuelLevel = fuelLevel;
+        this.timestamp = timestamp;
+    }
+
+    // Latest-wins merge: fields reported by the newer ping override this one,
+    // fields it left out keep their pending value
+    public TelemetryUpdate mergeWith(TelemetryUpdate other) {
+        TelemetryUpdate newer = other;
+        TelemetryUpdate older = this;
+        if (other.getTimestamp() != null && this.timestamp != null && other.getTimestamp() < this.timestamp) {
+            newer = this;
+            older = other;
+        }
+
+        TelemetryUpdate merged = new TelemetryUpdate(
+                vehicleId,
+                newer.latitude != null ? newer.latitude : older.latitude,
+                newer.longitude != null ? newer.longitude : older.longitude,
+                newer.speed != null ? newer.speed : older.speed,
+                newer.batteryLevel != null ? newer.batteryLevel : older.batteryLevel,
+                newer.fuelLevel != null ? newer.fuelLevel : older.fuelLevel,
+                newer.timestamp != null ? newer.timestamp : older.timestamp);
+        merged.setReceivedAt(Math.min(this.receivedAt, other.getReceivedAt()));
+        return merged;
+    }
+
+    // Getters and Setters
+    public Long getVehicleId() {
+        return vehicleId;
+    }
+
+    public void setVehicleId(Long vehicleId) {
+        this.vehicleId = vehicleId;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Double getSpeed() {
+        return speed;
+    }
+
+    public void setSpeed(Double speed) {
+        this.speed = speed;
+    }
+
+    public Double getBatteryLevel() {
+        return batteryLevel;
+    }
+
+    public void setBatteryLevel(Double batteryLevel) {
+        this.batteryLevel = batteryLevel;
+    }
+
+    public Double getFuelLevel() {
+        return fuelLevel;
+    }
+
+    public void setFuelLevel(Double fuelLevel) {
+        this.fuelLevel = fuelLevel;
+    }
+
+    public Long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public long getReceivedAt() {
+        return receivedAt;
+    }
+
+    public void setReceivedAt(long receivedAt) {
+        this.receivedAt = receivedAt;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.NeuroFleetBackend.dto;
+
+import java.io.IOException;
+import java.util.List;
+
+// A vehicle's trip history as columns
+public final class TrackColumns implements Columnar {
+
+    private final List<TrackPoint> points;
+
+    public TrackColumns(List<TrackPoint> points) {
+        this.points = points;
+    }
+
+    @Override
+    public int size() {
+        return points.size();
+    }
+
+    @Override
+    public int columnCount() {
+        return 6;
+    }
+
+    @Override
+    public void writeColumns(ColumnWriter writer) throws IOException {
+        writer.longs("timestamp", i -> points.get(i).getTimestamp());
+        writer.doubles("latitude", i -> points.get(i).getLatitude());
+        writer.doubles("longitude", i -> points.get(i).getLongitude());
+        writer.doubles("speed", i -> points.get(i).getSpeed());
+        writer.doubles("batteryLevel", i -> points.get(i).getBatteryLevel());
+        writer.doubles("fuelLevel", i -> points.get(i).getFuelLevel());
+    }
+}
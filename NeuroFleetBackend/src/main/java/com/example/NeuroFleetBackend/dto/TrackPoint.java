@@ -0,0 +1,73 @@
+package com.example.NeuroFleetBackend.dto;
+
+public class TrackPoint {
+
+    private long timestamp;
+    private Double latitude;
+    private Double longitude;
+    private Double speed;
+    private Double batteryLevel;
+    private Double fuelLevel;
+
+    // Constructors
+    public TrackPoint() {}
+
+    public TrackPoint(long timestamp, Double latitude, Double longitude, Double speed,
+                      Double batteryLevel, Double fuelLevel) {
+        this.timestamp = timestamp;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.speed = speed;
+        this.batteryLevel = batteryLevel;
+        this.fuelLevel = fuelLevel;
+    }
+
+    // Getters and Setters
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Double getSpeed() {
+        return speed;
+    }
+
+    public void setSpeed(Double speed) {
+        this.speed = speed;
+    }
+
+    public Double getBatteryLevel() {
+        return batteryLevel;
+    }
+
+    public void setBatteryLevel(Double batteryLevel) {
+        this.batteryLevel = batteryLevel;
+    }
+
+    public Double getFuelLevel() {
+        return fuelLevel;
+    }
+
+    public void setFuelLevel(Double fuelLevel) {
+        this.fuelLevel = fuelLevel;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.NeuroFleetBackend.dto;
+
+import java.util.List;
+
+// One delta sync response: vehicles to upsert, ids to drop, and the token for the next call.
+// When "more" is set the client should call again right away with the new token.
+public class VehicleChanges {
+
+    private final String token;
+    private final boolean more;
+    private final List<VehicleSnapshot> vehicles;
+    private final List<Long> removed;
+
+    public VehicleChanges(String token, boolean more, List<VehicleSnapshot> vehicles, List<Long> removed) {
+        this.token = token;
+        this.more = more;
+        this.vehicles = vehicles;
+        this.removed = removed;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public boolean isMore() {
+        return more;
+    }
+
+    public List<VehicleSnapshot> getVehicles() {
+        return vehicles;
+    }
+
+    public List<Long> getRemoved() {
+        return removed;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.NeuroFleetBackend.dto;
+
+import java.io.IOException;
+import java.util.List;
+
+// Vehicle snapshots as columns, for map views that draw thousands of markers
+public final class VehicleColumns implements Columnar {
+
+    private final List<VehicleSnapshot> vehicles;
+
+    public VehicleColumns(List<VehicleSnapshot> vehicles) {
+        this.vehicles = vehicles;
+    }
+
+    @Override
+    public int size() {
+        return vehicles.size();
+    }
+
+    @Override
+    public int columnCount() {
+        return 11;
+    }
+
+    @Override
+    public void writeColumns(ColumnWriter writer) throws IOException {
+        writer.longs("id", i -> vehicles.get(i).getId());
+        writer.strings("vehicleNumber", i -> vehicles.get(i).getVehicleNumber());
+        writer.strings("model", i -> vehicles.get(i).getModel());
+        writer.strings("type", i -> vehicles.get(i).getType());
+        writer.strings("status", i -> vehicles.get(i).getStatus());
+        writer.doubles("latitude", i -> vehicles.get(i).getLatitude());
+        writer.doubles("longitude", i -> vehicles.get(i).getLongitude());
+        writer.doubles("speed", i -> vehicles.get(i).getSpeed());
+        writer.doubles("batteryLevel", i -> vehicles.get(i).getBatteryLevel());
+        writer.doubles("fuelLevel", i -> vehicles.get(i).getFuelLevel());
+        writer.times("lastUpdated", i -> vehicles.get(i).getLastUpdated());
+    }
+}
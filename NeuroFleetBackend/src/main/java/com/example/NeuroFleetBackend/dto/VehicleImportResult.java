@@ -0,0 +1,81 @@
+package com.example.NeuroFleetBackend.dto;
+
+import java.util.List;
+
+// Outcome of a bulk import. Rows are numbered from 1 in the order they were sent
+// (for CSV, the first data row after the header is row 1).
+public class VehicleImportResult {
+
+    private final int received;
+    private final int created;
+    private final int updated;
+    private final int failed;
+    private final long durationMs;
+    private final List<RowError> errors;
+    // More rows failed than are listed in errors
+    private final boolean errorsTruncated;
+
+    public VehicleImportResult(int received, int created, int updated, int failed, long durationMs,
+                               List<RowError> errors, boolean errorsTruncated) {
+        this.received = received;
+        this.created = created;
+        this.updated = updated;
+        this.failed = failed;
+        this.durationMs = durationMs;
+        this.errors = errors;
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public int getReceived() {
+        return received;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public static class RowError {
+
+        private final int row;
+        private final String vehicleNumber;
+        private final String message;
+
+        public RowError(int row, String vehicleNumber, String message) {
+            this.row = row;
+            this.vehicleNumber = vehicleNumber;
+            this.message = message;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public String getVehicleNumber() {
+            return vehicleNumber;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
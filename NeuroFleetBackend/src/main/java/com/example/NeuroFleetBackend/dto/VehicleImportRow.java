@@ -0,0 +1,105 @@
+package com.example.NeuroFleetBackend.dto;
+
+// One vehicle in a bulk import, matched to an existing vehicle by vehicleNumber.
+// Fields left null keep their current value when the vehicle already exists.
+public class VehicleImportRow {
+
+    private String vehicleNumber;
+    private String model;
+    private String type;
+    private String status;
+    private Double latitude;
+    private Double longitude;
+    private Double speed;
+    private Double batteryLevel;
+    private Double fuelLevel;
+
+    // Constructors
+    public VehicleImportRow() {}
+
+    public VehicleImportRow(String vehicleNumber, String model, String type, String status, Double latitude,
+                            Double longitude, Double speed, Double batteryLevel, Double fuelLevel) {
+        this.vehicleNumber = vehicleNumber;
+        this.model = model;
+        this.type = type;
+        this.status = status;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.speed = speed;
+        this.batteryLevel = batteryLevel;
+        this.fuelLevel = fuelLevel;
+    }
+
+    // Getters and Setters
+    public String getVehicleNumber() {
+        return vehicleNumber;
+    }
+
+    public void setVehicleNumber(String vehicleNumber) {
+        this.vehicleNumber = vehicleNumber;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Double getSpeed() {
+        return speed;
+    }
+
+    public void setSpeed(Double speed) {
+        this.speed = speed;
+    }
+
+    public Double getBatteryLevel() {
+        return batteryLevel;
+    }
+
+    public void setBatteryLevel(Double batteryLevel) {
+        this.batteryLevel = batteryLevel;
+    }
+
+    public Double getFuelLevel() {
+        return fuelLevel;
+    }
+
+    public void setFuelLevel(Double fuelLevel) {
+        this.fuelLevel = fuelLevel;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.NeuroFleetBackend.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.NeuroFleetBackend.model.Vehicle;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// Immutable view of a vehicle held by the live fleet state; serializes like Vehicle
+public final class VehicleSnapshot {
+
+    private final Long id;
+    private final String vehicleNumber;
+    private final String model;
+    private final String type;
+    private final String status;
+    private final Double latitude;
+    private final Double longitude;
+    private final Double speed;
+    private final Double batteryLevel;
+    private final Double fuelLevel;
+    private final LocalDateTime lastUpdated;
+
+    // Device timestamp of the last applied ping, used to drop out-of-order telemetry
+    private final long telemetryTimestamp;
+
+    public VehicleSnapshot(Long id, String vehicleNumber, String model, String type, String status,
+                           Double latitude, Double longitude, Double speed, Double batteryLevel,
+                           Double fuelLevel, LocalDateTime lastUpdated, long telemetryTimestamp) {
+        this.id = id;
+        this.vehicleNumber = vehicleNumber;
+        this.model = model;
+        this.type = type;
+        this.status = status;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.speed = speed;
+        this.batteryLevel = batteryLevel;
+        this.fuelLevel = fuelLevel;
+        this.lastUpdated = lastUpdated;
+        this.telemetryTimestamp = telemetryTimestamp;
+    }
+
+    public static VehicleSnapshot from(Vehicle vehicle) {
+        return new VehicleSnapshot(vehicle.getId(), vehicle.getVehicleNumber(), vehicle.getModel(),
+                vehicle.getType(), vehicle.getStatus(), vehicle.getLatitude(), vehicle.getLongitude(),
+                vehicle.getSpeed(), vehicle.getBatteryLevel(), vehicle.getFuelLevel(),
+                vehicle.getLastUpdated(), 0L);
+    }
+
+    public VehicleSnapshot withStatus(String newStatus) {
+        return new VehicleSnapshot(id, vehicleNumber, model, type, newStatus, latitude, longitude,
+                speed, batteryLevel, fuelLevel, LocalDateTime.now(), telemetryTimestamp);
+    }
+
+    public VehicleSnapshot withTelemetry(TelemetryUpdate update) {
+        return new VehicleSnapshot(id, vehicleNumber, model, type, status,
+                update.getLatitude() != null ? update.getLatitude() : latitude,
+                update.getLongitude() != null ? update.getLongitude() : longitude,
+                update.getSpeed() != null ? update.getSpeed() : speed,
+                update.getBatteryLevel() != null ? update.getBatteryLevel() : batteryLevel,
+                update.getFuelLevel() != null ? update.getFuelLevel() : fuelLevel,
+                LocalDateTime.now(),
+                update.getTimestamp() != null ? update.getTimestamp() : telemetryTimestamp);
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getVehicleNumber() {
+        return vehicleNumber;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public Double getSpeed() {
+        return speed;
+    }
+
+    public Double getBatteryLevel() {
+        return batteryLevel;
+    }
+
+    public Double getFuelLevel() {
+        return fuelLevel;
+    }
+
+    public LocalDateTime getLastUpdated() {
+        return lastUpdated;
+    }
+
+    @JsonIgnore
+    public long getTelemetryTimestamp() {
+        return telemetryTimestamp;
+    }
+}
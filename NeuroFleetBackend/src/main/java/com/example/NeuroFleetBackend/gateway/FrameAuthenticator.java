@@ -0,0 +1,72 @@
+package com.example.NeuroFleetBackend.gateway;
+
+// Message authentication for one gateway connection. The device proves it holds its
+// pre-shared key by signing the server's random challenge; both sides then derive a
+// session key from the key and challenge, so frames from an earlier connection can't be
+// replayed on a new one. Each telemetry frame carries the first 8 bytes of
+// HMAC-SHA256(session key, frame[0..40)).
+public final class FrameAuthenticator {
+
+    public static final int CHALLENGE_LENGTH = 16;
+
+    // Auth frame: type, 3 reserved, vehicle id, HMAC(psk, challenge || frame[0..12)), 4 reserved
+    private static final int AUTH_SIGNED_LENGTH = 12;
+    private static final int AUTH_MAC_OFFSET = 12;
+    private static final byte SESSION_LABEL = 'S';
+
+    private final HmacSha256 mac;
+    private final byte[] scratch = new byte[HmacSha256.LENGTH];
+
+    public FrameAuthenticator(byte[] deviceKey, byte[] challenge) {
+        HmacSha256 keyed = new HmacSha256(deviceKey);
+        byte[] sessionKey = new byte[HmacSha256.LENGTH];
+        keyed.update(challenge, 0, challenge.length);
+        keyed.update(SESSION_LABEL);
+        keyed.doFinal(sessionKey, 0);
+        this.mac = new HmacSha256(sessionKey);
+    }
+
+    // Checks the truncated tag of the frame at frame[off..off+SIZE)
+    public boolean verify(byte[] frame, int off) {
+        mac.update(frame, off, TelemetryFrame.TAG_OFFSET);
+        mac.doFinal(scratch, 0);
+        return HmacSha256.equals(scratch, 0, frame, off + TelemetryFrame.TAG_OFFSET, TelemetryFrame.TAG_LENGTH);
+    }
+
+    // Writes the tag of an encoded frame, as the device does
+    public void sign(byte[] frame, int off) {
+        mac.update(frame, off, TelemetryFrame.TAG_OFFSET);
+        mac.doFinal(scratch, 0);
+        System.arraycopy(scratch, 0, frame, off + TelemetryFrame.TAG_OFFSET, TelemetryFrame.TAG_LENGTH);
+    }
+
+    public static long authVehicleId(byte[] frame, int off) {
+        return TelemetryFrame.readLong(frame, off + 4);
+    }
+
+    public static boolean verifyAuth(byte[] deviceKey, byte[] challenge, byte[] frame, int off) {
+        byte[] expected = authMac(deviceKey, challenge, frame, off);
+        return HmacSha256.equals(expected, 0, frame, off + AUTH_MAC_OFFSET, HmacSha256.LENGTH);
+    }
+
+    public static void encodeAuth(byte[] frame, int off, long vehicleId, byte[] deviceKey, byte[] challenge) {
+        frame[off] = TelemetryFrame.TYPE_AUTH;
+        frame[off + 1] = 0;
+        frame[off + 2] = 0;
+        frame[off + 3] = 0;
+        TelemetryFrame.writeLong(frame, off + 4, vehicleId);
+        System.arraycopy(authMac(deviceKey, challenge, frame, off), 0, frame, off + AUTH_MAC_OFFSET, HmacSha256.LENGTH);
+        for (int i = AUTH_MAC_OFFSET + HmacSha256.LENGTH; i < TelemetryFrame.SIZE; i++) {
+            frame[off + i] = 0;
+        }
+    }
+
+    private static byte[] authMac(byte[] deviceKey, byte[] challenge, byte[] frame, int off) {
+        HmacSha256 keyed = new HmacSha256(deviceKey);
+        byte[] out = new byte[HmacSha256.LENGTH];
+        keyed.update(challenge, 0, challenge.length);
+        keyed.update(frame, off, AUTH_SIGNED_LENGTH);
+        keyed.doFinal(out, 0);
+        return out;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.NeuroFleetBackend.gateway;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+// HMAC-SHA256 (RFC 2104) over two reusable digests. javax.crypto.Mac.doFinal returns a
+// new array on every call; this writes into a caller's buffer so checking a frame
+// allocates nothing. Not thread safe, one instance per connection.
+final class HmacSha256 {
+
+    static final int LENGTH = 32;
+    private static final int BLOCK = 64;
+
+    private final MessageDigest inner;
+    private final MessageDigest outer;
+    private final byte[] innerPad = new byte[BLOCK];
+    private final byte[] outerPad = new byte[BLOCK];
+    private final byte[] innerHash = new byte[LENGTH];
+
+    HmacSha256(byte[] key) {
+        inner = sha256();
+        outer = sha256();
+        byte[] k = key.length > BLOCK ? outer.digest(key) : key;
+        for (int i = 0; i < BLOCK; i++) {
+            byte b = i < k.length ? k[i] : 0;
+            innerPad[i] = (byte) (b ^ 0x36);
+            outerPad[i] = (byte) (b ^ 0x5c);
+        }
+        reset();
+    }
+
+    void reset() {
+        inner.reset();
+        inner.update(innerPad);
+    }
+
+    void update(byte[] data, int off, int len) {
+        inner.update(data, off, len);
+    }
+
+    void update(byte b) {
+        inner.update(b);
+    }
+
+    // Writes the 32-byte MAC to out[off..] and resets for the next message
+    void doFinal(byte[] out, int off) {
+        try {
+            inner.digest(innerHash, 0, LENGTH);
+            outer.reset();
+            outer.update(outerPad);
+            outer.update(innerHash);
+            outer.digest(out, off, LENGTH);
+        } catch (DigestException e) {
+            throw new IllegalStateException(e);
+        }
+        reset();
+    }
+
+    // Compares without returning early, so response time doesn't leak how much of a tag matched
+    static boolean equals(byte[] a, int aOff, byte[] b, int bOff, int len) {
+        int diff = 0;
+        for (int i = 0; i < len; i++) {
+            diff |= a[aOff + i] ^ b[bOff + i];
+        }
+        return diff == 0;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.NeuroFleetBackend.gateway;
+
+import com.example.NeuroFleetBackend.dto.TelemetryUpdate;
+
+// Fixed-width 48-byte frame of the binary gateway, big endian. See docs/telemetry-gateway.md
+// for the layout. An instance is reused for every frame on a connection: decode fills the
+// fields in place and allocates nothing.
+public final class TelemetryFrame {
+
+    public static final int SIZE = 48;
+    public static final int TAG_OFFSET = 40;
+    public static final int TAG_LENGTH = 8;
+
+    public static final byte TYPE_AUTH = 1;
+    public static final byte TYPE_TELEMETRY = 2;
+
+    // Which of the optional fields the frame carries
+    public static final int HAS_POSITION = 1;
+    public static final int HAS_SPEED = 1 << 1;
+    public static final int HAS_BATTERY = 1 << 2;
+    public static final int HAS_FUEL = 1 << 3;
+
+    private static final double DEGREE_SCALE = 1e7;
+    private static final double SPEED_SCALE = 10;
+    private static final double LEVEL_SCALE = 100;
+
+    private int flags;
+    private long sequence;
+    private long timestamp;
+    private double latitude;
+    private double longitude;
+    private double speed;
+    private double batteryLevel;
+    private double fuelLevel;
+
+    // Reads a telemetry frame at frame[off..off+SIZE); the tag must already have been checked
+    public void decode(byte[] frame, int off) {
+        flags = frame[off + 1] & 0xff;
+        sequence = readInt(frame, off + 4) & 0xffffffffL;
+        timestamp = readLong(frame, off + 8);
+        latitude = readInt(frame, off + 16) / DEGREE_SCALE;
+        longitude = readInt(frame, off + 20) / DEGREE_SCALE;
+        speed = readUnsignedShort(frame, off + 24) / SPEED_SCALE;
+        batteryLevel = readUnsignedShort(frame, off + 26) / LEVEL_SCALE;
+        fuelLevel = readUnsignedShort(frame, off + 28) / LEVEL_SCALE;
+    }
+
+    // The ingestion queue works on TelemetryUpdate, so this is the one allocation per frame
+    public TelemetryUpdate toUpdate(long vehicleId) {
+        boolean position = has(HAS_POSITION);
+        return new TelemetryUpdate(vehicleId,
+                position ? latitude : null,
+                position ? longitude : null,
+                has(HAS_SPEED) ? speed : null,
+                has(HAS_BATTERY) ? batteryLevel : null,
+                has(HAS_FUEL) ? fuelLevel : null,
+                timestamp > 0 ? timestamp : null);
+    }
+
+    // Writes bytes [0..TAG_OFFSET) of a telemetry frame; the sender signs it afterwards
+    public static void encode(byte[] frame, int off, int flags, long sequence, long timestamp,
+                              double latitude, double longitude, double speed, double batteryLevel, double fuelLevel) {
+        frame[off] = TYPE_TELEMETRY;
+        frame[off + 1] = (byte) flags;
+        frame[off + 2] = 0;
+        frame[off + 3] = 0;
+        writeInt(frame, off + 4, (int) sequence);
+        writeLong(frame, off + 8, timestamp);
+        writeInt(frame, off + 16, (int) Math.round(latitude * DEGREE_SCALE));
+        writeInt(frame, off + 20, (int) Math.round(longitude * DEGREE_SCALE));
+        writeShort(frame, off + 24, (int) Math.round(speed * SPEED_SCALE));
+        writeShort(frame, off + 26, (int) Math.round(batteryLevel * LEVEL_SCALE));
+        writeShort(frame, off + 28, (int) Math.round(fuelLevel * LEVEL_SCALE));
+        for (int i = 30; i < TAG_OFFSET; i++) {
+            frame[off + i] = 0;
+        }
+    }
+
+    public boolean has(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    public double getBatteryLevel() {
+        return batteryLevel;
+    }
+
+    public double getFuelLevel() {
+        return fuelLevel;
+    }
+
+    static int readInt(byte[] b, int off) {
+        return (b[off] & 0xff) << 24 | (b[off + 1] & 0xff) << 16 | (b[off + 2] & 0xff) << 8 | (b[off + 3] & 0xff);
+    }
+
+    static long readLong(byte[] b, int off) {
+        return (long) readInt(b, off) << 32 | (readInt(b, off + 4) & 0xffffffffL);
+    }
+
+    static int readUnsignedShort(byte[] b, int off) {
+        return (b[off] & 0xff) << 8 | (b[off + 1] & 0xff);
+    }
+
+    static void writeInt(byte[] b, int off, int value) {
+        b[off] = (byte) (value >>> 24);
+        b[off + 1] = (byte) (value >>> 16);
+        b[off + 2] = (byte) (value >>> 8);
+        b[off + 3] = (byte) value;
+    }
+
+    static void writeLong(byte[] b, int off, long value) {
+        writeInt(b, off, (int) (value >>> 32));
+        writeInt(b, off + 4, (int) value);
+    }
+
+    static void writeShort(byte[] b, int off, int value) {
+        b[off] = (byte) (value >>> 8);
+        b[off + 1] = (byte) value;
+    }
+}
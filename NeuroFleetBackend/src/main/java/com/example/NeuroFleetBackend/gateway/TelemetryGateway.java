@@ -0,0 +1,370 @@
+package com.example.NeuroFleetBackend.gateway;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.security.SecureRandom;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.NeuroFleetBackend.dto.TelemetryUpdate;
+import com.example.NeuroFleetBackend.service.DeviceKeyService;
+import com.example.NeuroFleetBackend.service.FleetStateCache;
+import com.example.NeuroFleetBackend.service.TelemetryIngestionService;
+
+import jakarta.annotation.PreDestroy;
+
+// Binary TCP listener for vehicle telemetry units, an alternative to one HTTP PATCH
+// with a JWT per ping. A device connects, answers the server's challenge with its
+// pre-shared key once, then streams signed 48-byte frames. One selector thread serves
+// every connection; frames go through the same validation and ingestion queue as the
+// HTTP endpoint. Off unless telemetry.gateway.enabled=true.
+@Component
+public class TelemetryGateway {
+
+    private static final Logger log = LoggerFactory.getLogger(TelemetryGateway.class);
+
+    private static final byte[] GREETING = { 'N', 'F', 'T', '1' };
+    private static final byte AUTH_OK = 1;
+    private static final byte AUTH_FAILED = 0;
+    private static final int READ_BUFFER_FRAMES = 64;
+
+    @Autowired
+    private TelemetryIngestionService telemetryIngestionService;
+
+    @Autowired
+    private FleetStateCache fleetState;
+
+    @Autowired
+    private DeviceKeyService deviceKeyService;
+
+    @Value("${telemetry.gateway.enabled:false}")
+    private boolean enabled;
+
+    @Value("${telemetry.gateway.port:7070}")
+    private int port;
+
+    @Value("${telemetry.gateway.max-connections:20000}")
+    private int maxConnections;
+
+    @Value("${telemetry.gateway.idle-timeout-ms:120000}")
+    private long idleTimeoutMs;
+
+    // Unauthenticated connections hold a slot too; without a deadline a client that never
+    // finishes the handshake could keep max-connections full
+    @Value("${telemetry.gateway.handshake-timeout-ms:5000}")
+    private long handshakeTimeoutMs;
+
+    private final SecureRandom random = new SecureRandom();
+
+    // Vehicles whose key was revoked or replaced; their connections are closed on the selector thread
+    private final Queue<Long> revoked = new ConcurrentLinkedQueue<>();
+
+    private final ByteBuffer reply = ByteBuffer.allocate(GREETING.length + FrameAuthenticator.CHALLENGE_LENGTH);
+
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicLong connectionsTotal = new AtomicLong();
+    private final AtomicLong framesAccepted = new AtomicLong();
+    private final AtomicLong framesRejected = new AtomicLong();
+    private final AtomicLong authFailures = new AtomicLong();
+    private final AtomicLong handshakeTimeouts = new AtomicLong();
+
+    private volatile boolean running;
+    private Selector selector;
+    private ServerSocketChannel server;
+    private Thread thread;
+
+    // State of one device connection, only touched by the selector thread
+    private static final class Connection {
+        final byte[] challenge;
+        final ByteBuffer in = ByteBuffer.allocate(TelemetryFrame.SIZE * READ_BUFFER_FRAMES);
+        final TelemetryFrame frame = new TelemetryFrame();
+        final long openedAt;
+        FrameAuthenticator authenticator;
+        long vehicleId;
+        long lastSequence = -1;
+        long lastReadAt;
+
+        Connection(byte[] challenge, long now) {
+            this.challenge = challenge;
+            this.openedAt = now;
+            this.lastReadAt = now;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        selector = Selector.open();
+        deviceKeyService.addRevocationListener(vehicleId -> {
+            revoked.add(vehicleId);
+            selector.wakeup();
+        });
+        server = ServerSocketChannel.open();
+        server.configureBlocking(false);
+        server.bind(new InetSocketAddress(port), 1024);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        thread = new Thread(this::run, "telemetry-gateway");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Telemetry gateway listening on port {}", port);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        thread.join(5000);
+    }
+
+    private void run() {
+        long lastIdleCheck = System.currentTimeMillis();
+        try {
+            while (running) {
+                selector.select(1000);
+                long now = System.currentTimeMillis();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        try {
+                            accept(now);
+                        } catch (IOException e) {
+                            log.warn("Gateway accept failed: {}", e.getMessage());
+                        }
+                    } else if (key.isReadable()) {
+                        read(key, now);
+                    }
+                }
+                closeRevoked();
+                if (now - lastIdleCheck >= 1000) {
+                    closeIdle(now);
+                    lastIdleCheck = now;
+                }
+            }
+        } catch (IOException e) {
+            log.error("Telemetry gateway stopped: {}", e.getMessage());
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+                // shutting down
+            }
+        }
+    }
+
+    private void accept(long now) throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        if (openConnections.get() >= maxConnections) {
+            channel.close();
+            return;
+        }
+        byte[] challenge = new byte[FrameAuthenticator.CHALLENGE_LENGTH];
+        random.nextBytes(challenge);
+        try {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            reply.clear();
+            reply.put(GREETING).put(challenge).flip();
+            // A fresh socket always has room for 20 bytes; anything else isn't worth waiting on
+            if (channel.write(reply) < reply.limit()) {
+                channel.close();
+                return;
+            }
+            channel.register(selector, SelectionKey.OP_READ, new Connection(challenge, now));
+        } catch (IOException e) {
+            channel.close();
+            return;
+        }
+        openConnections.incrementAndGet();
+        connectionsTotal.incrementAndGet();
+    }
+
+    private void read(SelectionKey key, long now) {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+        ByteBuffer in = connection.in;
+        try {
+            if (channel.read(in) < 0) {
+                close(key);
+                return;
+            }
+        } catch (IOException e) {
+            close(key);
+            return;
+        }
+        connection.lastReadAt = now;
+
+        byte[] buffer = in.array();
+        int end = in.position();
+        int off = 0;
+        while (end - off >= TelemetryFrame.SIZE) {
+            boolean keep = connection.authenticator == null
+                    ? authenticate(channel, connection, buffer, off)
+                    : handle(connection, buffer, off);
+            if (!keep) {
+                close(key);
+                return;
+            }
+            off += TelemetryFrame.SIZE;
+        }
+        // Keep a partial frame for the next read
+        in.position(off);
+        in.limit(end);
+        in.compact();
+    }
+
+    private boolean authenticate(SocketChannel channel, Connection connection, byte[] buffer, int off) {
+        boolean ok = false;
+        long vehicleId = FrameAuthenticator.authVehicleId(buffer, off);
+        byte[] deviceKey = buffer[off] == TelemetryFrame.TYPE_AUTH ? deviceKeyService.find(vehicleId) : null;
+        if (deviceKey != null && fleetState.contains(vehicleId)
+                && FrameAuthenticator.verifyAuth(deviceKey, connection.challenge, buffer, off)) {
+            connection.authenticator = new FrameAuthenticator(deviceKey, connection.challenge);
+            connection.vehicleId = vehicleId;
+            ok = true;
+        } else {
+            authFailures.incrementAndGet();
+            log.debug("Gateway handshake failed for vehicle {}", vehicleId);
+        }
+        reply.clear();
+        reply.put(ok ? AUTH_OK : AUTH_FAILED).flip();
+        try {
+            channel.write(reply);
+        } catch (IOException e) {
+            return false;
+        }
+        return ok;
+    }
+
+    // Returns false when the connection has to be dropped
+    private boolean handle(Connection connection, byte[] buffer, int off) {
+        if (buffer[off] != TelemetryFrame.TYPE_TELEMETRY || !connection.authenticator.verify(buffer, off)) {
+            authFailures.incrementAndGet();
+            return false;
+        }
+        TelemetryFrame frame = connection.frame;
+        frame.decode(buffer, off);
+        // Sequence numbers only go up within a session, so a recorded frame can't be sent again
+        if (frame.getSequence() <= connection.lastSequence) {
+            authFailures.incrementAndGet();
+            return false;
+        }
+        connection.lastSequence = frame.getSequence();
+
+        if (!fleetState.contains(connection.vehicleId)) {
+            framesRejected.incrementAndGet();
+            return false;
+        }
+        TelemetryUpdate update = frame.toUpdate(connection.vehicleId);
+        if (telemetryIngestionService.validate(update) != null) {
+            telemetryIngestionService.recordRejected(1);
+            framesRejected.incrementAndGet();
+            return true;
+        }
+        // A full queue is counted by the ingestion service; the device just sends its next position
+        if (telemetryIngestionService.offer(update)) {
+            framesAccepted.incrementAndGet();
+        } else {
+            framesRejected.incrementAndGet();
+        }
+        return true;
+    }
+
+    private void closeRevoked() {
+        Long vehicleId;
+        while ((vehicleId = revoked.poll()) != null) {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Connection connection && connection.vehicleId == vehicleId) {
+                    close(key);
+                }
+            }
+        }
+    }
+
+    private void closeIdle(long now) {
+        for (SelectionKey key : selector.keys()) {
+            if (!(key.attachment() instanceof Connection connection)) {
+                continue;
+            }
+            if (connection.authenticator == null && now - connection.openedAt > handshakeTimeoutMs) {
+                handshakeTimeouts.incrementAndGet();
+                close(key);
+            } else if (now - connection.lastReadAt > idleTimeoutMs) {
+                close(key);
+            }
+        }
+    }
+
+    private void close(SelectionKey key) {
+        if (key.isValid()) {
+            openConnections.decrementAndGet();
+        }
+        closeQuietly(key);
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+            // already gone
+        }
+    }
+
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    public long getConnectionsTotal() {
+        return connectionsTotal.get();
+    }
+
+    public long getFramesAccepted() {
+        return framesAccepted.get();
+    }
+
+    public long getFramesRejected() {
+        return framesRejected.get();
+    }
+
+    public long getAuthFailures() {
+        return authFailures.get();
+    }
+
+    public long getHandshakeTimeouts() {
+        return handshakeTimeouts.get();
+    }
+}
@@ -3,19 +3,30 @@ package com.example.NeuroFleetBackend.model;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    // Keyset pagination: newest first, optionally narrowed by status or user
+    @Index(name = "idx_bookings_time", columnList = "booking_time, id"),
+    @Index(name = "idx_bookings_status_time", columnList = "status, booking_time, id"),
+    @Index(name = "idx_bookings_user_time", columnList = "user_id, booking_time, id")
+})
 public class Booking {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @ManyToOne
-    @JoinColumn(name = "vehicle_id", nullable = false)
+    // LAZY: listings read BookingView projections instead of entity graphs.
+    // Null while the booking waits for the dispatcher to pick a vehicle
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "vehicle_id")
     private Vehicle vehicle;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
@@ -33,11 +44,25 @@ public class Booking {
     private String pickupLocation;
     private String dropLocation;
     
+    // Where the dispatcher measures vehicle distance from
+    private Double pickupLatitude;
+    private Double pickupLongitude;
+    
     private Double estimatedCost;
     private Double actualCost;
     
     private String remarks;
     
+    // Still IN_PROGRESS after its end time; set by BookingLifecycleService
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private boolean overdue;
+    
+    @Version
+    @ColumnDefault("0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+    
     // Constructors
     public Booking() {}
     
@@ -126,6 +151,22 @@ public class Booking {
         this.dropLocation = dropLocation;
     }
     
+    public Double getPickupLatitude() {
+        return pickupLatitude;
+    }
+    
+    public void setPickupLatitude(Double pickupLatitude) {
+        this.pickupLatitude = pickupLatitude;
+    }
+    
+    public Double getPickupLongitude() {
+        return pickupLongitude;
+    }
+    
+    public void setPickupLongitude(Double pickupLongitude) {
+        this.pickupLongitude = pickupLongitude;
+    }
+    
     public Double getEstimatedCost() {
         return estimatedCost;
     }
@@ -150,6 +191,22 @@ public class Booking {
         this.remarks = remarks;
     }
     
+    public boolean isOverdue() {
+        return overdue;
+    }
+    
+    public void setOverdue(boolean overdue) {
+        this.overdue = overdue;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     @PrePersist
     protected void onCreate() {
         this.bookingTime = LocalDateTime.now();
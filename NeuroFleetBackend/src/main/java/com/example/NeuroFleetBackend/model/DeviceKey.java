@@ -0,0 +1,53 @@
+package com.example.NeuroFleetBackend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Pre-shared key of a vehicle's telemetry unit for the binary gateway. Stored as is
+// (base64) because the gateway needs the key itself to check HMACs; only issued once.
+@Entity
+@Table(name = "device_keys")
+public class DeviceKey {
+
+    @Id
+    @Column(name = "vehicle_id")
+    private Long vehicleId;
+
+    @Column(nullable = false, length = 64)
+    private String secret;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public DeviceKey() {}
+
+    public DeviceKey(Long vehicleId, String secret, LocalDateTime createdAt) {
+        this.vehicleId = vehicleId;
+        this.secret = secret;
+        this.createdAt = createdAt;
+    }
+
+    public Long getVehicleId() {
+        return vehicleId;
+    }
+
+    public void setVehicleId(Long vehicleId) {
+        this.vehicleId = vehicleId;
+    }
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
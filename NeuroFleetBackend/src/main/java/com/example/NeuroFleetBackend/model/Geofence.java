@@ -0,0 +1,114 @@
+package com.example.NeuroFleetBackend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Circle (center and radius) or polygon (lat/lon vertices, not closed) that vehicles
+// are checked against on every position update, see GeofenceService
+@Entity
+@Table(name = "geofences")
+public class Geofence {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    // DEPOT, CITY, RESTRICTED or OTHER
+    @Column(nullable = false)
+    private String category;
+
+    // CIRCLE or POLYGON
+    @Column(nullable = false)
+    private String shape;
+
+    // Circle center
+    private Double latitude;
+    private Double longitude;
+    private Double radiusMeters;
+
+    @Convert(converter = GeofencePointsConverter.class)
+    @Column(columnDefinition = "TEXT")
+    private List<double[]> points;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public Geofence() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getShape() {
+        return shape;
+    }
+
+    public void setShape(String shape) {
+        this.shape = shape;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Double getRadiusMeters() {
+        return radiusMeters;
+    }
+
+    public void setRadiusMeters(Double radiusMeters) {
+        this.radiusMeters = radiusMeters;
+    }
+
+    public List<double[]> getPoints() {
+        return points;
+    }
+
+    public void setPoints(List<double[]> points) {
+        this.points = points;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
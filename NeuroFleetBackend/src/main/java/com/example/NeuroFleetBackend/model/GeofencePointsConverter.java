@@ -0,0 +1,43 @@
+package com.example.NeuroFleetBackend.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Polygon vertices as "lat lon,lat lon,..." in one text column; a fence is always read
+// and written whole, so a child table would only add a join
+@Converter
+public class GeofencePointsConverter implements AttributeConverter<List<double[]>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(List<double[]> points) {
+        if (points == null || points.isEmpty()) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder(points.size() * 24);
+        for (double[] point : points) {
+            if (text.length() > 0) {
+                text.append(',');
+            }
+            text.append(point[0]).append(' ').append(point[1]);
+        }
+        return text.toString();
+    }
+
+    @Override
+    public List<double[]> convertToEntityAttribute(String text) {
+        List<double[]> points = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return points;
+        }
+        for (String pair : text.split(",")) {
+            int space = pair.indexOf(' ');
+            points.add(new double[] {
+                Double.parseDouble(pair.substring(0, space)), Double.parseDouble(pair.substring(space + 1))
+            });
+        }
+        return points;
+    }
+}
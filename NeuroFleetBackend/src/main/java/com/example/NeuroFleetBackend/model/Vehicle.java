@@ -3,13 +3,26 @@ package com.example.NeuroFleetBackend.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
-@Table(name = "vehicles")
+@Table(name = "vehicles", indexes = {
+    // Delta sync scans vehicles changed after a point in time (see VehicleSyncService)
+    @Index(name = "idx_vehicles_last_updated", columnList = "last_updated, id")
+})
+@DynamicUpdate // only write changed columns so status updates don't overwrite batched telemetry
 public class Vehicle {
+
+    // Ids are handed out in blocks from the id_generators table so inserts can be JDBC
+    // batched; IDENTITY needs the generated key back after every single insert
+    public static final int ID_BLOCK_SIZE = 500;
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "vehicle_ids")
+    @TableGenerator(name = "vehicle_ids", table = "id_generators", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "vehicles", allocationSize = ID_BLOCK_SIZE)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -39,6 +52,12 @@ public class Vehicle {
     @Column(name = "last_updated")
     private java.time.LocalDateTime lastUpdated;
 
+    // Optimistic lock; bumped by every booking that claims this vehicle
+    @Version
+    @ColumnDefault("0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     // Constructors
     public Vehicle() {}
 
@@ -147,6 +166,14 @@ public class Vehicle {
         this.lastUpdated = lastUpdated;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @PrePersist
     @PreUpdate
     protected void onUpdate() {
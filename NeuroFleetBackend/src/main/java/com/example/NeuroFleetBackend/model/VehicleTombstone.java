@@ -0,0 +1,55 @@
+package com.example.NeuroFleetBackend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Left behind when a vehicle is deleted so delta sync clients learn about the removal.
+// Purged after sync.tombstone-retention-days; older sync tokens must reload the list.
+@Entity
+@Table(name = "vehicle_tombstones", indexes = {
+    @Index(name = "idx_vehicle_tombstones_deleted_at", columnList = "deleted_at")
+})
+public class VehicleTombstone {
+
+    @Id
+    @Column(name = "vehicle_id")
+    private Long vehicleId;
+
+    @Column(nullable = false)
+    private String vehicleNumber;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public VehicleTombstone() {}
+
+    public VehicleTombstone(Long vehicleId, String vehicleNumber, LocalDateTime deletedAt) {
+        this.vehicleId = vehicleId;
+        this.vehicleNumber = vehicleNumber;
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getVehicleId() {
+        return vehicleId;
+    }
+
+    public void setVehicleId(Long vehicleId) {
+        this.vehicleId = vehicleId;
+    }
+
+    public String getVehicleNumber() {
+        return vehicleNumber;
+    }
+
+    public void setVehicleNumber(String vehicleNumber) {
+        this.vehicleNumber = vehicleNumber;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
@@ -1,19 +1,72 @@
 package com.example.NeuroFleetBackend.repository;
 
+import com.example.NeuroFleetBackend.dto.BookingView;
 import com.example.NeuroFleetBackend.model.Booking;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     
-    List<Booking> findByUserId(Long userId);
+    // Booking, vehicle and user columns in a single join, for the BookingView constructor;
+    // the vehicle join is outer because undispatched bookings have none
+    String VIEW_SELECT = "SELECT new com.example.NeuroFleetBackend.dto.BookingView("
+            + "b.id, b.bookingTime, b.startTime, b.endTime, b.status, b.overdue, b.pickupLocation, b.dropLocation, "
+            + "b.pickupLatitude, b.pickupLongitude, b.estimatedCost, b.actualCost, b.remarks, "
+            + "v.id, v.vehicleNumber, v.model, v.type, v.status, u.id, u.username, u.role) "
+            + "FROM Booking b LEFT JOIN b.vehicle v JOIN b.user u ";
     
-    List<Booking> findByVehicleId(Long vehicleId);
+    // Keyset page in (bookingTime DESC, id DESC) order; every filter is optional and
+    // afterTime/afterId is the last row of the previous page
+    @Query(VIEW_SELECT + "WHERE (:status IS NULL OR b.status = :status) "
+            + "AND (:userId IS NULL OR u.id = :userId) "
+            + "AND (:vehicleId IS NULL OR v.id = :vehicleId) "
+            + "AND (:from IS NULL OR b.startTime >= :from) "
+            + "AND (:to IS NULL OR b.startTime < :to) "
+            + "AND (:afterTime IS NULL OR b.bookingTime < :afterTime "
+            + "OR (b.bookingTime = :afterTime AND b.id < :afterId)) "
+            + "ORDER BY b.bookingTime DESC, b.id DESC")
+    List<BookingView> findViewPage(@Param("status") String status, @Param("userId") Long userId,
+                           @Param("vehicleId") Long vehicleId, @Param("from") LocalDateTime from,
+                           @Param("to") LocalDateTime to, @Param("afterTime") LocalDateTime afterTime,
+                           @Param("afterId") Long afterId, Limit limit);
     
-    List<Booking> findByStatus(String status);
+    @Query(VIEW_SELECT + "WHERE b.id = :id")
+    Optional<BookingView> findViewById(@Param("id") Long id);
     
-    List<Booking> findByUserIdAndStatus(Long userId, String status);
+    // For writes that go on to build a BookingView from the entity
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.vehicle JOIN FETCH b.user WHERE b.id = :id")
+    Optional<Booking> findDetailById(@Param("id") Long id);
+    
+    // Dispatch queue: pending bookings without a vehicle that start before the horizon, oldest first
+    @Query("SELECT b FROM Booking b WHERE b.status = 'PENDING' AND b.vehicle IS NULL "
+            + "AND b.pickupLatitude IS NOT NULL AND b.pickupLongitude IS NOT NULL AND b.startTime <= :until "
+            + "ORDER BY b.bookingTime, b.id")
+    List<Booking> findUndispatched(@Param("until") LocalDateTime until, Limit limit);
+    
+    List<Booking> findByStatusIn(Collection<String> statuses);
+    
+    // Lifecycle timers for active bookings, loaded at boot in id-keyset pages:
+    // {id, status, bookingTime, startTime, endTime, overdue}
+    @Query("SELECT b.id, b.status, b.bookingTime, b.startTime, b.endTime, b.overdue FROM Booking b "
+            + "WHERE b.status IN :statuses AND b.id > :afterId ORDER BY b.id")
+    List<Object[]> findLifecyclePage(@Param("statuses") Collection<String> statuses,
+                                     @Param("afterId") Long afterId, Limit limit);
+    
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.vehicle WHERE b.id IN :ids")
+    List<Booking> findWithVehicleByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT b.status, COUNT(b) FROM Booking b GROUP BY b.status")
+    List<Object[]> countGroupByStatus();
+    
+    @Query("SELECT b.user.id, b.status, COUNT(b) FROM Booking b GROUP BY b.user.id, b.status")
+    List<Object[]> countGroupByUserAndStatus();
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.NeuroFleetBackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.NeuroFleetBackend.model.DeviceKey;
+
+@Repository
+public interface DeviceKeyRepository extends JpaRepository<DeviceKey, Long> {
+
+    @Modifying
+    @Query("DELETE FROM DeviceKey k WHERE k.vehicleId = :vehicleId")
+    int deleteByVehicleId(@Param("vehicleId") Long vehicleId);
+}
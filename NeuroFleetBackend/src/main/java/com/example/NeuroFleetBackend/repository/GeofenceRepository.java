@@ -0,0 +1,10 @@
+package com.example.NeuroFleetBackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.NeuroFleetBackend.model.Geofence;
+
+@Repository
+public interface GeofenceRepository extends JpaRepository<Geofence, Long> {
+}
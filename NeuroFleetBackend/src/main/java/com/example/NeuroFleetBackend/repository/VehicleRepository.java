@@ -3,9 +3,16 @@ package com.example.NeuroFleetBackend.repository;
 
 
 import com.example.NeuroFleetBackend.model.Vehicle;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,5 +23,42 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
     
     Optional<Vehicle> findByVehicleNumber(String vehicleNumber);
     
+    List<Vehicle> findByVehicleNumberIn(Collection<String> vehicleNumbers);
+    
     List<Vehicle> findByType(String type);
+    
+    // Keyset page in id order, used until the in-memory fleet state is warm
+    @Query("SELECT v FROM Vehicle v WHERE (:afterId IS NULL OR v.id > :afterId) "
+            + "AND (:status IS NULL OR v.status = :status) "
+            + "AND (:type IS NULL OR v.type = :type) ORDER BY v.id")
+    List<Vehicle> findPage(@Param("afterId") Long afterId, @Param("status") String status,
+                           @Param("type") String type, Limit limit);
+    
+    // Vehicles changed at or after a point in (lastUpdated, id) order, for delta sync
+    @Query("SELECT v FROM Vehicle v WHERE v.lastUpdated > :fromTime "
+            + "OR (v.lastUpdated = :fromTime AND v.id > :afterId) ORDER BY v.lastUpdated, v.id")
+    List<Vehicle> findChangedAfter(@Param("fromTime") LocalDateTime fromTime,
+                                   @Param("afterId") Long afterId, Limit limit);
+    
+    // Bumps the version on commit even when the vehicle row itself is unchanged,
+    // so two nodes booking the same vehicle cannot both commit
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT v FROM Vehicle v WHERE v.id = :id")
+    Optional<Vehicle> findForBooking(@Param("id") Long id);
+    
+    @Query("SELECT v.status, COUNT(v) FROM Vehicle v GROUP BY v.status")
+    List<Object[]> countGroupByStatus();
+    
+    // Haversine distance in SQL; only used until the in-memory fleet state is warm
+    @Query(value = "SELECT * FROM vehicles v WHERE v.status = 'AVAILABLE' "
+            + "AND v.latitude IS NOT NULL AND v.longitude IS NOT NULL "
+            + "AND (:type IS NULL OR v.type = :type) "
+            + "AND 2 * 6371.0088 * ASIN(SQRT(POWER(SIN(RADIANS(v.latitude - :lat) / 2), 2) "
+            + "+ COS(RADIANS(:lat)) * COS(RADIANS(v.latitude)) * POWER(SIN(RADIANS(v.longitude - :lon) / 2), 2))) <= :radiusKm "
+            + "ORDER BY POWER(SIN(RADIANS(v.latitude - :lat) / 2), 2) "
+            + "+ COS(RADIANS(:lat)) * COS(RADIANS(v.latitude)) * POWER(SIN(RADIANS(v.longitude - :lon) / 2), 2) "
+            + "LIMIT :limit", nativeQuery = true)
+    List<Vehicle> findAvailableNearby(@Param("lat") double lat, @Param("lon") double lon,
+                                      @Param("radiusKm") double radiusKm, @Param("type") String type,
+                                      @Param("limit") int limit);
 }
\ No newline at end of file
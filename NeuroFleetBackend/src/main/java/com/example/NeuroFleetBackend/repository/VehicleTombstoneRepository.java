@@ -0,0 +1,23 @@
+package com.example.NeuroFleetBackend.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.NeuroFleetBackend.model.VehicleTombstone;
+
+@Repository
+public interface VehicleTombstoneRepository extends JpaRepository<VehicleTombstone, Long> {
+
+    @Query("SELECT t.vehicleId FROM VehicleTombstone t WHERE t.deletedAt >= :from ORDER BY t.vehicleId")
+    List<Long> findVehicleIdsDeletedSince(@Param("from") LocalDateTime from);
+
+    @Modifying
+    @Query("DELETE FROM VehicleTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
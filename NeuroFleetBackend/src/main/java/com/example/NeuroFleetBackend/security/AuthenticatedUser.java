@@ -0,0 +1,44 @@
+package com.example.NeuroFleetBackend.security;
+
+import java.security.Principal;
+
+// Identity taken from a verified JWT and stored as the SecurityContext principal.
+// id is null for tokens issued before the uid claim existed.
+public final class AuthenticatedUser implements Principal {
+
+    private final Long id;
+    private final String username;
+    private final String role;
+
+    public AuthenticatedUser(Long id, String username, String role) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public AuthenticatedUser withId(Long id) {
+        return new AuthenticatedUser(id, username, role);
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return username + " (" + role + ")";
+    }
+}
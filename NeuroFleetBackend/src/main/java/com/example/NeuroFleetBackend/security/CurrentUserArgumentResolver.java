@@ -0,0 +1,48 @@
+package com.example.NeuroFleetBackend.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import com.example.NeuroFleetBackend.model.User;
+import com.example.NeuroFleetBackend.service.UserCache;
+
+// Resolves @CurrentUser parameters from the SecurityContext, so controllers never
+// read or re-parse the Authorization header themselves
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Autowired
+    private UserCache userCache;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && AuthenticatedUser.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser)) {
+            throw new RuntimeException("User not found");
+        }
+
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+        if (principal.getId() != null) {
+            return principal;
+        }
+
+        // Older tokens carry no uid claim; look the id up once for this request
+        User user = userCache.findByUsername(principal.getUsername())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return principal.withId(user.getId());
+    }
+}
@@ -6,6 +6,8 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,6 +21,8 @@ import java.util.Collections;
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtFilter.class);
+
     private final JwtUtil jwtUtil;
 
     public JwtFilter(JwtUtil jwtUtil) {
@@ -33,22 +37,28 @@ public class JwtFilter extends OncePerRequestFilter {
 
     	
         String authHeader = request.getHeader("Authorization");
-
+        String token = null;
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            String role = jwtUtil.extractRole(token);
+            token = authHeader.substring(7);
+        } else if (request.getRequestURI().startsWith("/api/stream/")) {
+            // EventSource cannot send headers, so streams also accept the token as a query parameter
+            token = request.getParameter("access_token");
+        }
+
+        if (token != null) {
+            AuthenticatedUser user = parse(token);
             
             //now for that role it will validate the token 
            // and if no existing user has been authenticated yet for this request
-            if (role != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            if (user != null && user.getRole() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 
-            	// creates a spring security authentication 1. Principal i.e. role(User) 2. Credentials ( here it is null because we have already authenticted via JWT) 
+            	// creates a spring security authentication 1. Principal i.e. the verified user (id, username, role) 2. Credentials ( here it is null because we have already authenticted via JWT) 
             	//3. authorities : means spring will recognize what the user can access(hasAuthority("User")
             	UsernamePasswordAuthenticationToken authToken =
                     new UsernamePasswordAuthenticationToken(
-                        role, 
+                        user, 
                         null, 
-                        Collections.singleton(new SimpleGrantedAuthority(role)) //   .requestMatchers("/api/products").hasAuthority("USER") defined it securityconfig
+                        Collections.singleton(new SimpleGrantedAuthority(user.getRole())) //   .requestMatchers("/api/products").hasAuthority("USER") defined it securityconfig
                     );
             	
             	//sets the user authentication in the spring security context
@@ -61,4 +71,13 @@ public class JwtFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private AuthenticatedUser parse(String token) {
+        try {
+            return jwtUtil.parse(token);
+        } catch (Exception e) {
+            log.debug("Invalid token: {}", e.getMessage());
+            return null;
+        }
+    }
 }
@@ -4,68 +4,182 @@ package com.example.NeuroFleetBackend.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 public class JwtUtil {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtUtil.class);
+
     private static final String SECRET = "mySuperSecureJwtKeyForFleetManagementSystem2024!!";
 
+    // Key and parser are immutable and thread-safe, so build them once
+    private final Key signingKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+    // Verified tokens -> principal, dropped when the token expires
+    private final ConcurrentHashMap<String, CachedToken> verified = new ConcurrentHashMap<>();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong cacheEvictions = new AtomicLong();
+    // Time spent checking signatures, one check per cache miss
+    private final AtomicLong verifyNanos = new AtomicLong();
+
+    @Value("${jwt.cache.max-entries:10000}")
+    private int maxCachedTokens = 10000;
+
     private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes());
+        return signingKey;
     }
 
     public String generateToken(String username, String role) {
-        return Jwts.builder()
+        return generateToken(null, username, role);
+    }
+
+    public String generateToken(Long userId, String username, String role) {
+        JwtBuilder builder = Jwts.builder()
                 .claim("username", username)
-                .claim("role", role)
+                .claim("role", role);
+        if (userId != null) {
+            builder.claim("uid", userId);
+        }
+        return builder
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + 28800000)) // 8 hours
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    // Verified identity for the token, or null if it is invalid or expired.
+    // The signature is only checked the first time a token is seen.
+    public AuthenticatedUser parse(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        CachedToken cached = verified.get(token);
+        if (cached != null) {
+            if (cached.expiresAt > System.currentTimeMillis()) {
+                cacheHits.incrementAndGet();
+                return cached.user;
+            }
+            verified.remove(token, cached);
+            return null;
+        }
+        cacheMisses.incrementAndGet();
+
+        Claims claims;
+        long started = System.nanoTime();
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } finally {
+            verifyNanos.addAndGet(System.nanoTime() - started);
+        }
+        AuthenticatedUser user = new AuthenticatedUser(
+                claims.get("uid", Long.class),
+                claims.get("username", String.class),
+                claims.get("role", String.class));
+
+        long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+        if (verified.size() >= maxCachedTokens) {
+            evict();
+        }
+        verified.put(token, new CachedToken(user, expiresAt));
+        return user;
+    }
+
     public String extractRole(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return claims.get("role", String.class);
+            return parse(token).getRole();
         } catch (Exception e) {
-            System.err.println("Error extracting role from token: " + e.getMessage());
+            log.debug("Error extracting role from token: {}", e.getMessage());
             return null;
         }
     }
-    
+
     public String extractUsername(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return claims.get("username", String.class);
+            return parse(token).getUsername();
         } catch (Exception e) {
-            System.err.println("Error extracting username from token: " + e.getMessage());
+            log.debug("Error extracting username from token: {}", e.getMessage());
             return null;
         }
     }
-    
+
     public boolean isTokenValid(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            return parse(token) != null;
         } catch (JwtException | IllegalArgumentException e) {
-            System.err.println("Invalid token: " + e.getMessage());
+            log.debug("Invalid token: {}", e.getMessage());
             return false;
         }
     }
-}
\ No newline at end of file
+
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    public long getVerifyNanos() {
+        return verifyNanos.get();
+    }
+
+    public int getCacheSize() {
+        return verified.size();
+    }
+
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", verified.size());
+        stats.put("maxSize", maxCachedTokens);
+        stats.put("hits", cacheHits.get());
+        stats.put("misses", cacheMisses.get());
+        stats.put("evictions", cacheEvictions.get());
+        return stats;
+    }
+
+    // Drop expired tokens first; if that is not enough, drop arbitrary entries down to 3/4 capacity
+    private void evict() {
+        long now = System.currentTimeMillis();
+        verified.entrySet().removeIf(entry -> {
+            boolean expired = entry.getValue().expiresAt <= now;
+            if (expired) {
+                cacheEvictions.incrementAndGet();
+            }
+            return expired;
+        });
+
+        int target = maxCachedTokens * 3 / 4;
+        Iterator<String> tokens = verified.keySet().iterator();
+        while (verified.size() > target && tokens.hasNext()) {
+            tokens.next();
+            tokens.remove();
+            cacheEvictions.incrementAndGet();
+        }
+    }
+
+    private static final class CachedToken {
+
+        private final AuthenticatedUser user;
+        private final long expiresAt;
+
+        CachedToken(AuthenticatedUser user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.example.NeuroFleetBackend.security;
 
 import java.util.List;
 
+import jakarta.servlet.DispatcherType;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -36,21 +38,34 @@ public class SecurityConfig {
                 config.setAllowedOrigins(List.of("http://localhost:3002"));
                 config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
                 config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
-                config.setExposedHeaders(List.of("Authorization"));
+                config.setExposedHeaders(List.of("Authorization", "X-Next-Cursor"));
                 config.setAllowCredentials(true);
                 return config;
             }))
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
+                // Async re-dispatches of already authorized streaming responses (SSE, exports)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                
                 // Public endpoints
                 .requestMatchers("/api/auth/login", "/api/auth/register", "/h2-console/**").permitAll()
                 
+                // Health checks and the Prometheus scrape carry no JWT; other actuator endpoints are admin only
+                .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                .requestMatchers("/actuator/**").hasAuthority("ADMIN")
+                
+                // Nearby search is also open to customers picking a vehicle
+                .requestMatchers("/api/vehicles/nearby").hasAnyAuthority("ADMIN", "FLEET_MANAGER", "DRIVER", "CUSTOMER")
+                
                 // Vehicle endpoints - role-based access
                 .requestMatchers("/api/vehicles/**").hasAnyAuthority("ADMIN", "FLEET_MANAGER", "DRIVER")
                 
                 // Booking endpoints - customers, drivers, and admins can book
                 .requestMatchers("/api/bookings/**").hasAnyAuthority("ADMIN", "FLEET_MANAGER", "CUSTOMER", "DRIVER")
                 
+                // Live fleet stream
+                .requestMatchers("/api/stream/**").hasAnyAuthority("ADMIN", "FLEET_MANAGER", "DRIVER")
+                
                 // Dashboard endpoints
                 .requestMatchers("/api/dashboard/**").authenticated()
                 
@@ -0,0 +1,18 @@
+package com.example.NeuroFleetBackend.service;
+
+import org.springframework.http.HttpStatus;
+
+// Booking rule violations, carrying the status the controller should answer with
+public class BookingException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public BookingException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.NeuroFleetBackend.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Streams bookings straight from a forward-only JDBC cursor to the response, one row
+// at a time, so memory use does not depend on how many bookings are exported.
+// With useCursorFetch=true MySQL returns fetch-size rows per round trip.
+@Service
+public class BookingExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingExportService.class);
+
+    public static final String[] COLUMNS = {
+        "id", "bookingTime", "startTime", "endTime", "status",
+        "vehicleId", "vehicleNumber", "userId", "username",
+        "pickupLocation", "dropLocation", "estimatedCost", "actualCost", "remarks"
+    };
+
+    private static final String EXPORT_SQL =
+            "SELECT b.id, b.booking_time, b.start_time, b.end_time, b.status, "
+            + "b.vehicle_id, v.vehicle_number, b.user_id, u.username, "
+            + "b.pickup_location, b.drop_location, b.estimated_cost, b.actual_cost, b.remarks "
+            + "FROM bookings b LEFT JOIN vehicles v ON v.id = b.vehicle_id JOIN users u ON u.id = b.user_id "
+            + "WHERE b.start_time >= ? AND b.start_time < ? ORDER BY b.id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${export.fetch-size:1000}")
+    private int fetchSize;
+
+    // Writes one JSON object per line; returns the number of rows written
+    public long exportNdjson(LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        JsonGenerator json = objectMapper.getFactory().createGenerator(buffered);
+        long rows = stream(from, to, rs -> {
+            json.writeStartObject();
+            json.writeNumberField(COLUMNS[0], rs.getLong(1));
+            for (int i = 2; i <= COLUMNS.length; i++) {
+                writeJsonField(json, COLUMNS[i - 1], rs.getObject(i));
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        });
+        json.flush();
+        buffered.flush();
+        return rows;
+    }
+
+    // Writes RFC 4180 CSV with a header row; returns the number of data rows written
+    public long exportCsv(LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        buffered.write((String.join(",", COLUMNS) + "\r\n").getBytes(StandardCharsets.UTF_8));
+        StringBuilder line = new StringBuilder(256);
+        long rows = stream(from, to, rs -> {
+            line.setLength(0);
+            for (int i = 1; i <= COLUMNS.length; i++) {
+                if (i > 1) {
+                    line.append(',');
+                }
+                appendCsv(line, rs.getObject(i));
+            }
+            line.append("\r\n");
+            buffered.write(line.toString().getBytes(StandardCharsets.UTF_8));
+        });
+        buffered.flush();
+        return rows;
+    }
+
+    private long stream(LocalDateTime from, LocalDateTime to, RowWriter writer) {
+        long[] rows = new long[1];
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setTimestamp(1, Timestamp.valueOf(from));
+                statement.setTimestamp(2, Timestamp.valueOf(to));
+                return statement;
+            }, rs -> {
+                try {
+                    writer.write(rs);
+                } catch (IOException e) {
+                    // Client went away; unwinding here closes the cursor and frees the connection
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            log.info("Booking export aborted by client after {} rows", rows[0]);
+            throw e;
+        }
+        return rows[0];
+    }
+
+    private static void writeJsonField(JsonGenerator json, String name, Object value) throws IOException {
+        if (value == null) {
+            json.writeNullField(name);
+        } else if (value instanceof Number) {
+            json.writeFieldName(name);
+            if (value instanceof Double || value instanceof Float) {
+                json.writeNumber(((Number) value).doubleValue());
+            } else {
+                json.writeNumber(((Number) value).longValue());
+            }
+        } else {
+            json.writeStringField(name, text(value));
+        }
+    }
+
+    private static void appendCsv(StringBuilder line, Object value) {
+        if (value == null) {
+            return;
+        }
+        String text = text(value);
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(text);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    // Timestamps as ISO-8601 local date-times, matching the JSON API
+    private static String text(Object value) {
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime().toString();
+        }
+        if (value instanceof LocalDateTime) {
+            return value.toString();
+        }
+        return String.valueOf(value);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+}
@@ -0,0 +1,328 @@
+package com.example.NeuroFleetBackend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.NeuroFleetBackend.model.Booking;
+import com.example.NeuroFleetBackend.model.Vehicle;
+import com.example.NeuroFleetBackend.repository.BookingRepository;
+
+import jakarta.annotation.PostConstruct;
+
+// Time-driven booking transitions, without polling the bookings table:
+//   PENDING      -> CANCELLED   not confirmed within pending-expiry-minutes of its start
+//   CONFIRMED    -> IN_PROGRESS at its start time
+//   IN_PROGRESS  -> overdue     still running at its end time (flag only)
+// Each active booking has a timer in a TimingWheel for its next deadline; the wheel is
+// filled from the table at boot and by BookingService on every write. A due booking is
+// re-read and moved as far as the clock allows, so a stale timer (booking cancelled or
+// confirmed since) does nothing. Due bookings are applied batch-size at a time, one
+// transaction per batch, with @Version checks against concurrent writers.
+@Service
+public class BookingLifecycleService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingLifecycleService.class);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ReservationEngine reservationEngine;
+
+    @Autowired
+    private FleetStateCache fleetState;
+
+    @Autowired
+    private FleetCounters counters;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${booking.lifecycle.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${booking.lifecycle.pending-expiry-minutes:15}")
+    private long pendingExpiryMinutes;
+
+    @Value("${booking.lifecycle.batch-size:500}")
+    private int batchSize;
+
+    @Value("${booking.lifecycle.reload-page-size:10000}")
+    private int reloadPageSize;
+
+    @Value("${booking.lifecycle.retry-delay-ms:5000}")
+    private long retryDelayMs;
+
+    @Value("${booking.max-attempts:3}")
+    private int maxAttempts;
+
+    private TimingWheel wheel;
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    private volatile boolean loaded;
+
+    // Booking ids due this tick; only touched by the scheduler thread
+    private long[] due = new long[1024];
+    private int dueCount;
+
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong overdue = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+
+    // What one batch changed, published to the in-memory views after commit
+    private static final class Change {
+        final Long bookingId;
+        final Long userId;
+        final String oldStatus;
+        final String newStatus;
+        final Long vehicleId;
+        final String vehicleStatus;
+        final boolean flaggedOverdue;
+        final LocalDateTime endTime;
+
+        Change(Booking booking, String oldStatus, String vehicleStatus, boolean flaggedOverdue) {
+            this.bookingId = booking.getId();
+            this.userId = booking.getUser().getId();
+            this.oldStatus = oldStatus;
+            this.newStatus = booking.getStatus();
+            this.vehicleId = booking.getVehicle() == null ? null : booking.getVehicle().getId();
+            this.vehicleStatus = vehicleStatus;
+            this.flaggedOverdue = flaggedOverdue;
+            this.endTime = booking.getEndTime();
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        wheel = new TimingWheel(tickMs, System.currentTimeMillis(), 1024);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        long begun = System.currentTimeMillis();
+        long afterId = 0;
+        int total = 0;
+        while (true) {
+            List<Object[]> page = bookingRepository.findLifecyclePage(ReservationEngine.ACTIVE_STATUSES, afterId,
+                    Limit.of(reloadPageSize));
+            wheelLock.lock();
+            try {
+                for (Object[] row : page) {
+                    schedule((Long) row[0], (String) row[1], (LocalDateTime) row[2], (LocalDateTime) row[3],
+                            (LocalDateTime) row[4], (Boolean) row[5]);
+                }
+            } finally {
+                wheelLock.unlock();
+            }
+            total += page.size();
+            if (page.size() < reloadPageSize) {
+                break;
+            }
+            afterId = (Long) page.get(page.size() - 1)[0];
+        }
+        loaded = true;
+        log.info("Booking lifecycle loaded {} active bookings in {} ms", total, System.currentTimeMillis() - begun);
+    }
+
+    // Called after every committed booking write, with the booking as written
+    public void track(Booking booking) {
+        wheelLock.lock();
+        try {
+            schedule(booking.getId(), booking.getStatus(), booking.getBookingTime(), booking.getStartTime(),
+                    booking.getEndTime(), booking.isOverdue());
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    // Caller holds wheelLock
+    private void schedule(long id, String status, LocalDateTime bookingTime, LocalDateTime startTime,
+                          LocalDateTime endTime, boolean isOverdue) {
+        switch (status) {
+            case "PENDING" -> wheel.schedule(id, ReservationEngine.toMillis(expiresAt(bookingTime, startTime), null));
+            case "CONFIRMED" -> wheel.schedule(id, ReservationEngine.toMillis(startTime, null));
+            case "IN_PROGRESS" -> {
+                if (endTime != null && !isOverdue) {
+                    wheel.schedule(id, ReservationEngine.toMillis(endTime, null));
+                }
+            }
+            default -> {
+                // finished bookings have nothing left to time
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.lifecycle.tick-ms:1000}")
+    public void tick() {
+        if (!loaded) {
+            return;
+        }
+        dueCount = 0;
+        wheelLock.lock();
+        try {
+            wheel.advance(System.currentTimeMillis(), this::collect);
+        } finally {
+            wheelLock.unlock();
+        }
+        for (int from = 0; from < dueCount; from += batchSize) {
+            long[] batch = Arrays.copyOfRange(due, from, Math.min(dueCount, from + batchSize));
+            apply(Arrays.stream(batch).boxed().toList());
+        }
+    }
+
+    private void collect(long bookingId) {
+        if (dueCount == due.length) {
+            due = Arrays.copyOf(due, dueCount * 2);
+        }
+        due[dueCount++] = bookingId;
+    }
+
+    private void apply(List<Long> bookingIds) {
+        List<Change> changes;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                // Dirty bookings and vehicles are flushed at commit as JDBC batches
+                changes = transactionTemplate.execute(status -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    List<Change> applied = new ArrayList<>();
+                    for (Booking booking : bookingRepository.findWithVehicleByIdIn(bookingIds)) {
+                        Change change = transition(booking, now);
+                        if (change != null) {
+                            applied.add(change);
+                        }
+                    }
+                    return applied;
+                });
+                break;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    // Something kept writing these rows; look at them again a little later
+                    conflicts.incrementAndGet();
+                    log.warn("Booking lifecycle batch of {} kept conflicting, retrying in {} ms",
+                            bookingIds.size(), retryDelayMs);
+                    long retryAt = System.currentTimeMillis() + retryDelayMs;
+                    wheelLock.lock();
+                    try {
+                        bookingIds.forEach(id -> wheel.schedule(id, retryAt));
+                    } finally {
+                        wheelLock.unlock();
+                    }
+                    return;
+                }
+            }
+        }
+
+        for (Change change : changes) {
+            if (!change.newStatus.equals(change.oldStatus)) {
+                counters.bookingStatusChanged(change.userId, change.oldStatus, change.newStatus);
+            }
+            if (change.vehicleStatus != null) {
+                fleetState.updateStatus(change.vehicleId, change.vehicleStatus);
+            }
+            if ("CANCELLED".equals(change.newStatus)) {
+                expired.incrementAndGet();
+                if (change.vehicleId != null) {
+                    reservationEngine.release(change.vehicleId, change.bookingId);
+                }
+            } else if ("IN_PROGRESS".equals(change.newStatus) && !change.newStatus.equals(change.oldStatus)) {
+                started.incrementAndGet();
+            }
+            if (change.flaggedOverdue) {
+                overdue.incrementAndGet();
+            } else if ("IN_PROGRESS".equals(change.newStatus) && change.endTime != null) {
+                wheelLock.lock();
+                try {
+                    wheel.schedule(change.bookingId, ReservationEngine.toMillis(change.endTime, null));
+                } finally {
+                    wheelLock.unlock();
+                }
+            }
+        }
+        if (!changes.isEmpty()) {
+            log.debug("Booking lifecycle applied {} transitions", changes.size());
+        }
+    }
+
+    // Moves one booking as far as the clock allows; null when nothing is due
+    private Change transition(Booking booking, LocalDateTime now) {
+        String oldStatus = booking.getStatus();
+        Vehicle vehicle = booking.getVehicle();
+        String vehicleStatus = null;
+
+        if ("PENDING".equals(oldStatus) && !expiresAt(booking.getBookingTime(), booking.getStartTime()).isAfter(now)) {
+            booking.setStatus("CANCELLED");
+            // Only undo the BOOKED this booking put on the vehicle
+            if (vehicle != null && "BOOKED".equals(vehicle.getStatus())) {
+                vehicle.setStatus("AVAILABLE");
+                vehicleStatus = vehicle.getStatus();
+            }
+        } else if ("CONFIRMED".equals(oldStatus)
+                && (booking.getStartTime() == null || !booking.getStartTime().isAfter(now))) {
+            booking.setStatus("IN_PROGRESS");
+            // A vehicle still out on an overrunning booking, or in maintenance, is left as it is
+            if (vehicle != null && ("AVAILABLE".equals(vehicle.getStatus()) || "BOOKED".equals(vehicle.getStatus()))) {
+                vehicle.setStatus("IN_USE");
+                vehicleStatus = vehicle.getStatus();
+            }
+        }
+
+        boolean flaggedOverdue = false;
+        if ("IN_PROGRESS".equals(booking.getStatus()) && !booking.isOverdue()
+                && booking.getEndTime() != null && !booking.getEndTime().isAfter(now)) {
+            booking.setOverdue(true);
+            flaggedOverdue = true;
+        }
+
+        if (oldStatus.equals(booking.getStatus()) && !flaggedOverdue) {
+            return null;
+        }
+        return new Change(booking, oldStatus, vehicleStatus, flaggedOverdue);
+    }
+
+    private LocalDateTime expiresAt(LocalDateTime bookingTime, LocalDateTime startTime) {
+        LocalDateTime from = startTime == null || (bookingTime != null && bookingTime.isAfter(startTime))
+                ? bookingTime : startTime;
+        return (from != null ? from : LocalDateTime.now()).plusMinutes(pendingExpiryMinutes);
+    }
+
+    public int getTimerCount() {
+        wheelLock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    public long getExpired() {
+        return expired.get();
+    }
+
+    public long getStarted() {
+        return started.get();
+    }
+
+    public long getOverdue() {
+        return overdue.get();
+    }
+
+    public long getConflicts() {
+        return conflicts.get();
+    }
+}
@@ -0,0 +1,355 @@
+package com.example.NeuroFleetBackend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.NeuroFleetBackend.dto.BookingRequest;
+import com.example.NeuroFleetBackend.model.Booking;
+import com.example.NeuroFleetBackend.model.User;
+import com.example.NeuroFleetBackend.model.Vehicle;
+import com.example.NeuroFleetBackend.repository.BookingRepository;
+import com.example.NeuroFleetBackend.repository.VehicleRepository;
+
+// Booking writes. Each one runs in its own transaction while holding the vehicle's
+// lock stripe, so same-vehicle requests in this JVM are serialized; @Version checks
+// catch writers on other nodes and the transaction is retried a bounded number of times.
+@Service
+public class BookingService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingService.class);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private ReservationEngine reservationEngine;
+
+    @Autowired
+    private FleetStateCache fleetState;
+
+    @Autowired
+    private FleetCounters counters;
+
+    @Autowired
+    private VehicleLockStripes lockStripes;
+
+    @Autowired
+    private BookingLifecycleService lifecycle;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${booking.max-attempts:3}")
+    private int maxAttempts;
+
+    // Outcomes of create(), exported as metrics
+    private final AtomicLong createdTotal = new AtomicLong();
+    private final AtomicLong unavailableTotal = new AtomicLong();
+    private final AtomicLong conflictTotal = new AtomicLong();
+    private final AtomicLong concurrentUpdateTotal = new AtomicLong();
+    private final AtomicLong retriesTotal = new AtomicLong();
+
+    public Booking create(User user, BookingRequest request) {
+        if (request.getStartTime() != null && request.getEndTime() != null
+                && !request.getEndTime().isAfter(request.getStartTime())) {
+            throw new BookingException(HttpStatus.BAD_REQUEST, "End time must be after start time");
+        }
+        if (request.getVehicleId() == null) {
+            return createUndispatched(user, request);
+        }
+
+        // A booking that starts now needs the vehicle to be free right now;
+        // future bookings only need their window to be free
+        boolean startsNow = request.getStartTime() == null
+                || !request.getStartTime().isAfter(LocalDateTime.now());
+
+        ReservationEngine.Hold[] hold = new ReservationEngine.Hold[1];
+        Booking saved = inVehicleTransaction(request.getVehicleId(), status -> {
+            Vehicle vehicle = vehicleRepository.findForBooking(request.getVehicleId())
+                    .orElseThrow(() -> new BookingException(HttpStatus.BAD_REQUEST, "Vehicle not found"));
+
+            if ("MAINTENANCE".equals(vehicle.getStatus())
+                    || (startsNow && !"AVAILABLE".equals(vehicle.getStatus()))) {
+                unavailableTotal.incrementAndGet();
+                throw new BookingException(HttpStatus.BAD_REQUEST, "Vehicle is not available for booking");
+            }
+
+            // Claim the time window before writing anything
+            hold[0] = reservationEngine.tryHold(vehicle.getId(), request.getStartTime(), request.getEndTime());
+            if (hold[0] == null) {
+                conflictTotal.incrementAndGet();
+                throw new BookingException(HttpStatus.CONFLICT, "Vehicle is already booked for the requested time");
+            }
+
+            Booking booking = new Booking();
+            booking.setVehicle(vehicle);
+            booking.setUser(user);
+            booking.setStartTime(request.getStartTime());
+            booking.setEndTime(request.getEndTime());
+            booking.setPickupLocation(request.getPickupLocation());
+            booking.setDropLocation(request.getDropLocation());
+            booking.setPickupLatitude(request.getPickupLatitude());
+            booking.setPickupLongitude(request.getPickupLongitude());
+            booking.setRemarks(request.getRemarks());
+            booking.setStatus("PENDING");
+
+            booking.setEstimatedCost(estimateCost(request.getStartTime(), request.getEndTime()));
+
+            if (startsNow) {
+                vehicle.setStatus("BOOKED");
+                vehicleRepository.save(vehicle);
+            }
+            return bookingRepository.save(booking);
+        }, () -> {
+            if (hold[0] != null) {
+                reservationEngine.cancel(hold[0]);
+                hold[0] = null;
+            }
+        });
+
+        // Committed: publish to the in-memory views
+        reservationEngine.confirm(hold[0], saved.getId());
+        if (startsNow) {
+            fleetState.updateStatus(saved.getVehicle().getId(), saved.getVehicle().getStatus());
+        }
+        counters.bookingCreated(user.getId(), saved.getStatus());
+        createdTotal.incrementAndGet();
+        lifecycle.track(saved);
+        return saved;
+    }
+
+    // A booking without a vehicle: it only needs a pickup point and waits for DispatchService
+    private Booking createUndispatched(User user, BookingRequest request) {
+        Double latitude = request.getPickupLatitude();
+        Double longitude = request.getPickupLongitude();
+        if (latitude == null || longitude == null) {
+            throw new BookingException(HttpStatus.BAD_REQUEST, "Pickup latitude and longitude are required");
+        }
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new BookingException(HttpStatus.BAD_REQUEST, "Pickup coordinates are out of range");
+        }
+        if (request.getStartTime() == null) {
+            throw new BookingException(HttpStatus.BAD_REQUEST, "Start time is required");
+        }
+
+        Booking booking = new Booking();
+        booking.setUser(user);
+        booking.setStartTime(request.getStartTime());
+        booking.setEndTime(request.getEndTime());
+        booking.setPickupLocation(request.getPickupLocation());
+        booking.setDropLocation(request.getDropLocation());
+        booking.setPickupLatitude(latitude);
+        booking.setPickupLongitude(longitude);
+        booking.setRemarks(request.getRemarks());
+        booking.setStatus("PENDING");
+        booking.setEstimatedCost(estimateCost(request.getStartTime(), request.getEndTime()));
+        Booking saved = transactionTemplate.execute(status -> bookingRepository.save(booking));
+
+        counters.bookingCreated(user.getId(), saved.getStatus());
+        createdTotal.incrementAndGet();
+        lifecycle.track(saved);
+        return saved;
+    }
+
+    // Puts an undispatched booking on a vehicle, with the same availability checks as create()
+    public Booking assign(Long bookingId, Long vehicleId) {
+        boolean[] startsNow = new boolean[1];
+        ReservationEngine.Hold[] hold = new ReservationEngine.Hold[1];
+        Booking saved = inVehicleTransaction(vehicleId, status -> {
+            Booking booking = bookingRepository.findById(bookingId)
+                    .orElseThrow(() -> new BookingException(HttpStatus.NOT_FOUND, "Booking not found"));
+            if (booking.getVehicle() != null || !"PENDING".equals(booking.getStatus())) {
+                throw new BookingException(HttpStatus.CONFLICT, "Booking has already been dispatched");
+            }
+            Vehicle vehicle = vehicleRepository.findForBooking(vehicleId)
+                    .orElseThrow(() -> new BookingException(HttpStatus.BAD_REQUEST, "Vehicle not found"));
+
+            startsNow[0] = hasStarted(booking);
+            if ("MAINTENANCE".equals(vehicle.getStatus())
+                    || (startsNow[0] && !"AVAILABLE".equals(vehicle.getStatus()))) {
+                unavailableTotal.incrementAndGet();
+                throw new BookingException(HttpStatus.BAD_REQUEST, "Vehicle is not available for booking");
+            }
+            hold[0] = reservationEngine.tryHold(vehicle.getId(), booking.getStartTime(), booking.getEndTime());
+            if (hold[0] == null) {
+                conflictTotal.incrementAndGet();
+                throw new BookingException(HttpStatus.CONFLICT, "Vehicle is already booked for the requested time");
+            }
+
+            booking.setVehicle(vehicle);
+            if (startsNow[0]) {
+                vehicle.setStatus("BOOKED");
+                vehicleRepository.save(vehicle);
+            }
+            return bookingRepository.save(booking);
+        }, () -> {
+            if (hold[0] != null) {
+                reservationEngine.cancel(hold[0]);
+                hold[0] = null;
+            }
+        });
+
+        reservationEngine.confirm(hold[0], saved.getId());
+        if (startsNow[0]) {
+            fleetState.updateStatus(vehicleId, "BOOKED");
+        }
+        return saved;
+    }
+
+    public Optional<Booking> updateStatus(Long bookingId, String status) {
+        return bookingRepository.findById(bookingId)
+                .map(booking -> changeStatus(booking, status.toUpperCase()));
+    }
+
+    public Optional<Booking> cancel(Long bookingId, Long userId, String role) {
+        return bookingRepository.findById(bookingId)
+                .map(booking -> {
+                    // Check if user owns this booking or is admin
+                    if (!booking.getUser().getId().equals(userId) && !"ADMIN".equals(role)) {
+                        throw new BookingException(HttpStatus.FORBIDDEN, "You can only cancel your own bookings");
+                    }
+                    return changeStatus(booking, "CANCELLED");
+                });
+    }
+
+    private Booking changeStatus(Booking current, String status) {
+        Long vehicleId = current.getVehicle() == null ? null : current.getVehicle().getId();
+        String[] oldStatus = new String[1];
+        String[] vehicleStatus = new String[1];
+
+        Booking updated = inVehicleTransaction(vehicleId, tx -> {
+            Booking booking = bookingRepository.findDetailById(current.getId())
+                    .orElseThrow(() -> new BookingException(HttpStatus.NOT_FOUND, "Booking not found"));
+            // Dispatched since it was read, so the lock held is not this vehicle's
+            if (vehicleId == null && booking.getVehicle() != null) {
+                throw new BookingException(HttpStatus.CONFLICT, "Booking was dispatched concurrently, please try again");
+            }
+            oldStatus[0] = booking.getStatus();
+            vehicleStatus[0] = null;
+            booking.setStatus(status);
+
+            // Only a booking whose window has begun drives the vehicle's current status
+            if (vehicleId != null && hasStarted(booking)) {
+                Vehicle vehicle = booking.getVehicle();
+                if ("COMPLETED".equals(status) || "CANCELLED".equals(status)) {
+                    vehicle.setStatus("AVAILABLE");
+                    vehicleRepository.save(vehicle);
+                    vehicleStatus[0] = vehicle.getStatus();
+                } else if ("CONFIRMED".equals(status) || "IN_PROGRESS".equals(status)) {
+                    vehicle.setStatus("IN_USE");
+                    vehicleRepository.save(vehicle);
+                    vehicleStatus[0] = vehicle.getStatus();
+                }
+            }
+            return bookingRepository.save(booking);
+        }, null);
+
+        if (vehicleId != null && ("COMPLETED".equals(status) || "CANCELLED".equals(status))) {
+            reservationEngine.release(vehicleId, updated.getId());
+        }
+        if (vehicleStatus[0] != null) {
+            fleetState.updateStatus(vehicleId, vehicleStatus[0]);
+        }
+        counters.bookingStatusChanged(updated.getUser().getId(), oldStatus[0], updated.getStatus());
+        lifecycle.track(updated);
+        return updated;
+    }
+
+    // Runs work in a fresh transaction under the vehicle's stripe, retrying optimistic
+    // lock failures; onFailure undoes in-memory side effects of an attempt that did not commit.
+    // A null vehicleId (undispatched booking) runs without a stripe
+    private <T> T inVehicleTransaction(Long vehicleId, TransactionCallback<T> work, Runnable onFailure) {
+        ReentrantLock lock = vehicleId == null ? null : lockStripes.lockFor(vehicleId);
+        if (lock != null) {
+            lock.lock();
+        }
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(work);
+                } catch (OptimisticLockingFailureException e) {
+                    if (onFailure != null) {
+                        onFailure.run();
+                    }
+                    if (attempt >= maxAttempts) {
+                        concurrentUpdateTotal.incrementAndGet();
+                        throw new BookingException(HttpStatus.CONFLICT,
+                                "Vehicle was updated concurrently, please try again");
+                    }
+                    retriesTotal.incrementAndGet();
+                    log.debug("Optimistic lock conflict on vehicle {}, retrying (attempt {})", vehicleId, attempt);
+                    backOff(attempt);
+                } catch (RuntimeException e) {
+                    if (onFailure != null) {
+                        onFailure.run();
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            if (lock != null) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5, 20) * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BookingException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while retrying booking");
+        }
+    }
+
+    public long getCreatedTotal() {
+        return createdTotal.get();
+    }
+
+    public long getUnavailableTotal() {
+        return unavailableTotal.get();
+    }
+
+    public long getConflictTotal() {
+        return conflictTotal.get();
+    }
+
+    public long getConcurrentUpdateTotal() {
+        return concurrentUpdateTotal.get();
+    }
+
+    public long getRetriesTotal() {
+        return retriesTotal.get();
+    }
+
+    // Basic calculation: ₹500 per day, at least one day; null when either time is missing
+    public static Double estimateCost(LocalDateTime startTime, LocalDateTime endTime) {
+        if (startTime == null || endTime == null) {
+            return null;
+        }
+        long hours = Duration.between(startTime, endTime).toHours();
+        double days = Math.max(1, hours / 24.0);
+        return days * 500.0;
+    }
+
+    private static boolean hasStarted(Booking booking) {
+        return booking.getStartTime() == null || !booking.getStartTime().isAfter(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.NeuroFleetBackend.service;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.NeuroFleetBackend.model.DeviceKey;
+import com.example.NeuroFleetBackend.repository.DeviceKeyRepository;
+
+// Per-vehicle pre-shared keys for the telemetry gateway. All keys are held in memory so
+// the gateway never waits on the database during a handshake; the periodic reload picks
+// up keys issued or revoked on other nodes.
+@Service
+public class DeviceKeyService {
+
+    private static final Logger log = LoggerFactory.getLogger(DeviceKeyService.class);
+
+    private static final int KEY_BYTES = 32;
+
+    @Autowired
+    private DeviceKeyRepository deviceKeyRepository;
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final ConcurrentHashMap<Long, byte[]> keys = new ConcurrentHashMap<>();
+
+    // Notified with the vehicle id when its key is replaced or revoked, so open sessions can be dropped
+    private final List<LongConsumer> revocationListeners = new CopyOnWriteArrayList<>();
+
+    // Serializes reload with issue/revoke, so a reload never applies a snapshot read before a
+    // local change. issue/revoke hold it until their transaction completes, so the next reload
+    // reads the committed row. A lock rather than synchronized: reload blocks on JDBC.
+    private final ReentrantLock keyLock = new ReentrantLock();
+
+    @Scheduled(fixedDelayString = "${telemetry.gateway.key-refresh-ms:60000}")
+    public void reload() {
+        keyLock.lock();
+        try {
+            Map<Long, byte[]> loaded = new HashMap<>();
+            for (DeviceKey key : deviceKeyRepository.findAll()) {
+                loaded.put(key.getVehicleId(), Base64.getDecoder().decode(key.getSecret()));
+            }
+            for (Map.Entry<Long, byte[]> entry : keys.entrySet()) {
+                byte[] current = loaded.get(entry.getKey());
+                if (current == null || !Arrays.equals(current, entry.getValue())) {
+                    keys.remove(entry.getKey(), entry.getValue());
+                    notifyRevoked(entry.getKey());
+                }
+            }
+            keys.putAll(loaded);
+            log.debug("Device keys loaded: {}", loaded.size());
+        } finally {
+            keyLock.unlock();
+        }
+    }
+
+    public void addRevocationListener(LongConsumer listener) {
+        revocationListeners.add(listener);
+    }
+
+    // Key bytes, or null if the vehicle has none
+    public byte[] find(long vehicleId) {
+        return keys.get(vehicleId);
+    }
+
+    // Issues a new key, replacing any previous one; the base64 key is only ever returned here
+    @Transactional
+    public String issue(Long vehicleId) {
+        boolean untilCompletion = lockUntilCompletion();
+        try {
+            byte[] secret = new byte[KEY_BYTES];
+            random.nextBytes(secret);
+            String encoded = Base64.getEncoder().encodeToString(secret);
+            deviceKeyRepository.save(new DeviceKey(vehicleId, encoded, LocalDateTime.now()));
+            if (keys.put(vehicleId, secret) != null) {
+                notifyRevoked(vehicleId);
+            }
+            return encoded;
+        } finally {
+            if (!untilCompletion) {
+                keyLock.unlock();
+            }
+        }
+    }
+
+    @Transactional
+    public boolean revoke(Long vehicleId) {
+        boolean untilCompletion = lockUntilCompletion();
+        try {
+            boolean deleted = deviceKeyRepository.deleteByVehicleId(vehicleId) > 0;
+            if (keys.remove(vehicleId) != null) {
+                notifyRevoked(vehicleId);
+            }
+            return deleted;
+        } finally {
+            if (!untilCompletion) {
+                keyLock.unlock();
+            }
+        }
+    }
+
+    public int getKeyCount() {
+        return keys.size();
+    }
+
+    // Takes keyLock and, inside a transaction, releases it once that commits or rolls back
+    // (a rolled-back change is undone by the next reload); returns false if the caller must unlock
+    private boolean lockUntilCompletion() {
+        keyLock.lock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                keyLock.unlock();
+            }
+        });
+        return true;
+    }
+
+    private void notifyRevoked(long vehicleId) {
+        for (LongConsumer listener : revocationListeners) {
+            listener.accept(vehicleId);
+        }
+    }
+}
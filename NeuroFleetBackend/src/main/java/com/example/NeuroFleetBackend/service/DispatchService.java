@@ -0,0 +1,210 @@
+package com.example.NeuroFleetBackend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.example.NeuroFleetBackend.dto.DispatchPlan;
+import com.example.NeuroFleetBackend.dto.VehicleSnapshot;
+import com.example.NeuroFleetBackend.model.Booking;
+import com.example.NeuroFleetBackend.repository.BookingRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Batch dispatch: matches bookings created without a vehicle to AVAILABLE vehicles by
+// pickup distance. Vehicles come from the fleet state and are pre-filtered against the
+// reservation engine for the dispatch horizon; each assignment is then applied through
+// BookingService.assign, which re-checks everything under the vehicle's lock.
+@Service
+public class DispatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(DispatchService.class);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private FleetStateCache fleetState;
+
+    @Autowired
+    private ReservationEngine reservationEngine;
+
+    @Value("${dispatch.max-distance-km:25}")
+    private double maxDistanceKm;
+
+    @Value("${dispatch.optimal-max-size:300}")
+    private int optimalMaxSize;
+
+    @Value("${dispatch.candidates:8}")
+    private int candidates;
+
+    @Value("${dispatch.parallelism:0}")
+    private int parallelism;
+
+    @Value("${dispatch.time-budget-ms:800}")
+    private long timeBudgetMs;
+
+    @Value("${dispatch.horizon-minutes:30}")
+    private long horizonMinutes;
+
+    @Value("${dispatch.max-batch:10000}")
+    private int maxBatch;
+
+    private ForkJoinPool pool;
+    private DispatchSolver solver;
+
+    // One run at a time, so two runs never propose the same vehicles
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    private final AtomicLong solves = new AtomicLong();
+    private final AtomicLong solveNanos = new AtomicLong();
+    private final AtomicLong assigned = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(threads, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("dispatch-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        solver = new DispatchSolver(pool, maxDistanceKm, optimalMaxSize, candidates);
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+
+    // Dry run: what a dispatch would assign right now, without changing anything
+    public DispatchPlan preview() {
+        return dispatch(false);
+    }
+
+    public DispatchPlan run() {
+        runLock.lock();
+        try {
+            return dispatch(true);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private DispatchPlan dispatch(boolean apply) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime horizon = now.plusMinutes(horizonMinutes);
+        List<Booking> bookings = bookingRepository.findUndispatched(horizon, Limit.of(maxBatch));
+        List<VehicleSnapshot> vehicles = availableVehicles(now, horizon);
+
+        double[] pickupLat = new double[bookings.size()];
+        double[] pickupLon = new double[bookings.size()];
+        for (int i = 0; i < pickupLat.length; i++) {
+            pickupLat[i] = bookings.get(i).getPickupLatitude();
+            pickupLon[i] = bookings.get(i).getPickupLongitude();
+        }
+        double[] vehicleLat = new double[vehicles.size()];
+        double[] vehicleLon = new double[vehicles.size()];
+        for (int i = 0; i < vehicleLat.length; i++) {
+            vehicleLat[i] = vehicles.get(i).getLatitude();
+            vehicleLon[i] = vehicles.get(i).getLongitude();
+        }
+
+        long started = System.nanoTime();
+        DispatchSolver.Result result = solver.solve(pickupLat, pickupLon, vehicleLat, vehicleLon,
+                started + timeBudgetMs * 1_000_000);
+        long elapsed = System.nanoTime() - started;
+        solves.incrementAndGet();
+        solveNanos.addAndGet(elapsed);
+
+        List<DispatchPlan.Assignment> assignments = new ArrayList<>();
+        List<Long> unassigned = new ArrayList<>();
+        Map<Long, String> errors = new HashMap<>();
+        List<Integer> matched = new ArrayList<>();
+        for (int i = 0; i < pickupLat.length; i++) {
+            if (result.vehicleOf(i) == DispatchSolver.UNASSIGNED) {
+                unassigned.add(bookings.get(i).getId());
+            } else {
+                matched.add(i);
+            }
+        }
+        // Shortest pickups first, so a vehicle lost meanwhile costs the least useful match
+        matched.sort(Comparator.comparingDouble(result::distanceKm));
+        if (apply) {
+            for (int i : matched) {
+                Long bookingId = bookings.get(i).getId();
+                try {
+                    bookingService.assign(bookingId, vehicles.get(result.vehicleOf(i)).getId());
+                    assigned.incrementAndGet();
+                } catch (BookingException e) {
+                    errors.put(bookingId, e.getMessage());
+                    failed.incrementAndGet();
+                }
+            }
+        }
+        for (int i : matched) {
+            VehicleSnapshot vehicle = vehicles.get(result.vehicleOf(i));
+            Long bookingId = bookings.get(i).getId();
+            assignments.add(new DispatchPlan.Assignment(bookingId, vehicle.getId(), vehicle.getVehicleNumber(),
+                    result.distanceKm(i), errors.get(bookingId)));
+        }
+
+        if (apply) {
+            log.info("Dispatch {}: {} bookings, {} vehicles, {} assigned, {} failed, solved in {} ms",
+                    result.getAlgorithm(), bookings.size(), vehicles.size(), matched.size() - errors.size(),
+                    errors.size(), elapsed / 1_000_000);
+        }
+        return new DispatchPlan(result.getAlgorithm(), bookings.size(), vehicles.size(), assignments, unassigned,
+                result.getTotalDistanceKm(), elapsed / 1_000_000, apply, errors.size());
+    }
+
+    // AVAILABLE vehicles with a position and nothing reserved before the horizon
+    private List<VehicleSnapshot> availableVehicles(LocalDateTime now, LocalDateTime horizon) {
+        Map<Long, VehicleSnapshot> byId = new LinkedHashMap<>();
+        for (VehicleSnapshot vehicle : fleetState.getByStatus("AVAILABLE")) {
+            if (vehicle.getLatitude() != null && vehicle.getLongitude() != null) {
+                byId.put(vehicle.getId(), vehicle);
+            }
+        }
+        List<VehicleSnapshot> free = new ArrayList<>();
+        for (Long id : reservationEngine.findFreeVehicles(byId.keySet(), now, horizon)) {
+            free.add(byId.get(id));
+        }
+        return free;
+    }
+
+    public long getSolves() {
+        return solves.get();
+    }
+
+    public long getSolveNanos() {
+        return solveNanos.get();
+    }
+
+    public long getAssigned() {
+        return assigned.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+}
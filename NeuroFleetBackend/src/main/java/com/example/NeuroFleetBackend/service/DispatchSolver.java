@@ -0,0 +1,416 @@
+package com.example.NeuroFleetBackend.service;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Assigns pickups to vehicles minimising the total pickup distance; no pair further
+// apart than maxDistanceKm is ever matched. Batches up to optimalMaxSize on either side
+// are solved exactly with the Hungarian method (O(n²m)); larger ones, or an exact solve
+// that runs past the deadline, use a greedy matching over each pickup's nearest vehicles
+// from a grid. Distance and candidate work is split over the given fork-join pool.
+public final class DispatchSolver {
+
+    public static final int UNASSIGNED = -1;
+
+    public static final String OPTIMAL = "OPTIMAL";
+    public static final String GREEDY = "GREEDY";
+
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+    private static final int MAX_GREEDY_ROUNDS = 8;
+
+    private final ForkJoinPool pool;
+    private final double maxDistanceKm;
+    private final int optimalMaxSize;
+    private final int candidates;
+
+    public DispatchSolver(ForkJoinPool pool, double maxDistanceKm, int optimalMaxSize, int candidates) {
+        this.pool = pool;
+        this.maxDistanceKm = maxDistanceKm;
+        this.optimalMaxSize = optimalMaxSize;
+        this.candidates = candidates;
+    }
+
+    public Result solve(double[] pickupLat, double[] pickupLon, double[] vehicleLat, double[] vehicleLon,
+                        long deadlineNanos) {
+        if (Math.max(pickupLat.length, vehicleLat.length) <= optimalMaxSize) {
+            Result exact = optimal(pickupLat, pickupLon, vehicleLat, vehicleLon, deadlineNanos);
+            if (exact != null) {
+                return exact;
+            }
+        }
+        return greedy(pickupLat, pickupLon, vehicleLat, vehicleLon);
+    }
+
+    // Minimum total distance among the assignments serving the most pickups; null past the deadline
+    public Result optimal(double[] pickupLat, double[] pickupLon, double[] vehicleLat, double[] vehicleLon,
+                          long deadlineNanos) {
+        int pickups = pickupLat.length;
+        int vehicles = vehicleLat.length;
+        int[] vehicleOf = new int[pickups];
+        Arrays.fill(vehicleOf, UNASSIGNED);
+        if (pickups == 0 || vehicles == 0) {
+            return new Result(OPTIMAL, vehicleOf, new double[pickups]);
+        }
+
+        // The method needs rows <= columns, so rows are whichever side is smaller
+        boolean pickupRows = pickups <= vehicles;
+        int n = Math.min(pickups, vehicles);
+        int m = Math.max(pickups, vehicles);
+        // Out of range pairs cost more than any set of in-range ones, so they are only
+        // taken when a row has nothing else left, and then dropped
+        double outOfRange = maxDistanceKm * (n + 1) + 1;
+        double[][] cost = new double[n + 1][m + 1];
+        double[][] distance = new double[n + 1][m + 1];
+        pool.submit(() -> IntStream.rangeClosed(1, n).parallel().forEach(i -> {
+            for (int j = 1; j <= m; j++) {
+                int pickup = pickupRows ? i - 1 : j - 1;
+                int vehicle = pickupRows ? j - 1 : i - 1;
+                double km = GeoIndex.haversineKm(pickupLat[pickup], pickupLon[pickup],
+                        vehicleLat[vehicle], vehicleLon[vehicle]);
+                distance[i][j] = km;
+                cost[i][j] = km <= maxDistanceKm ? km : outOfRange;
+            }
+        })).join();
+
+        // Shortest augmenting path with row/column potentials (e-maxx formulation, 1-based)
+        double[] u = new double[n + 1];
+        double[] v = new double[m + 1];
+        int[] rowOfColumn = new int[m + 1];
+        int[] way = new int[m + 1];
+        double[] minv = new double[m + 1];
+        boolean[] used = new boolean[m + 1];
+        for (int i = 1; i <= n; i++) {
+            if (System.nanoTime() > deadlineNanos) {
+                return null;
+            }
+            rowOfColumn[0] = i;
+            int j0 = 0;
+            Arrays.fill(minv, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, false);
+            do {
+                used[j0] = true;
+                int i0 = rowOfColumn[j0];
+                double delta = Double.POSITIVE_INFINITY;
+                int j1 = 0;
+                double[] row = cost[i0];
+                for (int j = 1; j <= m; j++) {
+                    if (!used[j]) {
+                        double current = row[j] - u[i0] - v[j];
+                        if (current < minv[j]) {
+                            minv[j] = current;
+                            way[j] = j0;
+                        }
+                        if (minv[j] < delta) {
+                            delta = minv[j];
+                            j1 = j;
+                        }
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[rowOfColumn[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (rowOfColumn[j0] != 0);
+            do {
+                int j1 = way[j0];
+                rowOfColumn[j0] = rowOfColumn[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        double[] distanceKm = new double[pickups];
+        for (int j = 1; j <= m; j++) {
+            int i = rowOfColumn[j];
+            if (i == 0 || distance[i][j] > maxDistanceKm) {
+                continue;
+            }
+            int pickup = pickupRows ? i - 1 : j - 1;
+            vehicleOf[pickup] = pickupRows ? j - 1 : i - 1;
+            distanceKm[pickup] = distance[i][j];
+        }
+        return new Result(OPTIMAL, vehicleOf, distanceKm);
+    }
+
+    // Closest pairs first, over each pickup's nearest free vehicles; pickups whose
+    // candidates were all taken get new candidates from the vehicles still free
+    public Result greedy(double[] pickupLat, double[] pickupLon, double[] vehicleLat, double[] vehicleLon) {
+        int pickups = pickupLat.length;
+        int[] vehicleOf = new int[pickups];
+        Arrays.fill(vehicleOf, UNASSIGNED);
+        double[] distanceKm = new double[pickups];
+        if (pickups == 0 || vehicleLat.length == 0) {
+            return new Result(GREEDY, vehicleOf, distanceKm);
+        }
+
+        // Candidates are ranked on a flat projection around the batch's mean latitude;
+        // the reported distances are exact
+        double meanLat = 0;
+        for (double lat : pickupLat) {
+            meanLat += lat;
+        }
+        double kmPerDegreeLon = KM_PER_DEGREE_LAT * Math.cos(Math.toRadians(meanLat / pickups));
+        double[] px = project(pickupLon, kmPerDegreeLon);
+        double[] py = project(pickupLat, KM_PER_DEGREE_LAT);
+        double[] vx = project(vehicleLon, kmPerDegreeLon);
+        double[] vy = project(vehicleLat, KM_PER_DEGREE_LAT);
+
+        boolean[] taken = new boolean[vehicleLat.length];
+        int[] open = IntStream.range(0, pickups).toArray();
+        for (int round = 0; round < MAX_GREEDY_ROUNDS && open.length > 0; round++) {
+            int[] free = IntStream.range(0, taken.length).filter(v -> !taken[v]).toArray();
+            if (free.length == 0) {
+                break;
+            }
+            Grid grid = new Grid(vx, vy, free);
+            int k = Math.min(candidates << round, free.length);
+            int[] pending = open;
+
+            // Edge e = (pickup pending[e / k], vehicle candidate[e]); sort keys are
+            // (float distance bits << 32 | e), and positive float bits sort like the floats
+            int[] candidate = new int[pending.length * k];
+            long[] keys = new long[pending.length * k];
+            int[] edgeCount = new int[1];
+            pool.submit(() -> {
+                IntStream.range(0, pending.length).parallel().forEach(p -> {
+                    int pickup = pending[p];
+                    grid.nearest(px[pickup], py[pickup], k, maxDistanceKm, candidate, keys, p * k);
+                });
+                int count = 0;
+                for (int e = 0; e < keys.length; e++) {
+                    if (keys[e] != Long.MAX_VALUE) {
+                        keys[count++] = (long) Float.floatToIntBits((float) Double.longBitsToDouble(keys[e])) << 32 | e;
+                    }
+                }
+                edgeCount[0] = count;
+                Arrays.parallelSort(keys, 0, count);
+            }).join();
+
+            boolean progress = false;
+            for (int s = 0; s < edgeCount[0]; s++) {
+                int e = (int) keys[s];
+                int pickup = pending[e / k];
+                int vehicle = candidate[e];
+                if (vehicleOf[pickup] == UNASSIGNED && !taken[vehicle]) {
+                    vehicleOf[pickup] = vehicle;
+                    taken[vehicle] = true;
+                    progress = true;
+                }
+            }
+            if (!progress) {
+                break;
+            }
+            open = Arrays.stream(pending).filter(p -> vehicleOf[p] == UNASSIGNED).toArray();
+        }
+
+        for (int p = 0; p < pickups; p++) {
+            int vehicle = vehicleOf[p];
+            if (vehicle != UNASSIGNED) {
+                distanceKm[p] = GeoIndex.haversineKm(pickupLat[p], pickupLon[p], vehicleLat[vehicle], vehicleLon[vehicle]);
+            }
+        }
+        return new Result(GREEDY, vehicleOf, distanceKm);
+    }
+
+    private static double[] project(double[] degrees, double kmPerDegree) {
+        double[] km = new double[degrees.length];
+        for (int i = 0; i < degrees.length; i++) {
+            km[i] = degrees[i] * kmPerDegree;
+        }
+        return km;
+    }
+
+    // Uniform grid over the free vehicles in projected km, sized for about two per cell
+    private static final class Grid {
+
+        private final double[] x;
+        private final double[] y;
+        private final double minX;
+        private final double minY;
+        private final double cellKm;
+        private final int columns;
+        private final int rows;
+        private final int[] cellStart;
+        private final int[] members;
+
+        Grid(double[] x, double[] y, int[] vehicles) {
+            this.x = x;
+            this.y = y;
+            double lowX = Double.POSITIVE_INFINITY, highX = Double.NEGATIVE_INFINITY;
+            double lowY = Double.POSITIVE_INFINITY, highY = Double.NEGATIVE_INFINITY;
+            for (int v : vehicles) {
+                lowX = Math.min(lowX, x[v]);
+                highX = Math.max(highX, x[v]);
+                lowY = Math.min(lowY, y[v]);
+                highY = Math.max(highY, y[v]);
+            }
+            minX = lowX;
+            minY = lowY;
+            double area = Math.max(1e-6, (highX - lowX) * (highY - lowY));
+            cellKm = Math.max(0.05, Math.sqrt(area / Math.max(1, vehicles.length / 2)));
+            columns = (int) ((highX - lowX) / cellKm) + 1;
+            rows = (int) ((highY - lowY) / cellKm) + 1;
+
+            // Counting sort of the vehicles by cell
+            cellStart = new int[columns * rows + 1];
+            int[] cellOf = new int[vehicles.length];
+            for (int i = 0; i < vehicles.length; i++) {
+                cellOf[i] = column(x[vehicles[i]]) + row(y[vehicles[i]]) * columns;
+                cellStart[cellOf[i] + 1]++;
+            }
+            for (int c = 0; c < columns * rows; c++) {
+                cellStart[c + 1] += cellStart[c];
+            }
+            members = new int[vehicles.length];
+            int[] fill = Arrays.copyOf(cellStart, columns * rows);
+            for (int i = 0; i < vehicles.length; i++) {
+                members[fill[cellOf[i]]++] = vehicles[i];
+            }
+        }
+
+        // Writes up to k nearest vehicles within maxKm to candidate[offset..], with their
+        // distance as double bits in keys[offset..]; unused slots get Long.MAX_VALUE
+        void nearest(double px, double py, int k, double maxKm, int[] candidate, long[] keys, int offset) {
+            Arrays.fill(keys, offset, offset + k, Long.MAX_VALUE);
+            // Best k so far, farthest first at slot 0 (a small max-heap)
+            double[] best = new double[k];
+            int[] bestVehicle = new int[k];
+            int found = 0;
+            int cx = column(px);
+            int cy = row(py);
+            int maxRing = Math.max(columns, rows);
+            for (int ring = 0; ring <= maxRing; ring++) {
+                // Every cell in this ring is at least (ring - 1) cells away from the point
+                double bound = (ring - 1) * cellKm;
+                if (bound > maxKm || (found == k && bound > best[0])) {
+                    break;
+                }
+                for (int gy = cy - ring; gy <= cy + ring; gy++) {
+                    if (gy < 0 || gy >= rows) {
+                        continue;
+                    }
+                    boolean edgeRow = gy == cy - ring || gy == cy + ring;
+                    int step = edgeRow ? 1 : 2 * ring;
+                    for (int gx = cx - ring; gx <= cx + ring; gx += Math.max(1, step)) {
+                        if (gx < 0 || gx >= columns) {
+                            continue;
+                        }
+                        int cell = gx + gy * columns;
+                        for (int m = cellStart[cell]; m < cellStart[cell + 1]; m++) {
+                            int vehicle = members[m];
+                            double dx = x[vehicle] - px;
+                            double dy = y[vehicle] - py;
+                            double d = Math.sqrt(dx * dx + dy * dy);
+                            if (d > maxKm) {
+                                continue;
+                            }
+                            if (found < k) {
+                                siftUp(best, bestVehicle, found++, d, vehicle);
+                            } else if (d < best[0]) {
+                                replaceTop(best, bestVehicle, k, d, vehicle);
+                            }
+                        }
+                    }
+                }
+            }
+            for (int i = 0; i < found; i++) {
+                candidate[offset + i] = bestVehicle[i];
+                keys[offset + i] = Double.doubleToLongBits(best[i]);
+            }
+        }
+
+        private int column(double value) {
+            return Math.min(columns - 1, Math.max(0, (int) ((value - minX) / cellKm)));
+        }
+
+        private int row(double value) {
+            return Math.min(rows - 1, Math.max(0, (int) ((value - minY) / cellKm)));
+        }
+
+        private static void siftUp(double[] heap, int[] ids, int i, double d, int id) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] >= d) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                ids[i] = ids[parent];
+                i = parent;
+            }
+            heap[i] = d;
+            ids[i] = id;
+        }
+
+        private static void replaceTop(double[] heap, int[] ids, int size, double d, int id) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1] > heap[child]) {
+                    child++;
+                }
+                if (heap[child] <= d) {
+                    break;
+                }
+                heap[i] = heap[child];
+                ids[i] = ids[child];
+                i = child;
+            }
+            heap[i] = d;
+            ids[i] = id;
+        }
+    }
+
+    public static final class Result {
+
+        private final String algorithm;
+        private final int[] vehicleOf;
+        private final double[] distanceKm;
+
+        Result(String algorithm, int[] vehicleOf, double[] distanceKm) {
+            this.algorithm = algorithm;
+            this.vehicleOf = vehicleOf;
+            this.distanceKm = distanceKm;
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        // Index of the vehicle assigned to each pickup, or UNASSIGNED
+        public int vehicleOf(int pickup) {
+            return vehicleOf[pickup];
+        }
+
+        public double distanceKm(int pickup) {
+            return distanceKm[pickup];
+        }
+
+        public int getAssigned() {
+            int assigned = 0;
+            for (int vehicle : vehicleOf) {
+                if (vehicle != UNASSIGNED) {
+                    assigned++;
+                }
+            }
+            return assigned;
+        }
+
+        public double getTotalDistanceKm() {
+            double total = 0;
+            for (int p = 0; p < vehicleOf.length; p++) {
+                if (vehicleOf[p] != UNASSIGNED) {
+                    total += distanceKm[p];
+                }
+            }
+            return total;
+        }
+    }
+}
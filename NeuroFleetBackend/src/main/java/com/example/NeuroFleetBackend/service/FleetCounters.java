@@ -0,0 +1,206 @@
+package com.example.NeuroFleetBackend.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.NeuroFleetBackend.repository.BookingRepository;
+import com.example.NeuroFleetBackend.repository.UserRepository;
+import com.example.NeuroFleetBackend.repository.VehicleRepository;
+
+// Dashboard counters kept up to date on every status transition instead of
+// loading entity lists. Seeded (and periodically reconciled) from GROUP BY counts.
+@Service
+public class FleetCounters {
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final ConcurrentHashMap<String, AtomicLong> vehiclesByStatus = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicLong> bookingsByStatus = new ConcurrentHashMap<>();
+
+    // userId -> booking status -> count
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<String, AtomicLong>> bookingsByUser = new ConcurrentHashMap<>();
+
+    private final AtomicLong totalVehicles = new AtomicLong();
+    private final AtomicLong totalBookings = new AtomicLong();
+    private final AtomicLong totalUsers = new AtomicLong();
+
+    // Bumped after every change, see getVersion()
+    private final AtomicLong version = new AtomicLong();
+
+    // Serializes reconcile(), held across the GROUP BY queries
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    @Scheduled(initialDelayString = "${counters.reconcile-ms:600000}", fixedDelayString = "${counters.reconcile-ms:600000}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            reloadCounts();
+            version.incrementAndGet();
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private void reloadCounts() {
+        Map<String, Long> vehicleCounts = toCounts(vehicleRepository.countGroupByStatus());
+        Map<String, Long> bookingCounts = toCounts(bookingRepository.countGroupByStatus());
+
+        Map<Long, Map<String, Long>> userCounts = new HashMap<>();
+        for (Object[] row : bookingRepository.countGroupByUserAndStatus()) {
+            userCounts.computeIfAbsent((Long) row[0], id -> new HashMap<>()).put((String) row[1], (Long) row[2]);
+        }
+
+        replace(vehiclesByStatus, vehicleCounts);
+        replace(bookingsByStatus, bookingCounts);
+        totalVehicles.set(sum(vehicleCounts));
+        totalBookings.set(sum(bookingCounts));
+        totalUsers.set(userRepository.count());
+
+        bookingsByUser.keySet().retainAll(userCounts.keySet());
+        for (Map.Entry<Long, Map<String, Long>> entry : userCounts.entrySet()) {
+            replace(bookingsByUser.computeIfAbsent(entry.getKey(), id -> new ConcurrentHashMap<>()), entry.getValue());
+        }
+    }
+
+    // Vehicle transitions; null means the vehicle did not exist before / no longer exists
+    public void vehicleStatusChanged(String oldStatus, String newStatus) {
+        if (oldStatus != null && oldStatus.equals(newStatus)) {
+            return;
+        }
+        if (oldStatus == null) {
+            totalVehicles.incrementAndGet();
+        } else {
+            counter(vehiclesByStatus, oldStatus).decrementAndGet();
+        }
+        if (newStatus == null) {
+            totalVehicles.decrementAndGet();
+        } else {
+            counter(vehiclesByStatus, newStatus).incrementAndGet();
+        }
+        version.incrementAndGet();
+    }
+
+    public void bookingCreated(Long userId, String status) {
+        totalBookings.incrementAndGet();
+        counter(bookingsByStatus, status).incrementAndGet();
+        counter(bookingsByUser.computeIfAbsent(userId, id -> new ConcurrentHashMap<>()), status).incrementAndGet();
+        version.incrementAndGet();
+    }
+
+    public void bookingStatusChanged(Long userId, String oldStatus, String newStatus) {
+        if (oldStatus != null && oldStatus.equals(newStatus)) {
+            return;
+        }
+        ConcurrentHashMap<String, AtomicLong> userCounts = bookingsByUser.computeIfAbsent(userId, id -> new ConcurrentHashMap<>());
+        counter(bookingsByStatus, oldStatus).decrementAndGet();
+        counter(userCounts, oldStatus).decrementAndGet();
+        counter(bookingsByStatus, newStatus).incrementAndGet();
+        counter(userCounts, newStatus).incrementAndGet();
+        version.incrementAndGet();
+    }
+
+    public void userRegistered() {
+        totalUsers.incrementAndGet();
+        version.incrementAndGet();
+    }
+
+    // Changes whenever any count may have; read it before the counts it stands for
+    public long getVersion() {
+        return version.get();
+    }
+
+    public long getTotalVehicles() {
+        return totalVehicles.get();
+    }
+
+    public long getTotalBookings() {
+        return totalBookings.get();
+    }
+
+    public long getTotalUsers() {
+        return totalUsers.get();
+    }
+
+    public long getVehicleCount(String status) {
+        return value(vehiclesByStatus, status);
+    }
+
+    public long getBookingCount(String status) {
+        return value(bookingsByStatus, status);
+    }
+
+    public long getUserBookingCount(Long userId) {
+        ConcurrentHashMap<String, AtomicLong> counts = bookingsByUser.get(userId);
+        if (counts == null) {
+            return 0;
+        }
+        long total = 0;
+        for (AtomicLong count : counts.values()) {
+            total += count.get();
+        }
+        return total;
+    }
+
+    public long getUserBookingCount(Long userId, String status) {
+        ConcurrentHashMap<String, AtomicLong> counts = bookingsByUser.get(userId);
+        return counts == null ? 0 : value(counts, status);
+    }
+
+    private static AtomicLong counter(ConcurrentHashMap<String, AtomicLong> counts, String status) {
+        return counts.computeIfAbsent(status == null ? "UNKNOWN" : status, key -> new AtomicLong());
+    }
+
+    private static long value(ConcurrentHashMap<String, AtomicLong> counts, String status) {
+        AtomicLong count = counts.get(status);
+        return count == null ? 0 : count.get();
+    }
+
+    private static void replace(ConcurrentHashMap<String, AtomicLong> counts, Map<String, Long> fresh) {
+        for (Map.Entry<String, AtomicLong> entry : counts.entrySet()) {
+            if (!fresh.containsKey(entry.getKey())) {
+                entry.getValue().set(0);
+            }
+        }
+        for (Map.Entry<String, Long> entry : fresh.entrySet()) {
+            counter(counts, entry.getKey()).set(entry.getValue());
+        }
+    }
+
+    private static Map<String, Long> toCounts(List<Object[]> rows) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put(row[0] == null ? "UNKNOWN" : (String) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    private static long sum(Map<String, Long> counts) {
+        long total = 0;
+        for (Long count : counts.values()) {
+            total += count;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,316 @@
+package com.example.NeuroFleetBackend.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.example.NeuroFleetBackend.dto.NearbyVehicle;
+import com.example.NeuroFleetBackend.dto.TelemetryUpdate;
+import com.example.NeuroFleetBackend.dto.VehicleSnapshot;
+import com.example.NeuroFleetBackend.model.Vehicle;
+import com.example.NeuroFleetBackend.repository.VehicleRepository;
+
+// Live, in-memory state of the whole fleet. Writes go to the database first and
+// are then applied here (write-through); vehicle reads are served from memory.
+@Service
+public class FleetStateCache {
+
+    private static final Logger log = LoggerFactory.getLogger(FleetStateCache.class);
+
+    private static final NavigableSet<Long> EMPTY = Collections.emptyNavigableSet();
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private GeoIndex geoIndex;
+
+    @Autowired
+    private FleetCounters counters;
+
+    private final ConcurrentHashMap<Long, VehicleSnapshot> vehicles = new ConcurrentHashMap<>();
+
+    // Ordered ids of all vehicles and per status / type, so reads and pages come out in id order
+    private final ConcurrentSkipListSet<Long> ids = new ConcurrentSkipListSet<>();
+    private final ConcurrentHashMap<String, NavigableSet<Long>> byStatus = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, NavigableSet<Long>> byType = new ConcurrentHashMap<>();
+
+    // Notified with the vehicle id after every change (e.g. the live stream)
+    private final List<LongConsumer> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean loaded;
+
+    // Bumped after every change is visible, so a version read before a read never runs ahead of it
+    private final AtomicLong version = new AtomicLong();
+
+    // Guards reload(), which blocks on a full table read (see docs/virtual-threads.md)
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    // Runs after the CommandLineRunners, so sample data is already seeded
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reload();
+    }
+
+    public void reload() {
+        reloadLock.lock();
+        try {
+            long started = System.currentTimeMillis();
+            List<Vehicle> all = vehicleRepository.findAll();
+
+            vehicles.clear();
+            ids.clear();
+            byStatus.clear();
+            byType.clear();
+            geoIndex.clear();
+            for (Vehicle vehicle : all) {
+                VehicleSnapshot snapshot = VehicleSnapshot.from(vehicle);
+                vehicles.put(snapshot.getId(), snapshot);
+                reindex(null, snapshot);
+            }
+            loaded = true;
+            version.incrementAndGet();
+
+            log.info("Fleet state loaded: {} vehicles in {} ms", all.size(), System.currentTimeMillis() - started);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    public void addListener(LongConsumer listener) {
+        listeners.add(listener);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public boolean contains(Long id) {
+        return vehicles.containsKey(id);
+    }
+
+    // Reads fall back to the database only until the warm-up has run
+    public VehicleSnapshot get(Long id) {
+        if (!loaded) {
+            return vehicleRepository.findById(id).map(VehicleSnapshot::from).orElse(null);
+        }
+        return vehicles.get(id);
+    }
+
+    public List<VehicleSnapshot> getAll() {
+        if (!loaded) {
+            return toSnapshots(vehicleRepository.findAll());
+        }
+        List<VehicleSnapshot> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            VehicleSnapshot snapshot = vehicles.get(id);
+            if (snapshot != null) {
+                result.add(snapshot);
+            }
+        }
+        return result;
+    }
+
+    public List<VehicleSnapshot> getByStatus(String status) {
+        if (!loaded) {
+            return toSnapshots(vehicleRepository.findByStatus(status));
+        }
+        List<VehicleSnapshot> result = new ArrayList<>();
+        for (Long id : byStatus.getOrDefault(status, EMPTY)) {
+            VehicleSnapshot snapshot = vehicles.get(id);
+            // The index can briefly lag a concurrent transition, so re-check the snapshot
+            if (snapshot != null && status.equals(snapshot.getStatus())) {
+                result.add(snapshot);
+            }
+        }
+        return result;
+    }
+
+    public List<VehicleSnapshot> getByType(String type) {
+        if (!loaded) {
+            return toSnapshots(vehicleRepository.findByType(type));
+        }
+        List<VehicleSnapshot> result = new ArrayList<>();
+        for (Long id : byType.getOrDefault(type, EMPTY)) {
+            VehicleSnapshot snapshot = vehicles.get(id);
+            if (snapshot != null && type.equals(snapshot.getType())) {
+                result.add(snapshot);
+            }
+        }
+        return result;
+    }
+
+    // Up to limit vehicles with id > afterId in id order, optionally filtered by status and type
+    public List<VehicleSnapshot> page(Long afterId, String status, String type, int limit) {
+        if (!loaded) {
+            return toSnapshots(vehicleRepository.findPage(afterId, status, type, Limit.of(limit)));
+        }
+        NavigableSet<Long> candidates = status != null ? byStatus.getOrDefault(status, EMPTY)
+                : type != null ? byType.getOrDefault(type, EMPTY)
+                : ids;
+        // Walks forward from the cursor in id order and stops after limit matches, so a page
+        // costs O(log n + limit) plus any ids the type filter skips when both filters are given
+        List<VehicleSnapshot> result = new ArrayList<>(Math.min(limit, 256));
+        for (Long id : afterId != null ? candidates.tailSet(afterId, false) : candidates) {
+            if (result.size() >= limit) {
+                break;
+            }
+            VehicleSnapshot snapshot = vehicles.get(id);
+            if (snapshot != null && (status == null || status.equals(snapshot.getStatus()))
+                    && (type == null || type.equals(snapshot.getType()))) {
+                result.add(snapshot);
+            }
+        }
+        return result;
+    }
+
+    // Nearest AVAILABLE vehicles (optionally of one type) within radiusKm, closest first
+    public List<NearbyVehicle> findNearbyAvailable(double latitude, double longitude, double radiusKm,
+                                                   String type, int limit) {
+        List<NearbyVehicle> result = new ArrayList<>();
+        if (!loaded) {
+            for (Vehicle vehicle : vehicleRepository.findAvailableNearby(latitude, longitude, radiusKm, type, limit)) {
+                result.add(new NearbyVehicle(
+                        GeoIndex.haversineKm(latitude, longitude, vehicle.getLatitude(), vehicle.getLongitude()),
+                        VehicleSnapshot.from(vehicle)));
+            }
+            return result;
+        }
+
+        List<GeoIndex.Neighbor> neighbors = geoIndex.nearest(latitude, longitude, radiusKm, limit, id -> {
+            VehicleSnapshot snapshot = vehicles.get(id);
+            return snapshot != null && "AVAILABLE".equals(snapshot.getStatus())
+                    && (type == null || type.equals(snapshot.getType()));
+        });
+        for (GeoIndex.Neighbor neighbor : neighbors) {
+            VehicleSnapshot snapshot = vehicles.get(neighbor.getId());
+            if (snapshot != null) {
+                result.add(new NearbyVehicle(neighbor.getDistanceKm(), snapshot));
+            }
+        }
+        return result;
+    }
+
+    // Full replace after the entity was saved (add/update vehicle)
+    public VehicleSnapshot put(Vehicle vehicle) {
+        VehicleSnapshot snapshot = VehicleSnapshot.from(vehicle);
+        vehicles.compute(snapshot.getId(), (id, previous) -> {
+            reindex(previous, snapshot);
+            counters.vehicleStatusChanged(previous != null ? previous.getStatus() : null, snapshot.getStatus());
+            return snapshot;
+        });
+        notifyChanged(snapshot.getId());
+        return snapshot;
+    }
+
+    // Status-only transition; keeps the live telemetry the database may not have yet
+    public VehicleSnapshot updateStatus(Long id, String status) {
+        VehicleSnapshot updated = vehicles.computeIfPresent(id, (key, previous) -> {
+            VehicleSnapshot next = previous.withStatus(status);
+            reindex(previous, next);
+            counters.vehicleStatusChanged(previous.getStatus(), status);
+            return next;
+        });
+        if (updated != null) {
+            notifyChanged(id);
+        }
+        return updated;
+    }
+
+    // Returns the new snapshot, or null if the vehicle is unknown
+    public VehicleSnapshot applyTelemetry(TelemetryUpdate update) {
+        VehicleSnapshot updated = vehicles.computeIfPresent(update.getVehicleId(), (id, previous) -> {
+            if (update.getTimestamp() != null && update.getTimestamp() < previous.getTelemetryTimestamp()) {
+                return previous;
+            }
+            VehicleSnapshot next = previous.withTelemetry(update);
+            geoIndex.update(id, next.getLatitude(), next.getLongitude());
+            return next;
+        });
+        if (updated != null) {
+            notifyChanged(updated.getId());
+        }
+        return updated;
+    }
+
+    public void remove(Long id) {
+        vehicles.computeIfPresent(id, (key, previous) -> {
+            reindex(previous, null);
+            counters.vehicleStatusChanged(previous.getStatus(), null);
+            return null;
+        });
+        notifyChanged(id);
+    }
+
+    private void notifyChanged(long id) {
+        version.incrementAndGet();
+        for (LongConsumer listener : listeners) {
+            listener.accept(id);
+        }
+    }
+
+    private void reindex(VehicleSnapshot previous, VehicleSnapshot next) {
+        if (next != null) {
+            ids.add(next.getId());
+        } else {
+            ids.remove(previous.getId());
+        }
+        move(byStatus, previous != null ? previous.getStatus() : null, next != null ? next.getStatus() : null,
+                previous != null ? previous.getId() : next.getId());
+        move(byType, previous != null ? previous.getType() : null, next != null ? next.getType() : null,
+                previous != null ? previous.getId() : next.getId());
+        if (next != null) {
+            geoIndex.update(next.getId(), next.getLatitude(), next.getLongitude());
+        } else {
+            geoIndex.remove(previous.getId());
+        }
+    }
+
+    private static void move(ConcurrentHashMap<String, NavigableSet<Long>> index, String from, String to, Long id) {
+        if (from != null && from.equals(to)) {
+            return;
+        }
+        if (from != null) {
+            NavigableSet<Long> members = index.get(from);
+            if (members != null) {
+                members.remove(id);
+            }
+        }
+        if (to != null) {
+            index.computeIfAbsent(to, key -> new ConcurrentSkipListSet<>()).add(id);
+        }
+    }
+
+    private static List<VehicleSnapshot> toSnapshots(List<Vehicle> entities) {
+        List<VehicleSnapshot> snapshots = new ArrayList<>(entities.size());
+        for (Vehicle vehicle : entities) {
+            snapshots.add(VehicleSnapshot.from(vehicle));
+        }
+        return sorted(snapshots);
+    }
+
+    private static List<VehicleSnapshot> sorted(List<VehicleSnapshot> snapshots) {
+        snapshots.sort(Comparator.comparing(VehicleSnapshot::getId));
+        return snapshots;
+    }
+}
@@ -0,0 +1,338 @@
+package com.example.NeuroFleetBackend.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.NeuroFleetBackend.dto.VehicleSnapshot;
+import com.example.NeuroFleetBackend.security.AuthenticatedUser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Server-sent live fleet stream. Each subscriber gets a "snapshot" event, then "delta"
+// events holding only the vehicles changed since the last tick plus the dashboard
+// counters when they moved. Changes are collected per tick and serialized once for
+// all subscribers; a subscriber that is still busy receiving skips ticks and later
+// gets one merged delta with only the latest state of each vehicle, so superseded
+// positions are dropped for slow consumers instead of queueing up.
+@Service
+public class FleetStreamService {
+
+    private static final String[] FLEET_COUNTERS = {
+        "totalVehicles", "availableVehicles", "inUseVehicles", "maintenanceVehicles", "bookedVehicles"
+    };
+
+    @Autowired
+    private FleetStateCache fleetState;
+
+    @Autowired
+    private FleetCounters counters;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${stream.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    @Value("${stream.history-ticks:20}")
+    private int historyTicks;
+
+    @Value("${stream.max-clients:10000}")
+    private int maxClients;
+
+    @Value("${stream.sender-threads:4}")
+    private int senderThreads;
+
+    // Vehicle ids changed since the last tick
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    private final ConcurrentHashMap<Long, Client> clients = new ConcurrentHashMap<>();
+    private final AtomicLong clientIds = new AtomicLong();
+
+    // Last few ticks by sequence number, for subscribers that fell behind
+    private final ConcurrentSkipListMap<Long, Delta> recent = new ConcurrentSkipListMap<>();
+    private long sequence;
+    private Map<String, Long> lastCounters;
+
+    private final AtomicLong eventsSent = new AtomicLong();
+    private final AtomicLong mergedSends = new AtomicLong();
+    private final AtomicLong snapshotResends = new AtomicLong();
+
+    private ExecutorService senders;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "fleet-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        fleetState.addListener(dirty::add);
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (Client client : clients.values()) {
+            client.emitter.complete();
+        }
+        clients.clear();
+        senders.shutdownNow();
+    }
+
+    // Returns null when the node already serves max-clients subscribers
+    public SseEmitter subscribe(AuthenticatedUser user) throws IOException {
+        if (clients.size() >= maxClients) {
+            return null;
+        }
+
+        boolean staff = "ADMIN".equals(user.getRole()) || "FLEET_MANAGER".equals(user.getRole());
+        Client client = new Client(clientIds.incrementAndGet(), new SseEmitter(timeoutMs), staff);
+        client.emitter.onCompletion(() -> clients.remove(client.id));
+        client.emitter.onTimeout(() -> clients.remove(client.id));
+        client.emitter.onError(error -> clients.remove(client.id));
+
+        // Registered busy so no tick sends to it before the snapshot is out
+        client.busy.set(true);
+        clients.put(client.id, client);
+        try {
+            sendSnapshot(client);
+        } catch (IOException | IllegalStateException e) {
+            clients.remove(client.id);
+            throw e;
+        } finally {
+            client.busy.set(false);
+        }
+        return client.emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${stream.flush-ms:500}")
+    public synchronized void tick() {
+        if (clients.isEmpty()) {
+            // New subscribers start from a snapshot, so nothing needs to be kept
+            dirty.clear();
+            lastCounters = null;
+            return;
+        }
+
+        Map<String, Long> counts = counterValues();
+        boolean countersChanged = !counts.equals(lastCounters);
+        lastCounters = counts;
+
+        if (!dirty.isEmpty() || countersChanged) {
+            List<VehicleSnapshot> changed = new ArrayList<>();
+            List<Long> removed = new ArrayList<>();
+            for (Long id : dirty) {
+                dirty.remove(id);
+                VehicleSnapshot snapshot = fleetState.get(id);
+                if (snapshot != null) {
+                    changed.add(snapshot);
+                } else {
+                    removed.add(id);
+                }
+            }
+            sequence++;
+            recent.put(sequence, new Delta(sequence, changed, removed, countersChanged ? counts : null));
+            while (recent.size() > historyTicks) {
+                recent.pollFirstEntry();
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        for (Client client : clients.values()) {
+            boolean behind = client.lastSeq < sequence;
+            if ((behind || now - client.lastSentAt >= heartbeatMs) && client.busy.compareAndSet(false, true)) {
+                senders.execute(() -> flush(client));
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return clients.size();
+    }
+
+    public long getEventsSent() {
+        return eventsSent.get();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", clients.size());
+        stats.put("sequence", recent.isEmpty() ? 0 : recent.lastKey());
+        stats.put("pendingVehicles", dirty.size());
+        stats.put("eventsSent", eventsSent.get());
+        stats.put("mergedSends", mergedSends.get());
+        stats.put("snapshotResends", snapshotResends.get());
+        return stats;
+    }
+
+    // Runs on a sender thread while client.busy is held
+    private void flush(Client client) {
+        try {
+            Map.Entry<Long, Delta> last = recent.lastEntry();
+            if (last == null || last.getKey() <= client.lastSeq) {
+                client.emitter.send(SseEmitter.event().comment("ping"));
+            } else if (recent.firstKey() > client.lastSeq + 1) {
+                // Missed more ticks than are kept: start over from a snapshot
+                snapshotResends.incrementAndGet();
+                sendSnapshot(client);
+            } else {
+                Collection<Delta> missed = recent.subMap(client.lastSeq, false, last.getKey(), true).values();
+                Delta delta = missed.size() == 1 ? last.getValue() : Delta.merge(missed);
+                if (missed.size() > 1) {
+                    mergedSends.incrementAndGet();
+                }
+                client.emitter.send(SseEmitter.event().name("delta").data(delta.json(client.staff, objectMapper)));
+                client.lastSeq = last.getKey();
+                eventsSent.incrementAndGet();
+            }
+            client.lastSentAt = System.currentTimeMillis();
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the emitter callbacks may not fire for a half-closed socket
+            clients.remove(client.id);
+            client.emitter.completeWithError(e);
+        } finally {
+            client.busy.set(false);
+        }
+    }
+
+    private void sendSnapshot(Client client) throws IOException {
+        // Read the sequence before the state so changes made meanwhile arrive as deltas
+        long seq = recent.isEmpty() ? 0 : recent.lastKey();
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("seq", seq);
+        payload.put("vehicles", fleetState.getAll());
+        payload.put("counters", visibleCounters(counterValues(), client.staff));
+        client.emitter.send(SseEmitter.event().name("snapshot").data(objectMapper.writeValueAsString(payload)));
+        client.lastSeq = seq;
+        client.lastSentAt = System.currentTimeMillis();
+        eventsSent.incrementAndGet();
+    }
+
+    // Same keys as the dashboard endpoints so clients can merge them directly
+    private Map<String, Long> counterValues() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        values.put("totalVehicles", counters.getTotalVehicles());
+        values.put("availableVehicles", counters.getVehicleCount("AVAILABLE"));
+        values.put("inUseVehicles", counters.getVehicleCount("IN_USE"));
+        values.put("maintenanceVehicles", counters.getVehicleCount("MAINTENANCE"));
+        values.put("bookedVehicles", counters.getVehicleCount("BOOKED"));
+        values.put("totalBookings", counters.getTotalBookings());
+        values.put("pendingBookings", counters.getBookingCount("PENDING"));
+        values.put("totalUsers", counters.getTotalUsers());
+        return values;
+    }
+
+    // Drivers only see fleet counts, not booking or user totals
+    private static Map<String, Long> visibleCounters(Map<String, Long> values, boolean staff) {
+        if (values == null || staff) {
+            return values;
+        }
+        Map<String, Long> fleet = new LinkedHashMap<>();
+        for (String key : FLEET_COUNTERS) {
+            fleet.put(key, values.get(key));
+        }
+        return fleet;
+    }
+
+    private static final class Client {
+
+        private final long id;
+        private final SseEmitter emitter;
+        private final boolean staff;
+        private final AtomicBoolean busy = new AtomicBoolean();
+        private volatile long lastSeq;
+        private volatile long lastSentAt;
+
+        Client(long id, SseEmitter emitter, boolean staff) {
+            this.id = id;
+            this.emitter = emitter;
+            this.staff = staff;
+        }
+    }
+
+    private static final class Delta {
+
+        private final long seq;
+        private final Collection<VehicleSnapshot> vehicles;
+        private final Collection<Long> removed;
+        private final Map<String, Long> counters;
+
+        // Serialized lazily, once per audience
+        private volatile String staffJson;
+        private volatile String fleetJson;
+
+        Delta(long seq, Collection<VehicleSnapshot> vehicles, Collection<Long> removed, Map<String, Long> counters) {
+            this.seq = seq;
+            this.vehicles = vehicles;
+            this.removed = removed;
+            this.counters = counters;
+        }
+
+        // Later ticks win: one entry per vehicle, the newest counters
+        static Delta merge(Collection<Delta> deltas) {
+            Map<Long, VehicleSnapshot> vehicles = new LinkedHashMap<>();
+            Map<Long, Boolean> removed = new LinkedHashMap<>();
+            Map<String, Long> counters = null;
+            long seq = 0;
+            for (Delta delta : deltas) {
+                for (VehicleSnapshot vehicle : delta.vehicles) {
+                    vehicles.put(vehicle.getId(), vehicle);
+                    removed.remove(vehicle.getId());
+                }
+                for (Long id : delta.removed) {
+                    vehicles.remove(id);
+                    removed.put(id, Boolean.TRUE);
+                }
+                if (delta.counters != null) {
+                    counters = delta.counters;
+                }
+                seq = delta.seq;
+            }
+            return new Delta(seq, vehicles.values(), removed.keySet(), counters);
+        }
+
+        String json(boolean staff, ObjectMapper objectMapper) throws JsonProcessingException {
+            String json = staff ? staffJson : fleetJson;
+            if (json == null) {
+                Map<String, Object> payload = new LinkedHashMap<>();
+                payload.put("seq", seq);
+                payload.put("vehicles", vehicles);
+                payload.put("removed", removed);
+                if (counters != null) {
+                    payload.put("counters", visibleCounters(counters, staff));
+                }
+                json = objectMapper.writeValueAsString(payload);
+                if (staff) {
+                    staffJson = json;
+                } else {
+                    fleetJson = json;
+                }
+            }
+            return json;
+        }
+    }
+}
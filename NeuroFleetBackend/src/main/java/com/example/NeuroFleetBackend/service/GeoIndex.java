@@ -0,0 +1,203 @@
+package com.example.NeuroFleetBackend.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Uniform lat/lon grid over vehicle positions. Each position lives in exactly one
+// cell, so a radius query only visits the cells overlapping its bounding box.
+@Component
+public class GeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final double cellDegrees;
+    private final int latCells;
+    private final int lonCells;
+
+    private final ConcurrentHashMap<Long, Point> points = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    public GeoIndex(@Value("${geo.index.cell-degrees:0.05}") double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+        this.latCells = (int) Math.ceil(180.0 / cellDegrees) + 1;
+        this.lonCells = (int) Math.ceil(360.0 / cellDegrees);
+    }
+
+    public void update(long id, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            remove(id);
+            return;
+        }
+        long cell = cellOf(latitude, longitude);
+        Point point = new Point(latitude, longitude, cell);
+        points.compute(id, (key, previous) -> {
+            if (previous == null || previous.cell != cell) {
+                if (previous != null) {
+                    removeFromCell(previous.cell, id);
+                }
+                cells.computeIfAbsent(cell, c -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+            return point;
+        });
+    }
+
+    public void remove(long id) {
+        points.computeIfPresent(id, (key, previous) -> {
+            removeFromCell(previous.cell, id);
+            return null;
+        });
+    }
+
+    public void clear() {
+        points.clear();
+        cells.clear();
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    // Up to limit entries within radiusKm, nearest first; filter is applied to ids before ranking
+    public List<Neighbor> nearest(double latitude, double longitude, double radiusKm, int limit, LongPredicate filter) {
+        if (limit <= 0 || radiusKm <= 0) {
+            return Collections.emptyList();
+        }
+
+        // Same sphere as haversineKm, so the box always contains the circle it is filtered by
+        double latSpan = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double minLat = Math.max(-90.0, latitude - latSpan);
+        double maxLat = Math.min(90.0, latitude + latSpan);
+        int minLatIdx = latIndex(minLat);
+        int maxLatIdx = latIndex(maxLat);
+
+        // Longitude span widens towards the poles; near them just take every column
+        double cosLat = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        int firstLonIdx = 0;
+        int lonColumns = lonCells;
+        if (cosLat > 1e-6) {
+            double lonSpan = latSpan / cosLat;
+            if (lonSpan < 180.0) {
+                firstLonIdx = lonIndex(longitude - lonSpan);
+                lonColumns = Math.min(lonCells, lonIndex(longitude + lonSpan) - firstLonIdx + 1);
+            }
+        }
+
+        // Farthest candidate on top so it can be evicted once the heap is full
+        PriorityQueue<Neighbor> best = new PriorityQueue<>(Comparator.comparingDouble(Neighbor::getDistanceKm).reversed());
+        long visitedCells = (long) (maxLatIdx - minLatIdx + 1) * lonColumns;
+        if (visitedCells > cells.size()) {
+            // Query covers more cells than are occupied: walk the occupied ones instead
+            for (Set<Long> ids : cells.values()) {
+                collect(ids, latitude, longitude, radiusKm, limit, filter, best);
+            }
+        } else {
+            for (int latIdx = minLatIdx; latIdx <= maxLatIdx; latIdx++) {
+                for (int i = 0; i < lonColumns; i++) {
+                    int lonIdx = Math.floorMod(firstLonIdx + i, lonCells);
+                    Set<Long> ids = cells.get((long) latIdx * lonCells + lonIdx);
+                    if (ids != null) {
+                        collect(ids, latitude, longitude, radiusKm, limit, filter, best);
+                    }
+                }
+            }
+        }
+
+        List<Neighbor> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Neighbor::getDistanceKm));
+        return result;
+    }
+
+    private void collect(Set<Long> ids, double latitude, double longitude, double radiusKm, int limit,
+                         LongPredicate filter, PriorityQueue<Neighbor> best) {
+        for (Long id : ids) {
+            Point point = points.get(id);
+            if (point == null) {
+                continue;
+            }
+            double distance = haversineKm(latitude, longitude, point.latitude, point.longitude);
+            if (distance > radiusKm) {
+                continue;
+            }
+            if (best.size() >= limit && distance >= best.peek().getDistanceKm()) {
+                continue;
+            }
+            if (filter != null && !filter.test(id)) {
+                continue;
+            }
+            best.offer(new Neighbor(id, distance));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+    }
+
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private void removeFromCell(long cell, long id) {
+        Set<Long> ids = cells.get(cell);
+        if (ids != null) {
+            ids.remove(id);
+        }
+    }
+
+    private long cellOf(double latitude, double longitude) {
+        return (long) latIndex(latitude) * lonCells + Math.floorMod(lonIndex(longitude), lonCells);
+    }
+
+    private int latIndex(double latitude) {
+        return Math.min(latCells - 1, (int) Math.floor((latitude + 90.0) / cellDegrees));
+    }
+
+    // Not wrapped, so a query box crossing the antimeridian stays contiguous
+    private int lonIndex(double longitude) {
+        return (int) Math.floor((longitude + 180.0) / cellDegrees);
+    }
+
+    private static final class Point {
+
+        private final double latitude;
+        private final double longitude;
+        private final long cell;
+
+        Point(double latitude, double longitude, long cell) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cell = cell;
+        }
+    }
+
+    public static final class Neighbor {
+
+        private final long id;
+        private final double distanceKm;
+
+        public Neighbor(long id, double distanceKm) {
+            this.id = id;
+            this.distanceKm = distanceKm;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+    }
+}
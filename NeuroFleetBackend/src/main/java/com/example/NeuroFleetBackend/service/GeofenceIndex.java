@@ -0,0 +1,256 @@
+package com.example.NeuroFleetBackend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import com.example.NeuroFleetBackend.model.Geofence;
+
+// Immutable lat/lon grid over geofence bounding boxes. Fences change rarely and
+// positions constantly, so the index is rebuilt on every fence change and lookups need
+// no locking. Each occupied cell lists the fences whose box overlaps it; a lookup reads
+// one cell and runs the exact shape test only on those. Fences spanning more than
+// maxCellsPerFence cells (a whole city) are kept aside and box-tested on every lookup.
+public final class GeofenceIndex {
+
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+
+    private final double cellDegrees;
+    private final int lonCells;
+
+    // Sorted by fence id, so sorted hit indexes are sorted ids
+    private final Fence[] fences;
+
+    // Occupied cells (sorted) and, for cell i, its fences at cellFences[cellStart[i]..cellStart[i + 1])
+    private final long[] cellKeys;
+    private final int[] cellStart;
+    private final int[] cellFences;
+
+    private final int[] largeFences;
+
+    private GeofenceIndex(double cellDegrees, Fence[] fences, long[] cellKeys, int[] cellStart, int[] cellFences,
+                          int[] largeFences) {
+        this.cellDegrees = cellDegrees;
+        this.lonCells = (int) Math.ceil(360.0 / cellDegrees);
+        this.fences = fences;
+        this.cellKeys = cellKeys;
+        this.cellStart = cellStart;
+        this.cellFences = cellFences;
+        this.largeFences = largeFences;
+    }
+
+    public static GeofenceIndex build(Collection<Geofence> geofences, double cellDegrees, int maxCellsPerFence) {
+        List<Geofence> sorted = new ArrayList<>(geofences);
+        sorted.sort(Comparator.comparing(Geofence::getId));
+        Fence[] fences = new Fence[sorted.size()];
+        for (int i = 0; i < fences.length; i++) {
+            fences[i] = new Fence(sorted.get(i));
+        }
+
+        int lonCells = (int) Math.ceil(360.0 / cellDegrees);
+        // (cell << 32 | fence index), sorted so each cell's fences end up together
+        long[] pairs = new long[Math.max(16, fences.length * 4)];
+        int pairCount = 0;
+        int[] large = new int[fences.length];
+        int largeCount = 0;
+        for (int i = 0; i < fences.length; i++) {
+            Fence fence = fences[i];
+            int minLatIdx = index(fence.minLat + 90.0, cellDegrees);
+            int maxLatIdx = index(fence.maxLat + 90.0, cellDegrees);
+            int minLonIdx = index(fence.minLon + 180.0, cellDegrees);
+            int maxLonIdx = Math.min(lonCells - 1, index(fence.maxLon + 180.0, cellDegrees));
+            long cells = (long) (maxLatIdx - minLatIdx + 1) * (maxLonIdx - minLonIdx + 1);
+            if (cells > maxCellsPerFence) {
+                large[largeCount++] = i;
+                continue;
+            }
+            for (int latIdx = minLatIdx; latIdx <= maxLatIdx; latIdx++) {
+                for (int lonIdx = minLonIdx; lonIdx <= maxLonIdx; lonIdx++) {
+                    if (pairCount == pairs.length) {
+                        pairs = Arrays.copyOf(pairs, pairs.length * 2);
+                    }
+                    pairs[pairCount++] = ((long) latIdx * lonCells + lonIdx) << 32 | i;
+                }
+            }
+        }
+        Arrays.sort(pairs, 0, pairCount);
+
+        long[] cellKeys = new long[pairCount];
+        int[] cellStart = new int[pairCount + 1];
+        int[] cellFences = new int[pairCount];
+        int cellCount = 0;
+        for (int p = 0; p < pairCount; p++) {
+            long cell = pairs[p] >>> 32;
+            if (cellCount == 0 || cellKeys[cellCount - 1] != cell) {
+                cellKeys[cellCount] = cell;
+                cellStart[cellCount] = p;
+                cellCount++;
+            }
+            cellFences[p] = (int) pairs[p];
+        }
+        cellStart[cellCount] = pairCount;
+
+        return new GeofenceIndex(cellDegrees, fences, Arrays.copyOf(cellKeys, cellCount),
+                Arrays.copyOf(cellStart, cellCount + 1), cellFences, Arrays.copyOf(large, largeCount));
+    }
+
+    // Fills hits with the indexes of every fence containing the point, in ascending order
+    public void lookup(double latitude, double longitude, Hits hits) {
+        hits.clear();
+        int lonIdx = Math.min(lonCells - 1, index(longitude + 180.0, cellDegrees));
+        long cell = (long) index(latitude + 90.0, cellDegrees) * lonCells + lonIdx;
+        int slot = Arrays.binarySearch(cellKeys, cell);
+        if (slot >= 0) {
+            for (int p = cellStart[slot]; p < cellStart[slot + 1]; p++) {
+                int fence = cellFences[p];
+                if (fences[fence].contains(latitude, longitude)) {
+                    hits.add(fence);
+                }
+            }
+        }
+        for (int fence : largeFences) {
+            if (fences[fence].contains(latitude, longitude)) {
+                hits.add(fence);
+            }
+        }
+        if (largeFences.length > 0) {
+            hits.sort();
+        }
+    }
+
+    public Fence fence(int index) {
+        return fences[index];
+    }
+
+    public int size() {
+        return fences.length;
+    }
+
+    public int cellCount() {
+        return cellKeys.length;
+    }
+
+    private static int index(double offset, double cellDegrees) {
+        return Math.max(0, (int) Math.floor(offset / cellDegrees));
+    }
+
+    // Shape of one fence, prepared for point tests
+    public static final class Fence {
+
+        private final long id;
+        private final String name;
+        private final String category;
+        private final boolean circle;
+        private final double latitude;
+        private final double longitude;
+        private final double radiusKm;
+        private final double[] lats;
+        private final double[] lons;
+        private final double minLat;
+        private final double maxLat;
+        private final double minLon;
+        private final double maxLon;
+
+        Fence(Geofence geofence) {
+            this.id = geofence.getId();
+            this.name = geofence.getName();
+            this.category = geofence.getCategory();
+            this.circle = "CIRCLE".equals(geofence.getShape());
+            if (circle) {
+                latitude = geofence.getLatitude();
+                longitude = geofence.getLongitude();
+                radiusKm = geofence.getRadiusMeters() / 1000.0;
+                lats = null;
+                lons = null;
+                double latSpan = radiusKm / KM_PER_DEGREE_LAT;
+                double lonSpan = radiusKm / (KM_PER_DEGREE_LAT * Math.max(1e-6, Math.cos(Math.toRadians(latitude))));
+                minLat = Math.max(-90.0, latitude - latSpan);
+                maxLat = Math.min(90.0, latitude + latSpan);
+                minLon = Math.max(-180.0, longitude - lonSpan);
+                maxLon = Math.min(180.0, longitude + lonSpan);
+            } else {
+                List<double[]> points = geofence.getPoints();
+                latitude = 0;
+                longitude = 0;
+                radiusKm = 0;
+                lats = new double[points.size()];
+                lons = new double[points.size()];
+                double lowLat = 90, highLat = -90, lowLon = 180, highLon = -180;
+                for (int i = 0; i < lats.length; i++) {
+                    lats[i] = points.get(i)[0];
+                    lons[i] = points.get(i)[1];
+                    lowLat = Math.min(lowLat, lats[i]);
+                    highLat = Math.max(highLat, lats[i]);
+                    lowLon = Math.min(lowLon, lons[i]);
+                    highLon = Math.max(highLon, lons[i]);
+                }
+                minLat = lowLat;
+                maxLat = highLat;
+                minLon = lowLon;
+                maxLon = highLon;
+            }
+        }
+
+        public boolean contains(double lat, double lon) {
+            if (lat < minLat || lat > maxLat || lon < minLon || lon > maxLon) {
+                return false;
+            }
+            if (circle) {
+                return GeoIndex.haversineKm(latitude, longitude, lat, lon) <= radiusKm;
+            }
+            // Crossing number: count polygon edges a ray going east from the point crosses
+            boolean inside = false;
+            for (int i = 0, j = lats.length - 1; i < lats.length; j = i++) {
+                if ((lats[i] > lat) != (lats[j] > lat)
+                        && lon < (lons[j] - lons[i]) * (lat - lats[i]) / (lats[j] - lats[i]) + lons[i]) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+    }
+
+    // Reusable result buffer, one per thread
+    public static final class Hits {
+
+        private int[] items = new int[16];
+        private int size;
+
+        void clear() {
+            size = 0;
+        }
+
+        void add(int index) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = index;
+        }
+
+        void sort() {
+            Arrays.sort(items, 0, size);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int get(int i) {
+            return items[i];
+        }
+    }
+}
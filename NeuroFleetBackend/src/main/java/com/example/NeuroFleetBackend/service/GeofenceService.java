@@ -0,0 +1,390 @@
+package com.example.NeuroFleetBackend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.NeuroFleetBackend.dto.GeofenceEvent;
+import com.example.NeuroFleetBackend.dto.VehicleSnapshot;
+import com.example.NeuroFleetBackend.model.Geofence;
+import com.example.NeuroFleetBackend.repository.GeofenceRepository;
+
+import jakarta.annotation.PostConstruct;
+
+// Geofences and the enter/exit events of vehicles crossing them. Every change to a
+// vehicle in the fleet state (so every accepted telemetry ping, HTTP or gateway) runs a
+// lookup against the fence index on the ingesting thread. Only a change in the set of
+// fences a vehicle is inside produces events, so a vehicle parked in a depot costs one
+// lookup per ping and nothing else.
+@Service
+public class GeofenceService {
+
+    private static final Logger log = LoggerFactory.getLogger(GeofenceService.class);
+
+    public static final List<String> CATEGORIES = List.of("DEPOT", "CITY", "RESTRICTED", "OTHER");
+    private static final long[] NO_FENCES = new long[0];
+
+    @Autowired
+    private GeofenceRepository geofenceRepository;
+
+    @Autowired
+    private FleetStateCache fleetState;
+
+    @Value("${geofence.index.cell-degrees:0.01}")
+    private double cellDegrees;
+
+    @Value("${geofence.index.max-cells-per-fence:4096}")
+    private int maxCellsPerFence;
+
+    @Value("${geofence.max-points:1000}")
+    private int maxPoints;
+
+    @Value("${geofence.events.retained:10000}")
+    private int retainedEvents;
+
+    private final ConcurrentHashMap<Long, Geofence> fences = new ConcurrentHashMap<>();
+    private volatile GeofenceIndex index;
+
+    // Guards index rebuilds and reload(), which blocks on a full table read
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // Sorted ids of the fences each vehicle is currently inside
+    private final ConcurrentHashMap<Long, Inside> inside = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<GeofenceIndex.Hits> hits = ThreadLocal.withInitial(GeofenceIndex.Hits::new);
+
+    // Most recent events, oldest first. Numbered and appended under eventLock so a reader
+    // polling with ?after= never sees a later seq before an earlier one
+    private final ArrayDeque<GeofenceEvent> events = new ArrayDeque<>();
+    private final ReentrantLock eventLock = new ReentrantLock();
+    private long eventSeq;
+
+    private final AtomicLong checks = new AtomicLong();
+    private final AtomicLong checkNanos = new AtomicLong();
+    private final AtomicLong enters = new AtomicLong();
+    private final AtomicLong exits = new AtomicLong();
+
+    private static final class Inside {
+        final long[] fenceIds;
+        // Device time of the position this was worked out from
+        final long timestamp;
+
+        Inside(long[] fenceIds, long timestamp) {
+            this.fenceIds = fenceIds;
+            this.timestamp = timestamp;
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        fleetState.addListener(this::check);
+    }
+
+    // Also picks up fences changed on other nodes
+    @Scheduled(fixedDelayString = "${geofence.refresh-ms:60000}")
+    public void reload() {
+        rebuildLock.lock();
+        try {
+            List<Geofence> all = geofenceRepository.findAll();
+            fences.clear();
+            for (Geofence fence : all) {
+                fences.put(fence.getId(), fence);
+            }
+            rebuild();
+            log.debug("Geofences loaded: {}", all.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public List<Geofence> findAll() {
+        List<Geofence> all = new ArrayList<>(fences.values());
+        all.sort(Comparator.comparing(Geofence::getId));
+        return all;
+    }
+
+    public Optional<Geofence> find(Long id) {
+        return Optional.ofNullable(fences.get(id));
+    }
+
+    // Throws IllegalArgumentException when the shape is invalid
+    public Geofence create(Geofence geofence) {
+        validate(geofence);
+        geofence.setId(null);
+        geofence.setUpdatedAt(LocalDateTime.now());
+        Geofence saved = geofenceRepository.save(geofence);
+        publish(saved);
+        return saved;
+    }
+
+    public Optional<Geofence> update(Long id, Geofence details) {
+        validate(details);
+        return geofenceRepository.findById(id).map(geofence -> {
+            geofence.setName(details.getName());
+            geofence.setCategory(details.getCategory());
+            geofence.setShape(details.getShape());
+            geofence.setLatitude(details.getLatitude());
+            geofence.setLongitude(details.getLongitude());
+            geofence.setRadiusMeters(details.getRadiusMeters());
+            geofence.setPoints(details.getPoints());
+            geofence.setUpdatedAt(LocalDateTime.now());
+            Geofence saved = geofenceRepository.save(geofence);
+            publish(saved);
+            return saved;
+        });
+    }
+
+    // Vehicles inside a deleted fence get no exit event
+    public boolean delete(Long id) {
+        if (!geofenceRepository.existsById(id)) {
+            return false;
+        }
+        geofenceRepository.deleteById(id);
+        rebuildLock.lock();
+        try {
+            fences.remove(id);
+            rebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+        return true;
+    }
+
+    // Runs on the thread that applied the change, for every vehicle change
+    public void check(long vehicleId) {
+        GeofenceIndex current = index;
+        if (current == null || !fleetState.isLoaded()) {
+            return;
+        }
+        VehicleSnapshot vehicle = fleetState.get(vehicleId);
+        if (vehicle == null) {
+            inside.remove(vehicleId);
+            return;
+        }
+        if (vehicle.getLatitude() == null || vehicle.getLongitude() == null) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        double latitude = vehicle.getLatitude();
+        double longitude = vehicle.getLongitude();
+        GeofenceIndex.Hits found = hits.get();
+        current.lookup(latitude, longitude, found);
+        Inside previous = inside.get(vehicleId);
+        boolean unchanged = sameFences(previous != null ? previous.fenceIds : NO_FENCES, current, found);
+        checks.incrementAndGet();
+        checkNanos.addAndGet(System.nanoTime() - started);
+        if (unchanged) {
+            return;
+        }
+
+        long timestamp = vehicle.getTelemetryTimestamp();
+        long[] now = new long[found.size()];
+        for (int i = 0; i < now.length; i++) {
+            now[i] = current.fence(found.get(i)).getId();
+        }
+        // Events are recorded while the vehicle's entry is locked, so they stay in order per vehicle
+        inside.compute(vehicleId, (id, state) -> {
+            // A newer position was evaluated in the meantime; this one is stale
+            if (state != null && timestamp < state.timestamp) {
+                return state;
+            }
+            long[] before = state != null ? state.fenceIds : NO_FENCES;
+            diff(before, now, vehicleId, latitude, longitude, timestamp);
+            return new Inside(now, timestamp);
+        });
+    }
+
+    // Fences the vehicle was inside at its last position
+    public List<Geofence> findContaining(Long vehicleId) {
+        Inside state = inside.get(vehicleId);
+        List<Geofence> result = new ArrayList<>();
+        if (state != null) {
+            for (long fenceId : state.fenceIds) {
+                Geofence fence = fences.get(fenceId);
+                if (fence != null) {
+                    result.add(fence);
+                }
+            }
+        }
+        return result;
+    }
+
+    // Events with seq > after, oldest first
+    public List<GeofenceEvent> findEvents(long after, Long vehicleId, int limit) {
+        List<GeofenceEvent> result = new ArrayList<>();
+        eventLock.lock();
+        try {
+            for (GeofenceEvent event : events) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                if (event.getSeq() > after && (vehicleId == null || event.getVehicleId() == vehicleId)) {
+                    result.add(event);
+                }
+            }
+        } finally {
+            eventLock.unlock();
+        }
+        return result;
+    }
+
+    public int getFenceCount() {
+        GeofenceIndex current = index;
+        return current != null ? current.size() : 0;
+    }
+
+    public long getChecks() {
+        return checks.get();
+    }
+
+    public long getCheckNanos() {
+        return checkNanos.get();
+    }
+
+    public long getEnters() {
+        return enters.get();
+    }
+
+    public long getExits() {
+        return exits.get();
+    }
+
+    private void publish(Geofence saved) {
+        rebuildLock.lock();
+        try {
+            fences.put(saved.getId(), saved);
+            rebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuild() {
+        index = GeofenceIndex.build(fences.values(), cellDegrees, maxCellsPerFence);
+    }
+
+    private static boolean sameFences(long[] previous, GeofenceIndex current, GeofenceIndex.Hits found) {
+        if (previous.length != found.size()) {
+            return false;
+        }
+        for (int i = 0; i < previous.length; i++) {
+            if (previous[i] != current.fence(found.get(i)).getId()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Both arrays are sorted; fences deleted since the vehicle entered get no event
+    private void diff(long[] before, long[] now, long vehicleId, double latitude, double longitude, long timestamp) {
+        int i = 0;
+        int j = 0;
+        while (i < before.length || j < now.length) {
+            if (j == now.length || (i < before.length && before[i] < now[j])) {
+                record("EXIT", before[i++], vehicleId, latitude, longitude, timestamp);
+            } else if (i == before.length || now[j] < before[i]) {
+                record("ENTER", now[j++], vehicleId, latitude, longitude, timestamp);
+            } else {
+                i++;
+                j++;
+            }
+        }
+    }
+
+    private void record(String type, long fenceId, long vehicleId, double latitude, double longitude, long timestamp) {
+        Geofence fence = fences.get(fenceId);
+        if (fence == null) {
+            return;
+        }
+        if (type.equals("ENTER")) {
+            enters.incrementAndGet();
+        } else {
+            exits.incrementAndGet();
+        }
+        log.debug("Vehicle {} {} geofence {}", vehicleId, type, fence.getName());
+        eventLock.lock();
+        try {
+            events.addLast(new GeofenceEvent(++eventSeq, type, vehicleId, fenceId, fence.getName(),
+                    fence.getCategory(), latitude, longitude, timestamp));
+            if (events.size() > retainedEvents) {
+                events.pollFirst();
+            }
+        } finally {
+            eventLock.unlock();
+        }
+    }
+
+    private void validate(Geofence geofence) {
+        if (geofence.getName() == null || geofence.getName().isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        String category = geofence.getCategory() != null ? geofence.getCategory().toUpperCase() : "OTHER";
+        if (!CATEGORIES.contains(category)) {
+            throw new IllegalArgumentException("category must be one of " + CATEGORIES);
+        }
+        geofence.setCategory(category);
+
+        String shape = geofence.getShape() != null ? geofence.getShape().toUpperCase() : "";
+        geofence.setShape(shape);
+        if (shape.equals("CIRCLE")) {
+            Double latitude = geofence.getLatitude();
+            Double longitude = geofence.getLongitude();
+            Double radius = geofence.getRadiusMeters();
+            if (latitude == null || longitude == null || radius == null) {
+                throw new IllegalArgumentException("A circle needs latitude, longitude and radiusMeters");
+            }
+            checkPoint(latitude, longitude);
+            if (radius <= 0 || radius > 500_000) {
+                throw new IllegalArgumentException("radiusMeters must be between 0 and 500000");
+            }
+            double lonSpan = radius / 1000.0 / (111.32 * Math.cos(Math.toRadians(latitude)));
+            if (Math.abs(latitude) > 85 || longitude - lonSpan < -180 || longitude + lonSpan > 180) {
+                throw new IllegalArgumentException("Circles near the poles or across the antimeridian are not supported");
+            }
+            geofence.setPoints(null);
+        } else if (shape.equals("POLYGON")) {
+            List<double[]> points = geofence.getPoints();
+            if (points == null || points.size() < 3 || points.size() > maxPoints) {
+                throw new IllegalArgumentException("A polygon needs between 3 and " + maxPoints + " points");
+            }
+            double minLon = 180;
+            double maxLon = -180;
+            for (double[] point : points) {
+                if (point == null || point.length != 2) {
+                    throw new IllegalArgumentException("Points must be [latitude, longitude] pairs");
+                }
+                checkPoint(point[0], point[1]);
+                minLon = Math.min(minLon, point[1]);
+                maxLon = Math.max(maxLon, point[1]);
+            }
+            if (maxLon - minLon > 180) {
+                throw new IllegalArgumentException("Polygons across the antimeridian are not supported");
+            }
+            geofence.setLatitude(null);
+            geofence.setLongitude(null);
+            geofence.setRadiusMeters(null);
+        } else {
+            throw new IllegalArgumentException("shape must be CIRCLE or POLYGON");
+        }
+    }
+
+    private static void checkPoint(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.NeuroFleetBackend.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.example.NeuroFleetBackend.model.Booking;
+import com.example.NeuroFleetBackend.repository.BookingRepository;
+
+// Per-vehicle interval trees of the time windows held by active bookings.
+// A booking without an end time holds the vehicle indefinitely.
+@Service
+public class ReservationEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationEngine.class);
+
+    public static final List<String> ACTIVE_STATUSES = List.of("PENDING", "CONFIRMED", "IN_PROGRESS");
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final ConcurrentHashMap<Long, VehicleSchedule> schedules = new ConcurrentHashMap<>();
+
+    // Holds taken before the booking row has an id use negative ids
+    private final AtomicLong holdSequence = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        List<Booking> active = bookingRepository.findByStatusIn(ACTIVE_STATUSES);
+
+        schedules.clear();
+        for (Booking booking : active) {
+            // Undispatched bookings hold no vehicle time yet
+            if (booking.getVehicle() == null) {
+                continue;
+            }
+            long start = toMillis(booking.getStartTime(), booking.getBookingTime());
+            long end = toEndMillis(booking.getEndTime());
+            schedule(booking.getVehicle().getId()).add(booking.getId(), start, end);
+        }
+
+        log.info("Reservation engine rebuilt from {} active bookings in {} ms", active.size(),
+                System.currentTimeMillis() - started);
+    }
+
+    // Atomically checks and claims the window; returns a hold to bind to the saved booking, or null on conflict
+    public Hold tryHold(Long vehicleId, LocalDateTime start, LocalDateTime end) {
+        long holdId = -holdSequence.incrementAndGet();
+        if (!schedule(vehicleId).addIfFree(holdId, toMillis(start, null), toEndMillis(end))) {
+            return null;
+        }
+        return new Hold(vehicleId, holdId);
+    }
+
+    public void confirm(Hold hold, Long bookingId) {
+        schedule(hold.vehicleId).rebind(hold.holdId, bookingId);
+    }
+
+    public void cancel(Hold hold) {
+        release(hold.vehicleId, hold.holdId);
+    }
+
+    public void release(Long vehicleId, Long bookingId) {
+        VehicleSchedule schedule = schedules.get(vehicleId);
+        if (schedule != null) {
+            schedule.remove(bookingId);
+        }
+    }
+
+    public List<Long> findFreeVehicles(Collection<Long> vehicleIds, LocalDateTime start, LocalDateTime end) {
+        long startMillis = toMillis(start, null);
+        long endMillis = toEndMillis(end);
+        List<Long> free = new ArrayList<>();
+        for (Long vehicleId : vehicleIds) {
+            VehicleSchedule schedule = schedules.get(vehicleId);
+            if (schedule == null || !schedule.overlaps(startMillis, endMillis)) {
+                free.add(vehicleId);
+            }
+        }
+        return free;
+    }
+
+    private VehicleSchedule schedule(Long vehicleId) {
+        return schedules.computeIfAbsent(vehicleId, id -> new VehicleSchedule());
+    }
+
+    static long toMillis(LocalDateTime time, LocalDateTime fallback) {
+        LocalDateTime value = time != null ? time : (fallback != null ? fallback : LocalDateTime.now());
+        return value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    static long toEndMillis(LocalDateTime end) {
+        return end != null ? end.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : Long.MAX_VALUE;
+    }
+
+    public static final class Hold {
+
+        private final Long vehicleId;
+        private final long holdId;
+
+        private Hold(Long vehicleId, long holdId) {
+            this.vehicleId = vehicleId;
+            this.holdId = holdId;
+        }
+
+        public Long getVehicleId() {
+            return vehicleId;
+        }
+    }
+
+    private static final class VehicleSchedule {
+
+        private final IntervalTree tree = new IntervalTree();
+
+        // booking id -> [start, end] so entries can be removed or re-keyed
+        private final Map<Long, long[]> windows = new HashMap<>();
+
+        synchronized boolean overlaps(long start, long end) {
+            return tree.overlaps(start, end);
+        }
+
+        synchronized void add(long bookingId, long start, long end) {
+            long[] previous = windows.put(bookingId, new long[] { start, end });
+            if (previous != null) {
+                tree.remove(previous[0], bookingId);
+            }
+            tree.insert(start, end, bookingId);
+        }
+
+        synchronized boolean addIfFree(long bookingId, long start, long end) {
+            if (tree.overlaps(start, end)) {
+                return false;
+            }
+            add(bookingId, start, end);
+            return true;
+        }
+
+        synchronized void rebind(long oldId, long newId) {
+            long[] window = windows.remove(oldId);
+            if (window != null) {
+                tree.remove(window[0], oldId);
+                add(newId, window[0], window[1]);
+            }
+        }
+
+        synchronized void remove(long bookingId) {
+            long[] window = windows.remove(bookingId);
+            if (window != null) {
+                tree.remove(window[0], bookingId);
+            }
+        }
+    }
+}
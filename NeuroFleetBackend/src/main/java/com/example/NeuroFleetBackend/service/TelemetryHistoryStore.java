@@ -0,0 +1,407 @@
+package com.example.NeuroFleetBackend.service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.NeuroFleetBackend.dto.TelemetryUpdate;
+import com.example.NeuroFleetBackend.dto.TrackPoint;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Append-only telemetry history kept in memory-mapped segment files.
+// Each segment covers one time partition and holds fixed-width records;
+// a partition rolls over into a new segment when the current one is full.
+@Service
+public class TelemetryHistoryStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TelemetryHistoryStore.class);
+
+    private static final int MAGIC = 0x4E465453; // "NFTS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int COUNT_OFFSET = 24;
+
+    // vehicleId, timestamp, latitude, longitude, speed, batteryLevel, fuelLevel (missing values stored as NaN)
+    static final int RECORD_SIZE = 56;
+
+    private static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+
+    @Value("${telemetry.history.dir:data/telemetry}")
+    private String directory;
+
+    @Value("${telemetry.history.segment-minutes:60}")
+    private long segmentMinutes;
+
+    @Value("${telemetry.history.segment-capacity:262144}")
+    private int segmentCapacity;
+
+    @Value("${telemetry.history.retention-hours:72}")
+    private long retentionHours;
+
+    @Value("${telemetry.history.max-points:10000}")
+    private int maxPoints;
+
+    // Same bound as TelemetryIngestionService.validate
+    @Value("${telemetry.max-clock-skew-ms:60000}")
+    private long maxClockSkewMs;
+
+    private Path root;
+    private long partitionMillis;
+    private long retentionMillis;
+
+    // Partition start (epoch millis) -> segments of that partition
+    private final ConcurrentSkipListMap<Long, Partition> partitions = new ConcurrentSkipListMap<>();
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (segmentCapacity <= 0 || segmentCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("telemetry.history.segment-capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        root = Paths.get(directory);
+        Files.createDirectories(root);
+        partitionMillis = TimeUnit.MINUTES.toMillis(segmentMinutes);
+        retentionMillis = TimeUnit.HOURS.toMillis(retentionHours);
+
+        List<Segment> existing = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root, "telemetry-*.seg")) {
+            for (Path file : files) {
+                Segment segment = Segment.open(file);
+                if (segment == null) {
+                    log.warn("Skipping unreadable telemetry segment: {}", file);
+                    continue;
+                }
+                existing.add(segment);
+            }
+        }
+        existing.sort(Comparator.comparingLong((Segment s) -> s.partitionStart).thenComparingInt(s -> s.sequence));
+        for (Segment segment : existing) {
+            partitions.computeIfAbsent(segment.partitionStart, Partition::new).segments.add(segment);
+        }
+
+        log.info("Telemetry history opened with {} segments in {}", existing.size(), root.toAbsolutePath());
+    }
+
+    public boolean append(TelemetryUpdate update) {
+        long now = System.currentTimeMillis();
+        long timestamp = update.getTimestamp() != null ? update.getTimestamp() : now;
+        // Each future partition would preallocate a full segment that retention never removes
+        if (timestamp < now - retentionMillis || timestamp > now + maxClockSkewMs) {
+            return false;
+        }
+
+        long partitionStart = timestamp - Math.floorMod(timestamp, partitionMillis);
+        Partition partition = partitions.computeIfAbsent(partitionStart, Partition::new);
+        try {
+            return partition.append(update.getVehicleId(), timestamp,
+                    toRaw(update.getLatitude()), toRaw(update.getLongitude()), toRaw(update.getSpeed()),
+                    toRaw(update.getBatteryLevel()), toRaw(update.getFuelLevel()));
+        } catch (IOException e) {
+            log.warn("Failed to append telemetry for vehicle {}: {}", update.getVehicleId(), e.getMessage());
+            return false;
+        }
+    }
+
+    // Points for one vehicle in [from, to], oldest first, capped at the configured maximum
+    public List<TrackPoint> findTrack(long vehicleId, long from, long to, int limit) {
+        List<TrackPoint> points = new ArrayList<>();
+        long firstPartition = from - Math.floorMod(from, partitionMillis);
+        for (Partition partition : partitions.subMap(firstPartition, true, to, true).values()) {
+            for (Segment segment : partition.segments) {
+                segment.scan(vehicleId, from, to, points);
+            }
+        }
+
+        points.sort(Comparator.comparingLong(TrackPoint::getTimestamp));
+        int cap = Math.min(Math.max(limit, 1), maxPoints);
+        return points.size() > cap ? new ArrayList<>(points.subList(0, cap)) : points;
+    }
+
+    @Scheduled(fixedDelayString = "${telemetry.history.retention-check-ms:600000}")
+    public void enforceRetention() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        // A partition can go once its whole window is older than the cutoff
+        for (Long start : new ArrayList<>(partitions.headMap(cutoff - partitionMillis, true).keySet())) {
+            Partition partition = partitions.remove(start);
+            if (partition != null) {
+                partition.delete();
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long segments = 0;
+        long records = 0;
+        for (Partition partition : partitions.values()) {
+            for (Segment segment : partition.segments) {
+                segments++;
+                records += segment.size();
+            }
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("partitions", partitions.size());
+        stats.put("segments", segments);
+        stats.put("records", records);
+        stats.put("oldestPartition", partitions.isEmpty() ? null : partitions.firstKey());
+        return stats;
+    }
+
+    @PreDestroy
+    public void close() {
+        for (Partition partition : partitions.values()) {
+            partition.close();
+        }
+    }
+
+    private static double toRaw(Double value) {
+        return value != null ? value : Double.NaN;
+    }
+
+    private static Double fromRaw(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private final class Partition {
+
+        private final long start;
+        private final CopyOnWriteArrayList<Segment> segments = new CopyOnWriteArrayList<>();
+        // Not a monitor: rolling over creates and maps a new file while holding it
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean closed;
+
+        Partition(long start) {
+            this.start = start;
+        }
+
+        boolean append(long vehicleId, long timestamp, double latitude, double longitude,
+                       double speed, double batteryLevel, double fuelLevel) throws IOException {
+            lock.lock();
+            try {
+                if (closed) {
+                    return false;
+                }
+                Segment current = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+                if (current == null || current.isFull()) {
+                    int sequence = current == null ? 0 : current.sequence + 1;
+                    Path file = root.resolve("telemetry-" + start + "-" + sequence + ".seg");
+                    current = Segment.create(file, start, sequence, segmentCapacity);
+                    segments.add(current);
+                }
+                return current.append(vehicleId, timestamp, latitude, longitude, speed, batteryLevel, fuelLevel);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                closed = true;
+                for (Segment segment : segments) {
+                    segment.close();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void delete() {
+            lock.lock();
+            try {
+                close();
+                for (Segment segment : segments) {
+                    try {
+                        Files.deleteIfExists(segment.path);
+                    } catch (IOException e) {
+                        log.warn("Failed to delete telemetry segment {}: {}", segment.path, e.getMessage());
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class Segment {
+
+        private final Path path;
+        private final long partitionStart;
+        private final int sequence;
+        private final int capacity;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int count;
+
+        // Vehicle id -> record numbers in this segment
+        private final Map<Long, IntList> offsets = new HashMap<>();
+
+        // close() forces the mapping to disk under this lock, so readers must not wait on a monitor
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private Segment(Path path, long partitionStart, int sequence, int capacity,
+                        FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.partitionStart = partitionStart;
+            this.sequence = sequence;
+            this.capacity = capacity;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path path, long partitionStart, int sequence, int capacity) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_SIZE + (long) capacity * RECORD_SIZE);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(8, partitionStart);
+            buffer.putInt(16, capacity);
+            buffer.putInt(20, sequence);
+            buffer.putInt(COUNT_OFFSET, 0);
+            return new Segment(path, partitionStart, sequence, capacity, channel, buffer);
+        }
+
+        static Segment open(Path path) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (channel.size() < HEADER_SIZE) {
+                channel.close();
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            int capacity = buffer.getInt(16);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || capacity <= 0
+                    || channel.size() < HEADER_SIZE + (long) capacity * RECORD_SIZE) {
+                channel.close();
+                return null;
+            }
+
+            Segment segment = new Segment(path, buffer.getLong(8), buffer.getInt(20), capacity, channel, buffer);
+            int stored = Math.min(Math.max(buffer.getInt(COUNT_OFFSET), 0), capacity);
+            for (int i = 0; i < stored; i++) {
+                segment.index(buffer.getLong(HEADER_SIZE + i * RECORD_SIZE), i);
+            }
+            segment.count = stored;
+            return segment;
+        }
+
+        boolean isFull() {
+            lock.lock();
+            try {
+                return count >= capacity;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean append(long vehicleId, long timestamp, double latitude, double longitude,
+                       double speed, double batteryLevel, double fuelLevel) {
+            lock.lock();
+            try {
+                if (count >= capacity) {
+                    return false;
+                }
+                int position = HEADER_SIZE + count * RECORD_SIZE;
+                buffer.putLong(position, vehicleId);
+                buffer.putLong(position + 8, timestamp);
+                buffer.putDouble(position + 16, latitude);
+                buffer.putDouble(position + 24, longitude);
+                buffer.putDouble(position + 32, speed);
+                buffer.putDouble(position + 40, batteryLevel);
+                buffer.putDouble(position + 48, fuelLevel);
+                index(vehicleId, count);
+                count++;
+                // Publish the record only after it is fully written
+                buffer.putInt(COUNT_OFFSET, count);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void scan(long vehicleId, long from, long to, List<TrackPoint> out) {
+            lock.lock();
+            try {
+                IntList records = offsets.get(vehicleId);
+                if (records == null) {
+                    return;
+                }
+                for (int i = 0; i < records.size; i++) {
+                    int position = HEADER_SIZE + records.values[i] * RECORD_SIZE;
+                    long timestamp = buffer.getLong(position + 8);
+                    if (timestamp >= from && timestamp <= to) {
+                        out.add(new TrackPoint(timestamp,
+                                fromRaw(buffer.getDouble(position + 16)),
+                                fromRaw(buffer.getDouble(position + 24)),
+                                fromRaw(buffer.getDouble(position + 32)),
+                                fromRaw(buffer.getDouble(position + 40)),
+                                fromRaw(buffer.getDouble(position + 48))));
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close telemetry segment {}: {}", path, e.getMessage());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void index(long vehicleId, int record) {
+            offsets.computeIfAbsent(vehicleId, id -> new IntList()).add(record);
+        }
+    }
+
+    private static final class IntList {
+
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.NeuroFleetBackend.service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.NeuroFleetBackend.dto.TelemetryUpdate;
+
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class TelemetryIngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TelemetryIngestionService.class);
+
+    // COALESCE keeps the stored value for fields a ping did not report
+    private static final String UPDATE_SQL =
+            "UPDATE vehicles SET latitude = COALESCE(?, latitude), longitude = COALESCE(?, longitude), "
+            + "speed = COALESCE(?, speed), battery_level = COALESCE(?, battery_level), "
+            + "fuel_level = COALESCE(?, fuel_level), last_updated = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TelemetryHistoryStore historyStore;
+
+    @Autowired
+    private FleetStateCache fleetState;
+
+    @Value("${telemetry.max-pending:100000}")
+    private int maxPending;
+
+    @Value("${telemetry.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${telemetry.max-clock-skew-ms:60000}")
+    private long maxClockSkewMs;
+
+    // One pending entry per vehicle, newer pings are merged into it until the next flush
+    private final ConcurrentHashMap<Long, TelemetryUpdate> pending = new ConcurrentHashMap<>();
+
+    // A lock rather than synchronized: the flush blocks on JDBC, which would pin a virtual thread
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final AtomicLong acceptedTotal = new AtomicLong();
+    private final AtomicLong coalescedTotal = new AtomicLong();
+    private final AtomicLong rejectedTotal = new AtomicLong();
+    private final AtomicLong flushedRowsTotal = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushFailures = new AtomicLong();
+    private final AtomicLong flushMillisTotal = new AtomicLong();
+
+    private volatile long lastFlushAt;
+    private volatile long lastFlushLagMillis;
+    private volatile long lastFlushDurationMillis;
+    private volatile int lastFlushSize;
+
+    // Returns an error message, or null if the ping is acceptable
+    public String validate(TelemetryUpdate update) {
+        if (update == null || update.getVehicleId() == null) {
+            return "vehicleId is required";
+        }
+        if (update.getLatitude() != null && (update.getLatitude() < -90 || update.getLatitude() > 90)) {
+            return "Latitude must be between -90 and 90";
+        }
+        if (update.getLongitude() != null && (update.getLongitude() < -180 || update.getLongitude() > 180)) {
+            return "Longitude must be between -180 and 180";
+        }
+        if (update.getBatteryLevel() != null && (update.getBatteryLevel() < 0 || update.getBatteryLevel() > 100)) {
+            return "Battery level must be between 0 and 100";
+        }
+        if (update.getFuelLevel() != null && (update.getFuelLevel() < 0 || update.getFuelLevel() > 100)) {
+            return "Fuel level must be between 0 and 100";
+        }
+        // A timestamp from the future would open a history partition that retention never reaches
+        if (update.getTimestamp() != null && update.getTimestamp() > System.currentTimeMillis() + maxClockSkewMs) {
+            return "Timestamp must not be in the future";
+        }
+        return null;
+    }
+
+    // Queues a validated ping; returns false when the queue is full
+    public boolean offer(TelemetryUpdate update) {
+        long now = System.currentTimeMillis();
+        if (update.getTimestamp() == null) {
+            update.setTimestamp(now);
+        }
+        update.setReceivedAt(now);
+
+        if (pending.size() >= maxPending && !pending.containsKey(update.getVehicleId())) {
+            rejectedTotal.incrementAndGet();
+            return false;
+        }
+
+        pending.merge(update.getVehicleId(), update, (current, incoming) -> {
+            coalescedTotal.incrementAndGet();
+            return current.mergeWith(incoming);
+        });
+        acceptedTotal.incrementAndGet();
+
+        // Reads see the new position right away, the database catches up on the next flush
+        fleetState.applyTelemetry(update);
+
+        // History keeps every ping, the pending map only the latest state
+        historyStore.append(update);
+        return true;
+    }
+
+    public void recordRejected(int count) {
+        rejectedTotal.addAndGet(count);
+    }
+
+    @Scheduled(fixedDelayString = "${telemetry.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        List<TelemetryUpdate> batch = new ArrayList<>(pending.size());
+        long oldest = started;
+        for (Long vehicleId : pending.keySet()) {
+            TelemetryUpdate update = pending.remove(vehicleId);
+            if (update != null) {
+                batch.add(update);
+                oldest = Math.min(oldest, update.getReceivedAt());
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Timestamp flushedAt = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, flushBatchSize, (ps, update) -> {
+                ps.setObject(1, update.getLatitude(), Types.DOUBLE);
+                ps.setObject(2, update.getLongitude(), Types.DOUBLE);
+                ps.setObject(3, update.getSpeed(), Types.DOUBLE);
+                ps.setObject(4, update.getBatteryLevel(), Types.DOUBLE);
+                ps.setObject(5, update.getFuelLevel(), Types.DOUBLE);
+                ps.setTimestamp(6, flushedAt);
+                ps.setLong(7, update.getVehicleId());
+            });
+        } catch (DataAccessException e) {
+            // Put the batch back; anything that arrived meanwhile is newer and wins the merge
+            for (TelemetryUpdate update : batch) {
+                pending.merge(update.getVehicleId(), update, (current, failed) -> failed.mergeWith(current));
+            }
+            flushFailures.incrementAndGet();
+            log.warn("Telemetry flush failed for {} vehicles: {}", batch.size(), e.getMessage());
+            return;
+        }
+
+        long finished = System.currentTimeMillis();
+        flushedRowsTotal.addAndGet(batch.size());
+        flushCount.incrementAndGet();
+        flushMillisTotal.addAndGet(finished - started);
+        lastFlushAt = finished;
+        lastFlushLagMillis = finished - oldest;
+        lastFlushDurationMillis = finished - started;
+        lastFlushSize = batch.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public int getQueueDepth() {
+        return pending.size();
+    }
+
+    public long getAcceptedTotal() {
+        return acceptedTotal.get();
+    }
+
+    public long getCoalescedTotal() {
+        return coalescedTotal.get();
+    }
+
+    public long getRejectedTotal() {
+        return rejectedTotal.get();
+    }
+
+    public long getFlushedRowsTotal() {
+        return flushedRowsTotal.get();
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    public long getFlushMillisTotal() {
+        return flushMillisTotal.get();
+    }
+
+    public long getFlushFailures() {
+        return flushFailures.get();
+    }
+
+    public long getLastFlushLagMillis() {
+        return lastFlushLagMillis;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("queueDepth", pending.size());
+        metrics.put("maxPending", maxPending);
+        metrics.put("acceptedTotal", acceptedTotal.get());
+        metrics.put("coalescedTotal", coalescedTotal.get());
+        metrics.put("rejectedTotal", rejectedTotal.get());
+        metrics.put("flushedRowsTotal", flushedRowsTotal.get());
+        metrics.put("flushCount", flushCount.get());
+        metrics.put("flushFailures", flushFailures.get());
+        metrics.put("lastFlushAt", lastFlushAt);
+        metrics.put("lastFlushSize", lastFlushSize);
+        metrics.put("lastFlushLagMs", lastFlushLagMillis);
+        metrics.put("lastFlushDurationMs", lastFlushDurationMillis);
+        return metrics;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.NeuroFleetBackend.service;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+// Hierarchical timing wheel with the layout of the classic Linux timer wheel: six
+// levels of 64 slots, where a level L slot covers 64^L ticks. Scheduling is O(1), and so
+// is each tick; a timer is moved down a level at most five times before it fires.
+// Timers are bare long keys held in parallel arrays (about 20 bytes each) so millions fit
+// comfortably; there is no cancel, callers check on expiry whether the key still matters.
+// Not thread-safe.
+public final class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+    private static final int NONE = -1;
+
+    private final long tickMs;
+    private final int levels;
+    // Further out than this is parked in the top level and re-placed when it comes round
+    private final long maxDelta;
+    // Next tick to expire; tick t is due at t * tickMs
+    private long nextTick;
+
+    private final int[] heads;
+    private long[] keys;
+    private long[] dueTicks;
+    private int[] next;
+    private int used;
+    private int free = NONE;
+    private int size;
+
+    public TimingWheel(long tickMs, long nowMs, int initialCapacity) {
+        this(tickMs, nowMs, initialCapacity, LEVELS);
+    }
+
+    TimingWheel(long tickMs, long nowMs, int initialCapacity, int levels) {
+        this.tickMs = tickMs;
+        this.levels = levels;
+        this.maxDelta = (1L << (SLOT_BITS * levels)) - 1;
+        this.nextTick = Math.floorDiv(nowMs, tickMs) + 1;
+        heads = new int[levels * SLOTS];
+        Arrays.fill(heads, NONE);
+        int capacity = Math.max(16, initialCapacity);
+        keys = new long[capacity];
+        dueTicks = new long[capacity];
+        next = new int[capacity];
+    }
+
+    // Fires key on the first tick at or after dueMs; a time already passed fires on the next tick
+    public void schedule(long key, long dueMs) {
+        int timer = allocate();
+        keys[timer] = key;
+        dueTicks[timer] = -Math.floorDiv(-dueMs, tickMs);
+        size++;
+        place(timer);
+    }
+
+    // Runs every tick up to nowMs, passing each expired key to expired, earlier ticks first
+    public void advance(long nowMs, LongConsumer expired) {
+        long target = Math.floorDiv(nowMs, tickMs);
+        while (nextTick <= target) {
+            int index = (int) (nextTick & MASK);
+            // At the start of each lap of a level, pull the matching slot of the level above down
+            if (index == 0) {
+                for (int level = 1; level < levels; level++) {
+                    int slot = (int) ((nextTick >>> (SLOT_BITS * level)) & MASK);
+                    cascade(level * SLOTS + slot);
+                    if (slot != 0) {
+                        break;
+                    }
+                }
+            }
+            int timer = heads[index];
+            heads[index] = NONE;
+            while (timer != NONE) {
+                int following = next[timer];
+                long key = keys[timer];
+                release(timer);
+                expired.accept(key);
+                timer = following;
+            }
+            nextTick++;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void place(int timer) {
+        long due = Math.max(dueTicks[timer], nextTick);
+        long delta = Math.min(due - nextTick, maxDelta);
+        due = nextTick + delta;
+        int level = 0;
+        while (delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int bucket = level * SLOTS + (int) ((due >>> (SLOT_BITS * level)) & MASK);
+        next[timer] = heads[bucket];
+        heads[bucket] = timer;
+    }
+
+    private void cascade(int bucket) {
+        int timer = heads[bucket];
+        heads[bucket] = NONE;
+        while (timer != NONE) {
+            int following = next[timer];
+            place(timer);
+            timer = following;
+        }
+    }
+
+    private int allocate() {
+        if (free != NONE) {
+            int timer = free;
+            free = next[timer];
+            return timer;
+        }
+        if (used == keys.length) {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            dueTicks = Arrays.copyOf(dueTicks, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        return used++;
+    }
+
+    private void release(int timer) {
+        next[timer] = free;
+        free = timer;
+        size--;
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.NeuroFleetBackend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.NeuroFleetBackend.model.User;
+import com.example.NeuroFleetBackend.repository.UserRepository;
+
+// Users by username and by id, so authenticated requests don't query the users
+// table just to resolve who is calling. Entries expire after ttl-seconds and are
+// invalidated explicitly whenever a user is created or changed; the repository is
+// only hit on a miss. Cached users are detached entities and must not be modified.
+@Service
+public class UserCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${users.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${users.cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final ConcurrentHashMap<String, Entry> byUsername = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Entry> byId = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public Optional<User> findByUsername(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        Entry entry = fresh(byUsername.get(username));
+        if (entry != null) {
+            hits.incrementAndGet();
+            return Optional.of(entry.user);
+        }
+        misses.incrementAndGet();
+        Optional<User> user = userRepository.findByUsername(username);
+        user.ifPresent(this::put);
+        return user;
+    }
+
+    public Optional<User> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Entry entry = fresh(byId.get(id));
+        if (entry != null) {
+            hits.incrementAndGet();
+            return Optional.of(entry.user);
+        }
+        misses.incrementAndGet();
+        Optional<User> user = userRepository.findById(id);
+        user.ifPresent(this::put);
+        return user;
+    }
+
+    // Call after a user is created, renamed, or has its role or password changed
+    public void invalidate(User user) {
+        if (user.getId() != null) {
+            Entry removed = byId.remove(user.getId());
+            if (removed != null) {
+                byUsername.remove(removed.user.getUsername(), removed);
+            }
+        }
+        if (user.getUsername() != null) {
+            Entry removed = byUsername.remove(user.getUsername());
+            if (removed != null) {
+                byId.remove(removed.user.getId(), removed);
+            }
+        }
+        invalidations.incrementAndGet();
+    }
+
+    public void invalidateAll() {
+        byUsername.clear();
+        byId.clear();
+        invalidations.incrementAndGet();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        stats.put("size", byId.size());
+        stats.put("maxSize", maxEntries);
+        stats.put("ttlSeconds", ttlSeconds);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+
+    private void put(User user) {
+        if (byId.size() >= maxEntries) {
+            evict();
+        }
+        Entry entry = new Entry(user, System.currentTimeMillis() + ttlSeconds * 1000);
+        byId.put(user.getId(), entry);
+        byUsername.put(user.getUsername(), entry);
+    }
+
+    private Entry fresh(Entry entry) {
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt > System.currentTimeMillis()) {
+            return entry;
+        }
+        remove(entry);
+        evictions.incrementAndGet();
+        return null;
+    }
+
+    private void remove(Entry entry) {
+        byId.remove(entry.user.getId(), entry);
+        byUsername.remove(entry.user.getUsername(), entry);
+    }
+
+    // Expired entries first, then the soonest-to-expire down to 3/4 capacity
+    private synchronized void evict() {
+        if (byId.size() < maxEntries) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<Entry> live = new ArrayList<>();
+        for (Entry entry : byId.values()) {
+            if (entry.expiresAt <= now) {
+                remove(entry);
+                evictions.incrementAndGet();
+            } else {
+                live.add(entry);
+            }
+        }
+
+        int excess = live.size() - maxEntries * 3 / 4;
+        if (excess > 0) {
+            live.sort(Comparator.comparingLong(entry -> entry.expiresAt));
+            for (int i = 0; i < excess; i++) {
+                remove(live.get(i));
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final User user;
+        private final long expiresAt;
+
+        Entry(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package com.example.NeuroFleetBackend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.NeuroFleetBackend.dto.VehicleImportResult;
+import com.example.NeuroFleetBackend.dto.VehicleImportRow;
+import com.example.NeuroFleetBackend.model.Vehicle;
+import com.example.NeuroFleetBackend.repository.VehicleRepository;
+
+// Bulk upsert of vehicles by vehicleNumber. Rows are validated up front, then written in
+// chunks, one transaction per chunk: a single query finds the existing vehicles of the
+// chunk, new ones are inserted as JDBC batches (pooled ids, see Vehicle) and changed ones
+// are updated on commit. If a chunk fails in the database its rows are retried one at a
+// time so only the offending rows are reported.
+@Service
+public class VehicleImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(VehicleImportService.class);
+
+    private static final Set<String> STATUSES = Set.of("AVAILABLE", "BOOKED", "IN_USE", "MAINTENANCE");
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private FleetStateCache fleetState;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${vehicles.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${vehicles.import.max-rows:200000}")
+    private int maxRows;
+
+    @Value("${vehicles.import.max-errors:1000}")
+    private int maxErrors;
+
+    public VehicleImportResult importRows(List<VehicleImportRow> rows) {
+        if (rows.size() > maxRows) {
+            throw new IllegalArgumentException("At most " + maxRows + " vehicles can be imported at once");
+        }
+        return run(rows, new Report(maxErrors));
+    }
+
+    // Header row with column names (vehicleNumber required, any order), then one vehicle per line
+    public VehicleImportResult importCsv(Reader reader) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV is empty");
+        }
+        String[] columns = new String[header.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = header.get(i).trim();
+            if (!CsvColumns.KNOWN.contains(columns[i])) {
+                throw new IllegalArgumentException("Unknown CSV column: " + columns[i]);
+            }
+        }
+        int numberColumn = List.of(columns).indexOf("vehicleNumber");
+        if (numberColumn < 0) {
+            throw new IllegalArgumentException("CSV needs a vehicleNumber column");
+        }
+
+        Report report = new Report(maxErrors);
+        List<VehicleImportRow> rows = new ArrayList<>();
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            if (rows.size() == maxRows) {
+                throw new IllegalArgumentException("At most " + maxRows + " vehicles can be imported at once");
+            }
+            try {
+                rows.add(CsvColumns.toRow(columns, fields));
+            } catch (IllegalArgumentException e) {
+                // Keeps row numbers aligned; run() skips rows already reported
+                rows.add(null);
+                String vehicleNumber = numberColumn < fields.size() ? fields.get(numberColumn).trim() : null;
+                report.fail(rows.size(), vehicleNumber, e.getMessage());
+            }
+        }
+        return run(rows, report);
+    }
+
+    private VehicleImportResult run(List<VehicleImportRow> rows, Report report) {
+        long started = System.currentTimeMillis();
+
+        // Validate everything first; a vehicle number may only appear once per import
+        Map<String, Integer> firstRow = new HashMap<>();
+        List<Integer> valid = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            VehicleImportRow row = rows.get(i);
+            if (row == null) {
+                continue;
+            }
+            normalize(row);
+            String error = validate(row);
+            if (error == null) {
+                Integer previous = firstRow.putIfAbsent(row.getVehicleNumber(), i + 1);
+                if (previous != null) {
+                    error = "Duplicate vehicleNumber, already in row " + previous;
+                }
+            }
+            if (error != null) {
+                report.fail(i + 1, row.getVehicleNumber(), error);
+            } else {
+                valid.add(i);
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + chunkSize, valid.size()));
+            try {
+                report.apply(writeChunk(rows, chunk));
+            } catch (DataAccessException e) {
+                log.debug("Import chunk of {} rows failed, retrying row by row: {}", chunk.size(), e.getMessage());
+                for (Integer index : chunk) {
+                    try {
+                        report.apply(writeChunk(rows, List.of(index)));
+                    } catch (DataAccessException rowFailure) {
+                        report.fail(index + 1, rows.get(index).getVehicleNumber(),
+                                NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                    }
+                }
+            }
+        }
+
+        report.errors.sort(Comparator.comparingInt(VehicleImportResult.RowError::getRow));
+        long duration = System.currentTimeMillis() - started;
+        log.info("Vehicle import: {} rows, {} created, {} updated, {} failed in {} ms",
+                rows.size(), report.created, report.updated, report.failed, duration);
+        return new VehicleImportResult(rows.size(), report.created, report.updated, report.failed, duration,
+                report.errors, report.failed > report.errors.size());
+    }
+
+    // One transaction; the outcome only counts once it has committed
+    private ChunkOutcome writeChunk(List<VehicleImportRow> rows, List<Integer> chunk) {
+        ChunkOutcome outcome = transactionTemplate.execute(status -> {
+            List<String> numbers = new ArrayList<>(chunk.size());
+            for (Integer index : chunk) {
+                numbers.add(rows.get(index).getVehicleNumber());
+            }
+            Map<String, Vehicle> existing = new HashMap<>();
+            for (Vehicle vehicle : vehicleRepository.findByVehicleNumberIn(numbers)) {
+                existing.put(vehicle.getVehicleNumber(), vehicle);
+            }
+
+            ChunkOutcome result = new ChunkOutcome();
+            List<Vehicle> inserts = new ArrayList<>();
+            for (Integer index : chunk) {
+                VehicleImportRow row = rows.get(index);
+                Vehicle vehicle = existing.get(row.getVehicleNumber());
+                if (vehicle == null) {
+                    if (row.getModel() == null) {
+                        result.errors.add(new VehicleImportResult.RowError(index + 1, row.getVehicleNumber(),
+                                "model is required for a new vehicle"));
+                        continue;
+                    }
+                    vehicle = new Vehicle();
+                    vehicle.setVehicleNumber(row.getVehicleNumber());
+                    vehicle.setStatus("AVAILABLE");
+                    apply(row, vehicle);
+                    inserts.add(vehicle);
+                } else {
+                    // Managed entity, written on commit if anything changed
+                    apply(row, vehicle);
+                    result.updated.add(vehicle);
+                }
+            }
+            result.created.addAll(vehicleRepository.saveAll(inserts));
+            vehicleRepository.flush();
+            return result;
+        });
+
+        // Committed: publish to the in-memory fleet
+        for (Vehicle vehicle : outcome.created) {
+            fleetState.put(vehicle);
+        }
+        for (Vehicle vehicle : outcome.updated) {
+            fleetState.put(vehicle);
+        }
+        return outcome;
+    }
+
+    private static void normalize(VehicleImportRow row) {
+        row.setVehicleNumber(trimToNull(row.getVehicleNumber()));
+        row.setModel(trimToNull(row.getModel()));
+        row.setType(trimToNull(row.getType()));
+        String status = trimToNull(row.getStatus());
+        row.setStatus(status == null ? null : status.toUpperCase(Locale.ROOT));
+    }
+
+    private static String validate(VehicleImportRow row) {
+        if (row.getVehicleNumber() == null) {
+            return "vehicleNumber is required";
+        }
+        if (row.getVehicleNumber().length() > MAX_TEXT_LENGTH
+                || (row.getModel() != null && row.getModel().length() > MAX_TEXT_LENGTH)
+                || (row.getType() != null && row.getType().length() > MAX_TEXT_LENGTH)) {
+            return "Text fields must be at most " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (row.getStatus() != null && !STATUSES.contains(row.getStatus())) {
+            return "Status must be one of " + String.join(", ", STATUSES.stream().sorted().toList());
+        }
+        if (row.getLatitude() != null && (row.getLatitude() < -90 || row.getLatitude() > 90)) {
+            return "Latitude must be between -90 and 90";
+        }
+        if (row.getLongitude() != null && (row.getLongitude() < -180 || row.getLongitude() > 180)) {
+            return "Longitude must be between -180 and 180";
+        }
+        if (row.getSpeed() != null && row.getSpeed() < 0) {
+            return "Speed must not be negative";
+        }
+        if (row.getBatteryLevel() != null && (row.getBatteryLevel() < 0 || row.getBatteryLevel() > 100)) {
+            return "Battery level must be between 0 and 100";
+        }
+        if (row.getFuelLevel() != null && (row.getFuelLevel() < 0 || row.getFuelLevel() > 100)) {
+            return "Fuel level must be between 0 and 100";
+        }
+        return null;
+    }
+
+    // Only the fields the row sets
+    private static void apply(VehicleImportRow row, Vehicle vehicle) {
+        if (row.getModel() != null) {
+            vehicle.setModel(row.getModel());
+        }
+        if (row.getType() != null) {
+            vehicle.setType(row.getType());
+        }
+        if (row.getStatus() != null) {
+            vehicle.setStatus(row.getStatus());
+        }
+        if (row.getLatitude() != null) {
+            vehicle.setLatitude(row.getLatitude());
+        }
+        if (row.getLongitude() != null) {
+            vehicle.setLongitude(row.getLongitude());
+        }
+        if (row.getSpeed() != null) {
+            vehicle.setSpeed(row.getSpeed());
+        }
+        if (row.getBatteryLevel() != null) {
+            vehicle.setBatteryLevel(row.getBatteryLevel());
+        }
+        if (row.getFuelLevel() != null) {
+            vehicle.setFuelLevel(row.getFuelLevel());
+        }
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static final class ChunkOutcome {
+
+        private final List<Vehicle> created = new ArrayList<>();
+        private final List<Vehicle> updated = new ArrayList<>();
+        private final List<VehicleImportResult.RowError> errors = new ArrayList<>();
+    }
+
+    private static final class Report {
+
+        private final int maxErrors;
+        private final List<VehicleImportResult.RowError> errors = new ArrayList<>();
+        private int created;
+        private int updated;
+        private int failed;
+
+        Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void fail(int row, String vehicleNumber, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new VehicleImportResult.RowError(row, vehicleNumber, message));
+            }
+        }
+
+        void apply(ChunkOutcome outcome) {
+            created += outcome.created.size();
+            updated += outcome.updated.size();
+            for (VehicleImportResult.RowError error : outcome.errors) {
+                fail(error.getRow(), error.getVehicleNumber(), error.getMessage());
+            }
+        }
+    }
+
+    // CSV column names are the VehicleImportRow property names
+    private static final class CsvColumns {
+
+        private static final Set<String> KNOWN = Set.of("vehicleNumber", "model", "type", "status", "latitude",
+                "longitude", "speed", "batteryLevel", "fuelLevel");
+
+        static VehicleImportRow toRow(String[] columns, List<String> fields) {
+            if (fields.size() > columns.length) {
+                throw new IllegalArgumentException("Expected " + columns.length + " fields but got " + fields.size());
+            }
+            VehicleImportRow row = new VehicleImportRow();
+            for (int i = 0; i < fields.size(); i++) {
+                String value = fields.get(i);
+                switch (columns[i]) {
+                    case "vehicleNumber" -> row.setVehicleNumber(value);
+                    case "model" -> row.setModel(value);
+                    case "type" -> row.setType(value);
+                    case "status" -> row.setStatus(value);
+                    case "latitude" -> row.setLatitude(number(columns[i], value));
+                    case "longitude" -> row.setLongitude(number(columns[i], value));
+                    case "speed" -> row.setSpeed(number(columns[i], value));
+                    case "batteryLevel" -> row.setBatteryLevel(number(columns[i], value));
+                    case "fuelLevel" -> row.setFuelLevel(number(columns[i], value));
+                    default -> throw new IllegalStateException(columns[i]);
+                }
+            }
+            return row;
+        }
+
+        private static Double number(String column, String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            try {
+                return Double.valueOf(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(column + " is not a number: " + value);
+            }
+        }
+    }
+
+    // RFC 4180: comma separated, fields in double quotes may hold commas, quotes ("") and line breaks
+    private static final class CsvReader {
+
+        private final Reader reader;
+        private int peeked = -2;
+
+        CsvReader(Reader reader) {
+            this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+        }
+
+        // Fields of the next non-empty record, or null at the end of the input
+        List<String> next() throws IOException {
+            while (true) {
+                List<String> fields = new ArrayList<>();
+                StringBuilder field = new StringBuilder();
+                boolean quoted = false;
+                boolean any = false;
+                int c;
+                while ((c = read()) != -1) {
+                    any = true;
+                    if (quoted) {
+                        if (c == '"') {
+                            if (peek() == '"') {
+                                read();
+                                field.append('"');
+                            } else {
+                                quoted = false;
+                            }
+                        } else {
+                            field.append((char) c);
+                        }
+                    } else if (c == '"') {
+                        quoted = true;
+                    } else if (c == ',') {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    } else if (c == '\n' || c == '\r') {
+                        if (c == '\r' && peek() == '\n') {
+                            read();
+                        }
+                        break;
+                    } else {
+                        field.append((char) c);
+                    }
+                }
+                if (!any) {
+                    return null;
+                }
+                fields.add(field.toString());
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                return fields;
+            }
+        }
+
+        private int read() throws IOException {
+            if (peeked != -2) {
+                int c = peeked;
+                peeked = -2;
+                return c;
+            }
+            return reader.read();
+        }
+
+        private int peek() throws IOException {
+            if (peeked == -2) {
+                peeked = reader.read();
+            }
+            return peeked;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.NeuroFleetBackend.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Fixed pool of locks shared by vehicle id, so requests for the same vehicle
+// queue up in the JVM instead of racing to the database and retrying.
+@Component
+public class VehicleLockStripes {
+
+    private final ReentrantLock[] locks;
+
+    public VehicleLockStripes(@Value("${booking.lock-stripes:256}") int stripes) {
+        // Power of two so the stripe is a mask instead of a modulo
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public ReentrantLock lockFor(Long vehicleId) {
+        long id = vehicleId;
+        int hash = (int) (id ^ (id >>> 32));
+        hash ^= hash >>> 16;
+        return locks[hash & (locks.length - 1)];
+    }
+
+    public int size() {
+        return locks.length;
+    }
+}
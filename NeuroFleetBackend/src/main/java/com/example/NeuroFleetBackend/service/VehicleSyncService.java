@@ -0,0 +1,127 @@
+package com.example.NeuroFleetBackend.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.NeuroFleetBackend.dto.SyncToken;
+import com.example.NeuroFleetBackend.dto.VehicleChanges;
+import com.example.NeuroFleetBackend.dto.VehicleSnapshot;
+import com.example.NeuroFleetBackend.model.Vehicle;
+import com.example.NeuroFleetBackend.model.VehicleTombstone;
+import com.example.NeuroFleetBackend.repository.VehicleRepository;
+import com.example.NeuroFleetBackend.repository.VehicleTombstoneRepository;
+
+// Delta sync for clients that keep their own copy of the fleet. lastUpdated is stamped
+// by whichever node wrote the row, and a row can commit a little after its stamp (the
+// telemetry flush stamps the whole batch up front), so each sync re-reads from
+// skew-window before the previous one started. Clients upsert by id, so the overlap
+// only costs a few repeated vehicles, never a missed one.
+@Service
+public class VehicleSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(VehicleSyncService.class);
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private VehicleTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private DeviceKeyService deviceKeyService;
+
+    @Value("${sync.skew-window-ms:10000}")
+    private long skewWindowMs;
+
+    @Value("${sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+
+    // A null token means a full sync
+    @Transactional(readOnly = true)
+    public VehicleChanges changesSince(SyncToken token, int limit) {
+        LocalDateTime since;
+        LocalDateTime fromTime;
+        long afterId;
+        List<Long> removed;
+
+        if (token == null) {
+            since = LocalDateTime.now();
+            fromTime = BEGINNING;
+            afterId = 0;
+            removed = Collections.emptyList();
+        } else if (token.getAfterTime() != null) {
+            // Next page of a sync in progress; removals went out with its first page
+            since = token.getSince();
+            fromTime = token.getAfterTime();
+            afterId = token.getAfterId();
+            removed = Collections.emptyList();
+        } else {
+            since = LocalDateTime.now();
+            fromTime = windowStart(token);
+            afterId = 0;
+            removed = tombstoneRepository.findVehicleIdsDeletedSince(fromTime);
+        }
+
+        List<Vehicle> rows = vehicleRepository.findChangedAfter(fromTime, afterId, Limit.of(limit + 1));
+        boolean more = rows.size() > limit;
+        List<VehicleSnapshot> vehicles = new ArrayList<>(Math.min(rows.size(), limit));
+        for (int i = 0; i < rows.size() && i < limit; i++) {
+            vehicles.add(VehicleSnapshot.from(rows.get(i)));
+        }
+
+        SyncToken next;
+        if (more) {
+            Vehicle last = rows.get(limit - 1);
+            next = new SyncToken(since, last.getLastUpdated(), last.getId());
+        } else {
+            next = new SyncToken(since, null, null);
+        }
+        return new VehicleChanges(next.encode(), more, vehicles, removed);
+    }
+
+    // Tombstones older than the retention are gone, so such a token could miss deletions
+    public boolean isExpired(SyncToken token) {
+        return token != null && token.getAfterTime() == null
+                && windowStart(token).isBefore(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+    }
+
+    // Deletes the vehicle and its device key and leaves a tombstone in the same transaction
+    @Transactional
+    public Optional<Vehicle> delete(Long id) {
+        return vehicleRepository.findById(id).map(vehicle -> {
+            tombstoneRepository.save(new VehicleTombstone(vehicle.getId(), vehicle.getVehicleNumber(),
+                    LocalDateTime.now()));
+            vehicleRepository.delete(vehicle);
+            deviceKeyService.revoke(vehicle.getId());
+            return vehicle;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${sync.tombstone-purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = tombstoneRepository.deleteOlderThan(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        if (purged > 0) {
+            log.info("Purged {} vehicle tombstones", purged);
+        }
+    }
+
+    private LocalDateTime windowStart(SyncToken token) {
+        return token.getSince().minus(skewWindowMs, ChronoUnit.MILLIS);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.NeuroFleetBackend.config;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+
+import com.example.NeuroFleetBackend.dto.Columnar;
+import com.example.NeuroFleetBackend.dto.TrackColumns;
+import com.example.NeuroFleetBackend.dto.TrackPoint;
+import com.example.NeuroFleetBackend.dto.VehicleColumns;
+import com.example.NeuroFleetBackend.dto.VehicleSnapshot;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ColumnarHttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ColumnarHttpMessageConverter converter = new ColumnarHttpMessageConverter(objectMapper.getFactory());
+
+    @Test
+    void writesCborWithShortestHeadsAndFloats() throws IOException {
+        TrackColumns track = new TrackColumns(List.of(new TrackPoint(1000, 12.5, 77.5946, null, 80.0, null)));
+
+        String expected = "a7" + text("rows") + "01"
+                + text("timestamp") + "81" + "1903e8"
+                + text("latitude") + "81" + "fa41480000"
+                + text("longitude") + "81" + "fb" + Long.toHexString(Double.doubleToLongBits(77.5946))
+                + text("speed") + "81" + "f6"
+                + text("batteryLevel") + "81" + "fa42a00000"
+                + text("fuelLevel") + "81" + "f6";
+        assertArrayEquals(HexFormat.of().parseHex(expected), write(track, MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    void cborArraysRunAcrossBufferFlushes() throws IOException {
+        List<TrackPoint> points = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            points.add(new TrackPoint(-5, 12.9716, 77.5946, 40.0, null, 55.5));
+        }
+        byte[] cbor = write(new TrackColumns(points), MediaType.APPLICATION_CBOR);
+
+        // Map head, "rows": 3000 and the keys, then per column a 3-byte array head and 3000 values of 1, 9, 9, 5, 1 and 5 bytes
+        int keys = 1 + 5 + 3 + 10 + 9 + 10 + 6 + 13 + 10;
+        assertEquals(keys + 6 * 3 + 3000 * (1 + 9 + 9 + 5 + 1 + 5), cbor.length);
+        // First timestamp (-5) after the map head, "rows": 3000 and "timestamp"; last fuel level 55.5f
+        assertEquals(0x24, cbor[1 + 5 + 3 + 10 + 3] & 0xff);
+        assertEquals("fa425e0000", HexFormat.of().formatHex(cbor, cbor.length - 5, cbor.length));
+    }
+
+    @Test
+    void writesColumnarJson() throws IOException {
+        LocalDateTime updated = LocalDateTime.of(2025, 1, 6, 9, 30, 15, 250_000_000);
+        List<VehicleSnapshot> vehicles = List.of(
+                new VehicleSnapshot(1L, "KA-01-0001", "\u0160koda Kushaq", "CAR", "AVAILABLE",
+                        12.97, 77.59, 0.0, 90.0, null, updated, 0L),
+                new VehicleSnapshot(2L, "KA-01-0002", "Ace Gold", "TRUCK", "IN_USE",
+                        null, null, null, null, 40.0, null, 0L));
+
+        JsonNode json = objectMapper.readTree(write(new VehicleColumns(vehicles), ColumnarHttpMessageConverter.COLUMNS_JSON));
+
+        assertEquals(12, json.size());
+        assertEquals(2, json.get("rows").asInt());
+        assertEquals("[1,2]", json.get("id").toString());
+        assertEquals("\u0160koda Kushaq", json.get("model").get(0).asText());
+        assertEquals("[12.97,null]", json.get("latitude").toString());
+        assertEquals(updated.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                json.get("lastUpdated").get(0).asLong());
+        assertTrue(json.get("lastUpdated").get(1).isNull());
+    }
+
+    private byte[] write(Columnar body, MediaType contentType) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        HttpHeaders headers = new HttpHeaders();
+        converter.write(body, contentType, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return bytes;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        });
+        return bytes.toByteArray();
+    }
+
+    private static String text(String value) {
+        return HexFormat.of().formatHex(new byte[] { (byte) (0x60 | value.length()) })
+                + HexFormat.of().formatHex(value.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.NeuroFleetBackend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.example.NeuroFleetBackend.security.AuthenticatedUser;
+
+class ETagsTest {
+
+    private final AuthenticatedUser admin = new AuthenticatedUser(1L, "admin", "ADMIN");
+    private final AuthenticatedUser manager = new AuthenticatedUser(2L, "manager", "FLEET_MANAGER");
+    private final AuthenticatedUser customer = new AuthenticatedUser(3L, "alice", "CUSTOMER");
+    private final AuthenticatedUser otherCustomer = new AuthenticatedUser(4L, "bob", "CUSTOMER");
+
+    @Test
+    void tagsDifferByVersionRoleUserAndQuery() {
+        String tag = ETags.of(admin, false, 0, 7);
+        assertEquals(tag, ETags.of(admin, false, 0, 7));
+        assertFalse(tag.equals(ETags.of(admin, false, 0, 8)));
+        assertFalse(tag.equals(ETags.of(manager, false, 0, 7)));
+        assertFalse(tag.equals(ETags.of(admin, false, 1, 7)));
+        assertFalse(ETags.of(customer, true, 0, 7, 3).equals(ETags.of(otherCustomer, true, 0, 7, 3)));
+        assertFalse(ETags.of(customer, true, 0, 7, 3).equals(ETags.of(customer, true, 0, 73)));
+        assertTrue(tag.startsWith("\"") && tag.endsWith("\""));
+    }
+
+    @Test
+    void matchesListsWildcardsAndWeakTags() {
+        String tag = ETags.of(admin, false, 0, 7);
+        assertTrue(ETags.matches(tag, tag));
+        assertTrue(ETags.matches("\"x\", " + tag, tag));
+        assertTrue(ETags.matches("W/" + tag, tag));
+        assertTrue(ETags.matches("*", tag));
+        assertFalse(ETags.matches(null, tag));
+        assertFalse(ETags.matches("", tag));
+        assertFalse(ETags.matches(ETags.of(admin, false, 0, 6), tag));
+    }
+
+    @Test
+    void notModifiedCarriesTheValidatorAndCacheHeaders() {
+        String tag = ETags.of(admin, false, 0, 7);
+        ResponseEntity<Object> response = ETags.notModified(tag);
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(tag, response.getHeaders().getETag());
+        assertEquals("no-cache, private", response.getHeaders().getCacheControl());
+        assertTrue(response.getHeaders().getVary().contains("Authorization"));
+        assertEquals(null, response.getBody());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.NeuroFleetBackend.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.NeuroFleetBackend.dto.TelemetryUpdate;
+
+class FrameAuthenticatorTest {
+
+    private final Random random = new Random(7);
+
+    @Test
+    void hmacMatchesTheJdkImplementation() throws Exception {
+        for (int keyLength : new int[] { 1, 32, 64, 65, 200 }) {
+            byte[] key = bytes(keyLength);
+            byte[] message = bytes(100);
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+
+            HmacSha256 hmac = new HmacSha256(key);
+            byte[] out = new byte[HmacSha256.LENGTH];
+            for (int i = 0; i < 2; i++) {
+                hmac.update(message, 0, message.length);
+                hmac.doFinal(out, 0);
+                assertArrayEquals(mac.doFinal(message), out);
+            }
+        }
+    }
+
+    @Test
+    void signedFrameRoundTripsAndTamperingIsDetected() {
+        byte[] deviceKey = bytes(32);
+        byte[] challenge = bytes(FrameAuthenticator.CHALLENGE_LENGTH);
+        byte[] frame = new byte[TelemetryFrame.SIZE];
+
+        FrameAuthenticator.encodeAuth(frame, 0, 42L, deviceKey, challenge);
+        assertEquals(42L, FrameAuthenticator.authVehicleId(frame, 0));
+        assertTrue(FrameAuthenticator.verifyAuth(deviceKey, challenge, frame, 0));
+        assertFalse(FrameAuthenticator.verifyAuth(deviceKey, bytes(FrameAuthenticator.CHALLENGE_LENGTH), frame, 0));
+
+        FrameAuthenticator device = new FrameAuthenticator(deviceKey, challenge);
+        FrameAuthenticator server = new FrameAuthenticator(deviceKey, challenge);
+        TelemetryFrame.encode(frame, 0, TelemetryFrame.HAS_POSITION | TelemetryFrame.HAS_FUEL, 3, 1_700_000_000_000L,
+                12.9716, 77.5946, 0, 0, 64.25);
+        device.sign(frame, 0);
+        assertTrue(server.verify(frame, 0));
+
+        TelemetryFrame decoded = new TelemetryFrame();
+        decoded.decode(frame, 0);
+        TelemetryUpdate update = decoded.toUpdate(42L);
+        assertEquals(3, decoded.getSequence());
+        assertEquals(12.9716, update.getLatitude(), 1e-7);
+        assertEquals(77.5946, update.getLongitude(), 1e-7);
+        assertEquals(64.25, update.getFuelLevel());
+        assertNull(update.getSpeed());
+        assertNull(update.getBatteryLevel());
+        assertEquals(1_700_000_000_000L, update.getTimestamp());
+
+        frame[17] ^= 1;
+        assertFalse(server.verify(frame, 0));
+    }
+
+    private byte[] bytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
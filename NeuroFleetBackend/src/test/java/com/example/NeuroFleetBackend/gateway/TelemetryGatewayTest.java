@@ -0,0 +1,58 @@
+package com.example.NeuroFleetBackend.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.NeuroFleetBackend.service.DeviceKeyService;
+import com.example.NeuroFleetBackend.service.FleetStateCache;
+import com.example.NeuroFleetBackend.service.TelemetryIngestionService;
+
+class TelemetryGatewayTest {
+
+    private TelemetryGateway gateway;
+    private int port;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        gateway = new TelemetryGateway();
+        ReflectionTestUtils.setField(gateway, "telemetryIngestionService", mock(TelemetryIngestionService.class));
+        ReflectionTestUtils.setField(gateway, "fleetState", mock(FleetStateCache.class));
+        ReflectionTestUtils.setField(gateway, "deviceKeyService", mock(DeviceKeyService.class));
+        ReflectionTestUtils.setField(gateway, "enabled", true);
+        ReflectionTestUtils.setField(gateway, "port", 0);
+        ReflectionTestUtils.setField(gateway, "maxConnections", 10);
+        ReflectionTestUtils.setField(gateway, "idleTimeoutMs", 120000L);
+        ReflectionTestUtils.setField(gateway, "handshakeTimeoutMs", 200L);
+        gateway.start();
+        ServerSocketChannel server = (ServerSocketChannel) ReflectionTestUtils.getField(gateway, "server");
+        port = ((InetSocketAddress) server.getLocalAddress()).getPort();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        gateway.stop();
+    }
+
+    @Test
+    void closesConnectionsThatNeverAuthenticate() throws Exception {
+        try (Socket socket = new Socket("localhost", port)) {
+            // Well inside the idle timeout, so only the handshake deadline can close it
+            socket.setSoTimeout(5000);
+            InputStream in = socket.getInputStream();
+            assertEquals(20, in.readNBytes(20).length);
+            assertEquals(-1, in.read());
+        }
+        assertEquals(1, gateway.getHandshakeTimeouts());
+        assertEquals(0, gateway.getOpenConnections());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.NeuroFleetBackend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import com.example.NeuroFleetBackend.dto.BookingView;
+import com.example.NeuroFleetBackend.model.Booking;
+import com.example.NeuroFleetBackend.model.User;
+import com.example.NeuroFleetBackend.model.Vehicle;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Booking reads must cost one statement no matter how many rows, vehicles and users are involved
+@DataJpaTest(properties = {
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class BookingViewQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void listingIsOneQueryForFewBookings() {
+        assertListingQueryCount(3);
+    }
+
+    @Test
+    void listingIsOneQueryForManyBookings() {
+        assertListingQueryCount(60);
+    }
+
+    @Test
+    void detailIsOneQuery() {
+        Long id = seed(1);
+        BookingView view = countingQueries(1, () -> bookingRepository.findViewById(id).orElseThrow());
+        assertEquals("user0", view.getUser().getUsername());
+        assertEquals("KA-00-0000", view.getVehicle().getVehicleNumber());
+    }
+
+    private void assertListingQueryCount(int bookings) {
+        seed(bookings);
+        List<BookingView> page = countingQueries(1, () -> bookingRepository.findViewPage(
+                null, null, null, null, null, null, null, Limit.of(500)));
+        assertEquals(bookings, page.size());
+        assertTrue(page.stream().allMatch(view -> view.getVehicle().getModel() != null));
+    }
+
+    private <T> T countingQueries(long expected, Supplier<T> query) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        T result = query.get();
+        assertEquals(expected, statistics.getPrepareStatementCount());
+        return result;
+    }
+
+    // Every booking gets its own vehicle and user, the worst case for N+1 loading
+    private Long seed(int bookings) {
+        Long lastId = null;
+        for (int i = 0; i < bookings; i++) {
+            User user = entityManager.persist(new User("user" + i, "{noop}secret", "CUSTOMER"));
+
+            Vehicle vehicle = new Vehicle();
+            vehicle.setVehicleNumber(String.format("KA-%02d-%04d", i / 10000, i));
+            vehicle.setModel("Nexon EV");
+            vehicle.setType("CAR");
+            vehicle.setStatus("AVAILABLE");
+            entityManager.persist(vehicle);
+
+            LocalDateTime start = LocalDateTime.now().plusDays(i);
+            Booking booking = new Booking(vehicle, user, start, start.plusHours(4), "Koramangala", "Airport");
+            lastId = entityManager.persist(booking).getId();
+        }
+        return lastId;
+    }
+}
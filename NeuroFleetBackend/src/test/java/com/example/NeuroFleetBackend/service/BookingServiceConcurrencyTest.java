@@ -0,0 +1,161 @@
+package com.example.NeuroFleetBackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.NeuroFleetBackend.dto.BookingRequest;
+import com.example.NeuroFleetBackend.model.Booking;
+import com.example.NeuroFleetBackend.model.User;
+import com.example.NeuroFleetBackend.model.Vehicle;
+import com.example.NeuroFleetBackend.repository.BookingRepository;
+import com.example.NeuroFleetBackend.repository.VehicleRepository;
+
+class BookingServiceConcurrencyTest {
+
+    private static final int REQUESTS = 500;
+
+    private BookingService bookingService;
+    private BookingRepository bookingRepository;
+    private VehicleRepository vehicleRepository;
+    private Vehicle vehicle;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        vehicle = new Vehicle();
+        vehicle.setId(1L);
+        vehicle.setVehicleNumber("KA-01-0001");
+        vehicle.setModel("Nexon EV");
+        vehicle.setStatus("AVAILABLE");
+
+        user = new User();
+        user.setId(7L);
+        user.setUsername("customer");
+
+        AtomicLong ids = new AtomicLong();
+        bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(ids.incrementAndGet());
+            return booking;
+        });
+
+        vehicleRepository = mock(VehicleRepository.class);
+        when(vehicleRepository.findForBooking(1L)).thenReturn(Optional.of(vehicle));
+        when(vehicleRepository.save(any(Vehicle.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+
+        ReservationEngine reservationEngine = new ReservationEngine();
+        ReflectionTestUtils.setField(reservationEngine, "bookingRepository", bookingRepository);
+
+        bookingService = new BookingService();
+        ReflectionTestUtils.setField(bookingService, "bookingRepository", bookingRepository);
+        ReflectionTestUtils.setField(bookingService, "vehicleRepository", vehicleRepository);
+        ReflectionTestUtils.setField(bookingService, "reservationEngine", reservationEngine);
+        ReflectionTestUtils.setField(bookingService, "fleetState", mock(FleetStateCache.class));
+        ReflectionTestUtils.setField(bookingService, "counters", mock(FleetCounters.class));
+        ReflectionTestUtils.setField(bookingService, "lockStripes", new VehicleLockStripes(256));
+        ReflectionTestUtils.setField(bookingService, "lifecycle", mock(BookingLifecycleService.class));
+        ReflectionTestUtils.setField(bookingService, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(bookingService, "maxAttempts", 3);
+    }
+
+    @Test
+    void onlyOneImmediateBookingWinsTheVehicle() throws Exception {
+        LocalDateTime start = LocalDateTime.now();
+        assertEquals(1, race(start, start.plusHours(4)));
+        assertEquals("BOOKED", vehicle.getStatus());
+        verify(bookingRepository, times(1)).save(any(Booking.class));
+    }
+
+    @Test
+    void onlyOneFutureBookingWinsTheWindow() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(3);
+        assertEquals(1, race(start, start.plusHours(4)));
+        assertEquals("AVAILABLE", vehicle.getStatus());
+        verify(bookingRepository, times(1)).save(any(Booking.class));
+    }
+
+    @Test
+    void optimisticConflictIsRetriedWithoutLeakingTheHold() {
+        when(vehicleRepository.findForBooking(1L))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Vehicle.class, 1L))
+                .thenReturn(Optional.of(vehicle));
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking booking = bookingService.create(user, request(start, start.plusHours(2)));
+
+        assertEquals("PENDING", booking.getStatus());
+        verify(vehicleRepository, times(2)).findForBooking(1L);
+    }
+
+    // Fires REQUESTS identical bookings at once and returns how many succeeded
+    private int race(LocalDateTime start, LocalDateTime end) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(REQUESTS);
+        CountDownLatch ready = new CountDownLatch(REQUESTS);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < REQUESTS; i++) {
+                futures.add(pool.submit(() -> {
+                    ready.countDown();
+                    go.await();
+                    try {
+                        bookingService.create(user, request(start, end));
+                        succeeded.incrementAndGet();
+                    } catch (BookingException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            ready.await();
+            go.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(REQUESTS, succeeded.get() + rejected.get());
+        return succeeded.get();
+    }
+
+    private static BookingRequest request(LocalDateTime start, LocalDateTime end) {
+        BookingRequest request = new BookingRequest();
+        request.setVehicleId(1L);
+        request.setStartTime(start);
+        request.setEndTime(end);
+        request.setPickupLocation("Koramangala");
+        request.setDropLocation("Airport");
+        return request;
+    }
+}
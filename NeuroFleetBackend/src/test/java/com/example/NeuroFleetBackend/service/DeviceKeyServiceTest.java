@@ -0,0 +1,78 @@
+package com.example.NeuroFleetBackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.NeuroFleetBackend.model.DeviceKey;
+import com.example.NeuroFleetBackend.repository.DeviceKeyRepository;
+
+class DeviceKeyServiceTest {
+
+    private DeviceKeyRepository deviceKeyRepository;
+    private DeviceKeyService service;
+
+    @BeforeEach
+    void setUp() {
+        deviceKeyRepository = mock(DeviceKeyRepository.class);
+        service = new DeviceKeyService();
+        ReflectionTestUtils.setField(service, "deviceKeyRepository", deviceKeyRepository);
+    }
+
+    @Test
+    void reloadDoesNotReinstateAKeyRevokedWhileItRead() throws InterruptedException {
+        String key = service.issue(1L);
+        when(deviceKeyRepository.deleteByVehicleId(1L)).thenReturn(1);
+
+        // The snapshot still holds the key; the revoke arrives while the reload is reading it
+        runConcurrently(List.of(new DeviceKey(1L, key, LocalDateTime.now())), () -> service.revoke(1L));
+
+        assertNull(service.find(1L));
+    }
+
+    @Test
+    void reloadDoesNotDropAKeyIssuedWhileItRead() throws InterruptedException {
+        String old = service.issue(1L);
+        String[] fresh = new String[1];
+
+        runConcurrently(List.of(new DeviceKey(1L, old, LocalDateTime.now())), () -> fresh[0] = service.issue(1L));
+
+        // The issue waits for the reload, so the new key is applied last
+        assertArrayEquals(Base64.getDecoder().decode(fresh[0]), service.find(1L));
+    }
+
+    // Runs a reload whose findAll returns snapshot, and starts change once the read has begun
+    private void runConcurrently(List<DeviceKey> snapshot, Runnable change) throws InterruptedException {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch changed = new CountDownLatch(1);
+        when(deviceKeyRepository.findAll()).thenAnswer(invocation -> {
+            reading.countDown();
+            // With the lock the change cannot finish before the reload, so this times out
+            changed.await(300, TimeUnit.MILLISECONDS);
+            return snapshot;
+        });
+
+        Thread reload = new Thread(service::reload);
+        reload.start();
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+        Thread writer = new Thread(() -> {
+            change.run();
+            changed.countDown();
+        });
+        writer.start();
+        reload.join(5000);
+        writer.join(5000);
+    }
+}
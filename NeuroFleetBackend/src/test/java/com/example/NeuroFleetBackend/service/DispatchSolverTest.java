@@ -0,0 +1,138 @@
+package com.example.NeuroFleetBackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DispatchSolverTest {
+
+    private ForkJoinPool pool;
+    private DispatchSolver solver;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(2);
+        solver = new DispatchSolver(pool, 10, 50, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void optimalMatchesBruteForceOnSmallBatches() {
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            int pickups = 1 + random.nextInt(5);
+            int vehicles = 1 + random.nextInt(5);
+            double[][] p = points(random, pickups, 0.15);
+            double[][] v = points(random, vehicles, 0.15);
+
+            DispatchSolver.Result result = solver.optimal(p[0], p[1], v[0], v[1], Long.MAX_VALUE);
+
+            double[] best = bruteForce(p, v, 0, new boolean[vehicles], 0, 0);
+            assertEquals((int) best[0], result.getAssigned());
+            assertEquals(best[1], result.getTotalDistanceKm(), 1e-9);
+            assertOneToOneWithinLimit(result, p, v);
+        }
+    }
+
+    @Test
+    void greedyIsValidAndNeverBeatsOptimal() {
+        Random random = new Random(11);
+        double[][] p = points(random, 40, 0.2);
+        double[][] v = points(random, 45, 0.2);
+
+        DispatchSolver.Result optimal = solver.optimal(p[0], p[1], v[0], v[1], Long.MAX_VALUE);
+        DispatchSolver.Result greedy = solver.greedy(p[0], p[1], v[0], v[1]);
+
+        assertOneToOneWithinLimit(greedy, p, v);
+        assertTrue(optimal.getAssigned() >= greedy.getAssigned());
+        if (optimal.getAssigned() == greedy.getAssigned()) {
+            assertTrue(optimal.getTotalDistanceKm() <= greedy.getTotalDistanceKm() + 1e-9);
+        }
+    }
+
+    @Test
+    void solveFallsBackToGreedyAboveTheSizeLimitOrPastTheDeadline() {
+        Random random = new Random(3);
+        double[][] p = points(random, 60, 0.2);
+        double[][] v = points(random, 60, 0.2);
+        assertEquals(DispatchSolver.GREEDY, solver.solve(p[0], p[1], v[0], v[1], Long.MAX_VALUE).getAlgorithm());
+
+        double[][] fewPickups = points(random, 20, 0.2);
+        double[][] fewVehicles = points(random, 30, 0.2);
+        assertEquals(DispatchSolver.OPTIMAL, solver.solve(fewPickups[0], fewPickups[1],
+                fewVehicles[0], fewVehicles[1], Long.MAX_VALUE).getAlgorithm());
+        assertEquals(DispatchSolver.GREEDY, solver.solve(fewPickups[0], fewPickups[1],
+                fewVehicles[0], fewVehicles[1], System.nanoTime() - 1).getAlgorithm());
+    }
+
+    @Test
+    void leavesPickupsWithNoVehicleInRangeUnassigned() {
+        double[] pickupLat = { 12.97, 13.90 };
+        double[] pickupLon = { 77.59, 77.59 };
+        double[] vehicleLat = { 12.98, 12.99 };
+        double[] vehicleLon = { 77.60, 77.60 };
+
+        for (DispatchSolver.Result result : new DispatchSolver.Result[] {
+                solver.optimal(pickupLat, pickupLon, vehicleLat, vehicleLon, Long.MAX_VALUE),
+                solver.greedy(pickupLat, pickupLon, vehicleLat, vehicleLon) }) {
+            assertEquals(0, result.vehicleOf(0));
+            assertEquals(DispatchSolver.UNASSIGNED, result.vehicleOf(1));
+            assertFalse(result.getTotalDistanceKm() > 10);
+        }
+    }
+
+    private void assertOneToOneWithinLimit(DispatchSolver.Result result, double[][] p, double[][] v) {
+        boolean[] used = new boolean[v[0].length];
+        for (int i = 0; i < p[0].length; i++) {
+            int vehicle = result.vehicleOf(i);
+            if (vehicle == DispatchSolver.UNASSIGNED) {
+                continue;
+            }
+            assertFalse(used[vehicle]);
+            used[vehicle] = true;
+            assertTrue(GeoIndex.haversineKm(p[0][i], p[1][i], v[0][vehicle], v[1][vehicle]) <= 10);
+        }
+    }
+
+    // {assigned, total km} of the best assignment: most pickups served, then least distance
+    private static double[] bruteForce(double[][] p, double[][] v, int pickup, boolean[] used,
+                                       int assigned, double total) {
+        if (pickup == p[0].length) {
+            return new double[] { assigned, total };
+        }
+        double[] best = bruteForce(p, v, pickup + 1, used, assigned, total);
+        for (int j = 0; j < used.length; j++) {
+            double km = GeoIndex.haversineKm(p[0][pickup], p[1][pickup], v[0][j], v[1][j]);
+            if (used[j] || km > 10) {
+                continue;
+            }
+            used[j] = true;
+            double[] candidate = bruteForce(p, v, pickup + 1, used, assigned + 1, total + km);
+            used[j] = false;
+            if (candidate[0] > best[0] || (candidate[0] == best[0] && candidate[1] < best[1] - 1e-12)) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private static double[][] points(Random random, int count, double spanDegrees) {
+        double[][] points = new double[2][count];
+        for (int i = 0; i < count; i++) {
+            points[0][i] = 12.9 + random.nextDouble() * spanDegrees;
+            points[1][i] = 77.5 + random.nextDouble() * spanDegrees;
+        }
+        return points;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.NeuroFleetBackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.NeuroFleetBackend.dto.VehicleSnapshot;
+import com.example.NeuroFleetBackend.model.Vehicle;
+
+class FleetStateCacheTest {
+
+    private static final String[] STATUSES = { "AVAILABLE", "BOOKED", "IN_USE", "MAINTENANCE" };
+    private static final String[] TYPES = { "CAR", "VAN", "TRUCK", "BIKE" };
+
+    private FleetStateCache fleetState;
+
+    @BeforeEach
+    void setUp() {
+        fleetState = new FleetStateCache();
+        ReflectionTestUtils.setField(fleetState, "geoIndex", new GeoIndex(0.05));
+        ReflectionTestUtils.setField(fleetState, "counters", new FleetCounters());
+        ReflectionTestUtils.setField(fleetState, "loaded", true);
+    }
+
+    @Test
+    void pagesMatchASortedScanAfterChanges() {
+        Random random = new Random(11);
+        // Ids inserted out of order, then some removed and some moved between statuses
+        for (int i = 0; i < 2000; i++) {
+            long id = 1 + random.nextInt(5000);
+            fleetState.put(vehicle(id, STATUSES[random.nextInt(STATUSES.length)], TYPES[random.nextInt(TYPES.length)]));
+        }
+        for (int i = 0; i < 300; i++) {
+            fleetState.remove((long) 1 + random.nextInt(5000));
+            fleetState.updateStatus((long) 1 + random.nextInt(5000), STATUSES[random.nextInt(STATUSES.length)]);
+        }
+
+        for (String status : new String[] { null, "AVAILABLE", "MAINTENANCE", "RETIRED" }) {
+            for (String type : new String[] { null, "VAN" }) {
+                List<VehicleSnapshot> expected = new ArrayList<>();
+                for (VehicleSnapshot snapshot : fleetState.getAll()) {
+                    if ((status == null || status.equals(snapshot.getStatus()))
+                            && (type == null || type.equals(snapshot.getType()))) {
+                        expected.add(snapshot);
+                    }
+                }
+                assertEquals(expected, pageThrough(status, type, 37), status + "/" + type);
+            }
+        }
+    }
+
+    @Test
+    void listsComeOutInIdOrder() {
+        fleetState.put(vehicle(30L, "AVAILABLE", "CAR"));
+        fleetState.put(vehicle(10L, "AVAILABLE", "VAN"));
+        fleetState.put(vehicle(20L, "BOOKED", "CAR"));
+        assertEquals(List.of(10L, 20L, 30L), idsOf(fleetState.getAll()));
+        assertEquals(List.of(10L, 30L), idsOf(fleetState.getByStatus("AVAILABLE")));
+        assertEquals(List.of(20L, 30L), idsOf(fleetState.getByType("CAR")));
+        assertEquals(List.of(20L, 30L), idsOf(fleetState.page(10L, null, null, 5)));
+        assertEquals(List.of(10L), idsOf(fleetState.page(null, null, null, 1)));
+    }
+
+    private List<VehicleSnapshot> pageThrough(String status, String type, int limit) {
+        List<VehicleSnapshot> all = new ArrayList<>();
+        Long afterId = null;
+        while (true) {
+            List<VehicleSnapshot> page = fleetState.page(afterId, status, type, limit);
+            all.addAll(page);
+            if (page.size() < limit) {
+                return all;
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+    }
+
+    private static List<Long> idsOf(List<VehicleSnapshot> snapshots) {
+        List<Long> ids = new ArrayList<>();
+        for (VehicleSnapshot snapshot : snapshots) {
+            ids.add(snapshot.getId());
+        }
+        return ids;
+    }
+
+    private static Vehicle vehicle(long id, String status, String type) {
+        return new Vehicle(id, "KA-01-" + id, "Nexon EV", type, status, 12.97, 77.59, 0.0, 80.0, 60.0,
+                LocalDateTime.of(2025, 1, 6, 9, 30));
+    }
+}
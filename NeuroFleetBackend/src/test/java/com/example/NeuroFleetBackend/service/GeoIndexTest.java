@@ -0,0 +1,65 @@
+package com.example.NeuroFleetBackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class GeoIndexTest {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    @Test
+    void findsVehiclesJustInsideTheRadiusAcrossACellBoundary() {
+        GeoIndex index = new GeoIndex(0.05);
+        // Enough occupied cells elsewhere that the query walks its bounding box
+        for (int i = 0; i < 100; i++) {
+            index.update(1000 + i, 40.0 + i * 0.1, 10.0);
+        }
+        // Centre placed so the circle's northern edge reaches a little past the 12.9 cell line
+        double radiusKm = 10;
+        double reach = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double centreLat = 12.9 - reach + 0.00005;
+        double northLat = centreLat + Math.toDegrees((radiusKm - 0.0001) / EARTH_RADIUS_KM);
+        assertTrue(northLat > 12.9);
+        index.update(1, northLat, 77.5);
+
+        List<GeoIndex.Neighbor> found = index.nearest(centreLat, 77.5, radiusKm, 10, null);
+        assertEquals(1, found.size());
+        assertEquals(1L, found.get(0).getId());
+    }
+
+    @Test
+    void matchesALinearScan() {
+        Random random = new Random(17);
+        GeoIndex index = new GeoIndex(0.05);
+        double[][] points = new double[5000][];
+        for (int id = 0; id < points.length; id++) {
+            points[id] = new double[] { 12.6 + random.nextDouble() * 0.8, 77.2 + random.nextDouble() * 0.8 };
+            index.update(id, points[id][0], points[id][1]);
+        }
+        for (int query = 0; query < 200; query++) {
+            double lat = 12.6 + random.nextDouble() * 0.8;
+            double lon = 77.2 + random.nextDouble() * 0.8;
+            double radiusKm = 0.5 + random.nextDouble() * 15;
+
+            List<Double> expected = new ArrayList<>();
+            for (double[] point : points) {
+                double distance = GeoIndex.haversineKm(lat, lon, point[0], point[1]);
+                if (distance <= radiusKm) {
+                    expected.add(distance);
+                }
+            }
+            expected.sort(null);
+            List<GeoIndex.Neighbor> found = index.nearest(lat, lon, radiusKm, 25, null);
+            assertEquals(Math.min(25, expected.size()), found.size());
+            for (int i = 0; i < found.size(); i++) {
+                assertEquals(expected.get(i), found.get(i).getDistanceKm(), 1e-12);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.NeuroFleetBackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.NeuroFleetBackend.model.Geofence;
+
+class GeofenceIndexTest {
+
+    @Test
+    void lookupFindsTheSameFencesAsTestingEveryFence() {
+        Random random = new Random(11);
+        List<Geofence> fences = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            double latitude = 12.5 + random.nextDouble();
+            double longitude = 77.2 + random.nextDouble();
+            fences.add(random.nextBoolean()
+                    ? circle(id, latitude, longitude, 100 + random.nextDouble() * 3000)
+                    : square(id, latitude, longitude, 0.001 + random.nextDouble() * 0.02));
+        }
+        // Large enough to be kept out of the grid
+        fences.add(square(5000, 13.0, 77.7, 0.6));
+        GeofenceIndex index = GeofenceIndex.build(fences, 0.01, 1024);
+
+        GeofenceIndex.Hits hits = new GeofenceIndex.Hits();
+        for (int i = 0; i < 5000; i++) {
+            double latitude = 12.4 + random.nextDouble() * 1.2;
+            double longitude = 77.1 + random.nextDouble() * 1.2;
+            index.lookup(latitude, longitude, hits);
+
+            List<Long> expected = new ArrayList<>();
+            for (int f = 0; f < index.size(); f++) {
+                if (index.fence(f).contains(latitude, longitude)) {
+                    expected.add(index.fence(f).getId());
+                }
+            }
+            List<Long> found = new ArrayList<>();
+            for (int h = 0; h < hits.size(); h++) {
+                found.add(index.fence(hits.get(h)).getId());
+            }
+            assertEquals(expected, found);
+        }
+    }
+
+    @Test
+    void polygonAndCircleEdges() {
+        GeofenceIndex index = GeofenceIndex.build(List.of(
+                circle(1, 12.9716, 77.5946, 1000),
+                // L-shaped depot: the notch at the top right is outside
+                polygon(2, new double[][] { { 13.0, 77.0 }, { 13.0, 77.2 }, { 13.1, 77.2 }, { 13.1, 77.1 },
+                        { 13.2, 77.1 }, { 13.2, 77.0 } })), 0.01, 4096);
+        GeofenceIndex.Fence circle = index.fence(0);
+        GeofenceIndex.Fence depot = index.fence(1);
+
+        assertTrue(circle.contains(12.9716 + 0.99 / 111.2, 77.5946));
+        assertFalse(circle.contains(12.9716 + 1.01 / 111.2, 77.5946));
+        assertTrue(depot.contains(13.05, 77.15));
+        assertTrue(depot.contains(13.15, 77.05));
+        assertFalse(depot.contains(13.15, 77.15));
+    }
+
+    private static Geofence circle(long id, double latitude, double longitude, double radiusMeters) {
+        Geofence fence = new Geofence();
+        fence.setId(id);
+        fence.setShape("CIRCLE");
+        fence.setLatitude(latitude);
+        fence.setLongitude(longitude);
+        fence.setRadiusMeters(radiusMeters);
+        return fence;
+    }
+
+    private static Geofence square(long id, double latitude, double longitude, double half) {
+        return polygon(id, new double[][] { { latitude - half, longitude - half }, { latitude - half, longitude + half },
+                { latitude + half, longitude + half }, { latitude + half, longitude - half } });
+    }
+
+    private static Geofence polygon(long id, double[][] points) {
+        Geofence fence = new Geofence();
+        fence.setId(id);
+        fence.setShape("POLYGON");
+        fence.setPoints(new ArrayList<>(List.of(points)));
+        return fence;
+    }
+}
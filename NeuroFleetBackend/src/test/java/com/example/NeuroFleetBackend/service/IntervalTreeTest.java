@@ -0,0 +1,130 @@
+package com.example.NeuroFleetBackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class IntervalTreeTest {
+
+    @Test
+    void adjacentIntervalsDoNotOverlap() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(10, 20, 1);
+        assertFalse(tree.overlaps(20, 30));
+        assertFalse(tree.overlaps(0, 10));
+        assertTrue(tree.overlaps(19, 30));
+        assertTrue(tree.overlaps(0, 11));
+        assertEquals(List.of(), tree.findOverlapping(20, 30));
+        assertEquals(List.of(1L), tree.findOverlapping(15, 16));
+    }
+
+    @Test
+    void nestedIntervalsAreFoundFromEitherSide() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(0, 100, 1);
+        tree.insert(10, 20, 2);
+        tree.insert(40, 50, 3);
+        tree.insert(42, 44, 4);
+        assertTrue(tree.overlaps(60, 70));
+        assertEquals(List.of(1L), tree.findOverlapping(60, 70));
+        assertEquals(List.of(1L, 3L, 4L), sorted(tree.findOverlapping(43, 44)));
+        assertEquals(List.of(1L, 2L, 3L, 4L), sorted(tree.findOverlapping(-5, 105)));
+
+        assertTrue(tree.remove(0, 1));
+        assertFalse(tree.overlaps(60, 70));
+        assertEquals(List.of(3L, 4L), sorted(tree.findOverlapping(43, 44)));
+    }
+
+    @Test
+    void removeOnlyMatchesStartAndId() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(10, 20, 1);
+        tree.insert(10, 30, 2);
+        assertFalse(tree.remove(10, 3));
+        assertFalse(tree.remove(11, 1));
+        assertEquals(2, tree.size());
+        assertTrue(tree.remove(10, 1));
+        assertEquals(1, tree.size());
+        assertEquals(List.of(2L), tree.findOverlapping(25, 26));
+        assertFalse(tree.remove(10, 1));
+    }
+
+    @Test
+    void staysBalancedAndCorrectWhenRemovingAfterRotations() {
+        IntervalTree tree = new IntervalTree();
+        // Ascending starts rotate on almost every insert
+        int count = 1024;
+        for (int i = 0; i < count; i++) {
+            tree.insert(i * 10L, i * 10L + 15, i);
+        }
+        assertBalanced(tree);
+
+        // Remove every other interval, which deletes interior nodes with two children
+        for (int i = 0; i < count; i += 2) {
+            assertTrue(tree.remove(i * 10L, i));
+        }
+        assertEquals(count / 2, tree.size());
+        assertBalanced(tree);
+        // [20, 35) is gone and [10, 25), [30, 45) leave a gap; [30, 45) still covers 36
+        assertFalse(tree.overlaps(26, 29));
+        assertEquals(List.of(3L), tree.findOverlapping(36, 37));
+        // The last interval left is [10230, 10245); this relies on maxEnd after the rotations
+        assertFalse(tree.overlaps(count * 10L + 5, count * 10L + 100));
+        assertTrue(tree.overlaps(count * 10L + 4, count * 10L + 100));
+    }
+
+    @Test
+    void matchesABruteForceScanUnderRandomInsertsAndRemoves() {
+        Random random = new Random(3);
+        IntervalTree tree = new IntervalTree();
+        List<long[]> stored = new ArrayList<>();
+        long nextId = 0;
+        for (int round = 0; round < 20_000; round++) {
+            if (stored.isEmpty() || random.nextInt(3) > 0) {
+                long start = random.nextInt(10_000);
+                long end = start + 1 + random.nextInt(random.nextInt(10) == 0 ? 2000 : 50);
+                tree.insert(start, end, nextId);
+                stored.add(new long[] { start, end, nextId++ });
+            } else {
+                long[] victim = stored.remove(random.nextInt(stored.size()));
+                assertTrue(tree.remove(victim[0], victim[2]));
+            }
+
+            long start = random.nextInt(10_100) - 50;
+            long end = start + 1 + random.nextInt(100);
+            List<Long> expected = new ArrayList<>();
+            for (long[] interval : stored) {
+                if (interval[0] < end && start < interval[1]) {
+                    expected.add(interval[2]);
+                }
+            }
+            assertEquals(!expected.isEmpty(), tree.overlaps(start, end));
+            if (round % 50 == 0) {
+                assertEquals(sorted(expected), sorted(tree.findOverlapping(start, end)));
+            }
+        }
+        assertEquals(stored.size(), tree.size());
+        assertBalanced(tree);
+    }
+
+    private static List<Long> sorted(List<Long> ids) {
+        List<Long> copy = new ArrayList<>(ids);
+        Collections.sort(copy);
+        return copy;
+    }
+
+    // AVL bound: height < 1.45 log2(n + 2)
+    private static void assertBalanced(IntervalTree tree) {
+        Object root = ReflectionTestUtils.getField(tree, "root");
+        int height = root == null ? 0 : (Integer) ReflectionTestUtils.getField(root, "height");
+        assertTrue(height < 1.45 * Math.log(tree.size() + 2) / Math.log(2), "height " + height);
+    }
+}
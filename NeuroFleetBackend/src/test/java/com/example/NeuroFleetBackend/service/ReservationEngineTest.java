@@ -0,0 +1,143 @@
+package com.example.NeuroFleetBackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.NeuroFleetBackend.model.Booking;
+import com.example.NeuroFleetBackend.model.Vehicle;
+import com.example.NeuroFleetBackend.repository.BookingRepository;
+
+class ReservationEngineTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 3, 10, 0, 0);
+
+    private BookingRepository bookingRepository;
+    private ReservationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        engine = new ReservationEngine();
+        ReflectionTestUtils.setField(engine, "bookingRepository", bookingRepository);
+    }
+
+    @Test
+    void backToBackBookingsDoNotConflict() {
+        assertNotNull(engine.tryHold(1L, at(10), at(12)));
+        assertNotNull(engine.tryHold(1L, at(12), at(14)));
+        assertNotNull(engine.tryHold(1L, at(8), at(10)));
+        assertNull(engine.tryHold(1L, at(11), at(13)));
+        assertNull(engine.tryHold(1L, at(9), at(15)));
+        // Another vehicle has its own schedule
+        assertNotNull(engine.tryHold(2L, at(11), at(13)));
+    }
+
+    @Test
+    void nestedWindowsConflictBothWays() {
+        assertNotNull(engine.tryHold(1L, at(8), at(18)));
+        assertNull(engine.tryHold(1L, at(10), at(11)));
+        assertNotNull(engine.tryHold(2L, at(10), at(11)));
+        assertNull(engine.tryHold(2L, at(8), at(18)));
+    }
+
+    @Test
+    void openEndedBookingsHoldTheVehicleFromTheirStart() {
+        assertNotNull(engine.tryHold(1L, at(10), null));
+        assertNull(engine.tryHold(1L, DAY.plusDays(30), DAY.plusDays(31)));
+        assertNotNull(engine.tryHold(1L, at(8), at(10)));
+    }
+
+    @Test
+    void cancelledAndReleasedHoldsFreeTheWindow() {
+        ReservationEngine.Hold cancelled = engine.tryHold(1L, at(10), at(12));
+        engine.cancel(cancelled);
+        ReservationEngine.Hold confirmed = engine.tryHold(1L, at(10), at(12));
+        assertNotNull(confirmed);
+
+        // After confirm the window belongs to the booking id, not the hold
+        engine.confirm(confirmed, 42L);
+        engine.cancel(confirmed);
+        assertNull(engine.tryHold(1L, at(11), at(13)));
+        engine.release(1L, 42L);
+        assertNotNull(engine.tryHold(1L, at(11), at(13)));
+    }
+
+    @Test
+    void findFreeVehiclesSkipsBusyOnes() {
+        engine.tryHold(1L, at(10), at(12));
+        engine.tryHold(3L, at(12), at(14));
+        assertEquals(List.of(2L, 3L), engine.findFreeVehicles(List.of(1L, 2L, 3L), at(11), at(12)));
+        assertEquals(List.of(1L, 2L, 3L), engine.findFreeVehicles(List.of(1L, 2L, 3L), at(14), at(16)));
+    }
+
+    @Test
+    void rebuildSkipsUndispatchedBookings() {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(1L);
+        when(bookingRepository.findByStatusIn(ReservationEngine.ACTIVE_STATUSES))
+                .thenReturn(List.of(booking(10L, vehicle, at(10), at(12)), booking(11L, null, at(14), at(16))));
+        engine.rebuild();
+
+        assertNull(engine.tryHold(1L, at(11), at(13)));
+        assertNotNull(engine.tryHold(1L, at(14), at(16)));
+    }
+
+    @Test
+    void detectsTheSameConflictsAsABruteForceCheck() {
+        Random random = new Random(17);
+        List<long[]> held = new ArrayList<>();
+        List<ReservationEngine.Hold> holds = new ArrayList<>();
+        for (int round = 0; round < 5000; round++) {
+            if (!holds.isEmpty() && random.nextInt(4) == 0) {
+                int index = random.nextInt(holds.size());
+                engine.cancel(holds.remove(index));
+                held.remove(index);
+                continue;
+            }
+            long vehicleId = 1 + random.nextInt(5);
+            int startMinute = random.nextInt(7 * 24 * 60);
+            int minutes = 15 + random.nextInt(6 * 60);
+            boolean expectedFree = true;
+            for (long[] window : held) {
+                if (window[0] == vehicleId && window[1] < startMinute + minutes && startMinute < window[2]) {
+                    expectedFree = false;
+                    break;
+                }
+            }
+
+            ReservationEngine.Hold hold = engine.tryHold(vehicleId, DAY.plusMinutes(startMinute),
+                    DAY.plusMinutes(startMinute + minutes));
+            assertEquals(expectedFree, hold != null, "round " + round);
+            if (hold != null) {
+                holds.add(hold);
+                held.add(new long[] { vehicleId, startMinute, startMinute + minutes });
+            }
+        }
+    }
+
+    private static LocalDateTime at(int hour) {
+        return DAY.plusHours(hour);
+    }
+
+    private static Booking booking(Long id, Vehicle vehicle, LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setVehicle(vehicle);
+        booking.setStartTime(start);
+        booking.setEndTime(end);
+        booking.setStatus("CONFIRMED");
+        return booking;
+    }
+}
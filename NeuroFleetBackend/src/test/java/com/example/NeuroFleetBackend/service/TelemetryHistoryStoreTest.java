@@ -0,0 +1,82 @@
+package com.example.NeuroFleetBackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.NeuroFleetBackend.dto.TelemetryUpdate;
+
+class TelemetryHistoryStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private TelemetryHistoryStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new TelemetryHistoryStore();
+        ReflectionTestUtils.setField(store, "directory", directory.toString());
+        ReflectionTestUtils.setField(store, "segmentMinutes", 60L);
+        ReflectionTestUtils.setField(store, "segmentCapacity", 1024);
+        ReflectionTestUtils.setField(store, "retentionHours", 72L);
+        ReflectionTestUtils.setField(store, "maxPoints", 10000);
+        ReflectionTestUtils.setField(store, "maxClockSkewMs", 60000L);
+        store.open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void keepsPointsWithinRetentionAndClockSkew() {
+        long now = System.currentTimeMillis();
+        assertTrue(store.append(ping(now - TimeUnit.HOURS.toMillis(71))));
+        assertTrue(store.append(ping(now)));
+        assertTrue(store.append(ping(now + 30_000)));
+        assertEquals(3L, store.getStats().get("records"));
+    }
+
+    @Test
+    void rejectsFutureTimestampsWithoutOpeningAPartition() {
+        long now = System.currentTimeMillis();
+        assertFalse(store.append(ping(now + TimeUnit.MINUTES.toMillis(5))));
+        assertFalse(store.append(ping(now + TimeUnit.DAYS.toMillis(365))));
+        assertFalse(store.append(ping(now - TimeUnit.HOURS.toMillis(73))));
+        assertEquals(0, store.getStats().get("partitions"));
+        assertEquals(0, directory.toFile().list().length);
+    }
+
+    @Test
+    void ingestionRejectsTheSameFutureTimestamps() {
+        TelemetryIngestionService ingestion = new TelemetryIngestionService();
+        ReflectionTestUtils.setField(ingestion, "maxClockSkewMs", 60000L);
+        long now = System.currentTimeMillis();
+        assertNull(ingestion.validate(ping(now + 30_000)));
+        assertNull(ingestion.validate(ping(null)));
+        assertNotNull(ingestion.validate(ping(now + TimeUnit.DAYS.toMillis(1))));
+    }
+
+    private static TelemetryUpdate ping(Long timestamp) {
+        TelemetryUpdate update = new TelemetryUpdate();
+        update.setVehicleId(7L);
+        update.setLatitude(12.97);
+        update.setLongitude(77.59);
+        update.setTimestamp(timestamp);
+        return update;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.NeuroFleetBackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    @Test
+    void firesEveryTimerOnItsTickAcrossAllLevels() {
+        long start = 1_760_000_000_000L;
+        TimingWheel wheel = new TimingWheel(1000, start, 16);
+        Random random = new Random(5);
+        int timers = 20_000;
+        long[] dueMs = new long[timers];
+        for (int key = 0; key < timers; key++) {
+            // A second to about 180 days ahead, so timers start on every level
+            long delay = (long) Math.pow(10, 3 + random.nextDouble() * 7.2);
+            dueMs[key] = start + delay;
+            wheel.schedule(key, dueMs[key]);
+        }
+        assertEquals(timers, wheel.size());
+
+        long[] firedAt = new long[timers];
+        long now = start;
+        long step = 1000L * 3600;
+        long end = start + 210L * 24 * 3600 * 1000;
+        // Large steps run many ticks per advance; each key is stamped with the step's end
+        while (now < end) {
+            long stepEnd = Math.min(end, now + step);
+            wheel.advance(stepEnd, key -> firedAt[(int) key] = stepEnd);
+            now = stepEnd;
+        }
+        assertEquals(0, wheel.size());
+        for (int key = 0; key < timers; key++) {
+            long dueStep = start + ((dueMs[key] - start + step - 1) / step) * step;
+            assertEquals(Math.min(end, dueStep), firedAt[key]);
+        }
+    }
+
+    @Test
+    void firesInDueOrderAndPastTimesOnTheNextTick() {
+        TimingWheel wheel = new TimingWheel(100, 0, 16);
+        wheel.schedule(3, 250_000);
+        wheel.schedule(1, 150);
+        wheel.schedule(2, 6_500);
+        wheel.schedule(0, -5_000);
+        List<Long> fired = new ArrayList<>();
+
+        wheel.advance(99, fired::add);
+        assertEquals(List.of(), fired);
+        wheel.advance(100, fired::add);
+        assertEquals(List.of(0L), fired);
+        wheel.advance(199, fired::add);
+        assertEquals(List.of(0L), fired);
+        wheel.advance(200, fired::add);
+        wheel.advance(1_000_000, fired::add);
+        assertEquals(List.of(0L, 1L, 2L, 3L), fired);
+    }
+
+    @Test
+    void keepsTimersBeyondTheTopLevel() {
+        // Two levels cover 4096 ticks
+        TimingWheel wheel = new TimingWheel(1, 0, 16, 2);
+        long farAway = 10_000;
+        wheel.schedule(9, farAway);
+        List<Long> fired = new ArrayList<>();
+
+        wheel.advance(farAway - 1, fired::add);
+        assertEquals(List.of(), fired);
+        wheel.advance(farAway, fired::add);
+        assertEquals(List.of(9L), fired);
+    }
+}
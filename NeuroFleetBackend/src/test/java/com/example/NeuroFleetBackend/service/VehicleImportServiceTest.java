@@ -0,0 +1,126 @@
+package com.example.NeuroFleetBackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.NeuroFleetBackend.dto.VehicleImportResult;
+import com.example.NeuroFleetBackend.model.Vehicle;
+import com.example.NeuroFleetBackend.repository.VehicleRepository;
+
+class VehicleImportServiceTest {
+
+    private VehicleImportService importService;
+    private Map<String, Vehicle> stored;
+
+    @BeforeEach
+    void setUp() {
+        stored = new HashMap<>();
+        Vehicle existing = new Vehicle();
+        existing.setId(1L);
+        existing.setVehicleNumber("KA-01-0001");
+        existing.setModel("Ertiga");
+        existing.setStatus("BOOKED");
+        stored.put(existing.getVehicleNumber(), existing);
+
+        AtomicLong ids = new AtomicLong(1);
+        VehicleRepository vehicleRepository = mock(VehicleRepository.class);
+        when(vehicleRepository.findByVehicleNumberIn(anyCollection())).thenAnswer(invocation -> {
+            List<Vehicle> found = new ArrayList<>();
+            for (Object number : (Collection<?>) invocation.getArgument(0)) {
+                if (stored.containsKey(number)) {
+                    found.add(stored.get(number));
+                }
+            }
+            return found;
+        });
+        when(vehicleRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Vehicle> saved = new ArrayList<>();
+            for (Vehicle vehicle : invocation.<Iterable<Vehicle>>getArgument(0)) {
+                // Stands in for a constraint the database rejects
+                if (vehicle.getVehicleNumber().startsWith("REJECT")) {
+                    throw new DataIntegrityViolationException("Data too long for column 'model'");
+                }
+                vehicle.setId(ids.incrementAndGet());
+                saved.add(vehicle);
+            }
+            saved.forEach(vehicle -> stored.put(vehicle.getVehicleNumber(), vehicle));
+            return saved;
+        });
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+
+        importService = new VehicleImportService();
+        ReflectionTestUtils.setField(importService, "vehicleRepository", vehicleRepository);
+        ReflectionTestUtils.setField(importService, "fleetState", mock(FleetStateCache.class));
+        ReflectionTestUtils.setField(importService, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(importService, "chunkSize", 3);
+        ReflectionTestUtils.setField(importService, "maxRows", 100);
+        ReflectionTestUtils.setField(importService, "maxErrors", 100);
+    }
+
+    @Test
+    void upsertsValidRowsAndReportsTheRest() throws Exception {
+        String csv = "vehicleNumber,model,status,latitude,batteryLevel\r\n"
+                + "KA-01-0001,,available,12.5,\r\n"
+                + "\"KA-01-0002\",\"Nexon, EV \"\"Max\"\"\",,18.4,90\r\n"
+                + "\r\n"
+                + "KA-01-0003,Ace Gold,FLYING,,\r\n"
+                + "KA-01-0004,,,,\r\n"
+                + "KA-01-0002,Innova,,,\r\n"
+                + "KA-01-0005,Activa,,north,\r\n"
+                + "REJECT-1,Activa,,,\r\n"
+                + "KA-01-0006,Activa,,,,50\r\n"
+                + "KA-01-0007,Activa,,-91,\r\n"
+                + "KA-01-0008,Activa,,,50";
+
+        VehicleImportResult result = importService.importCsv(new StringReader(csv));
+
+        assertEquals(10, result.getReceived());
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getUpdated());
+        assertEquals(7, result.getFailed());
+        assertEquals(List.of(3, 4, 5, 6, 7, 8, 9),
+                result.getErrors().stream().map(VehicleImportResult.RowError::getRow).toList());
+        assertEquals("KA-01-0005", result.getErrors().get(3).getVehicleNumber());
+
+        // Existing vehicle: only the fields the row set changed
+        Vehicle updated = stored.get("KA-01-0001");
+        assertEquals("AVAILABLE", updated.getStatus());
+        assertEquals("Ertiga", updated.getModel());
+        assertEquals(12.5, updated.getLatitude());
+
+        Vehicle created = stored.get("KA-01-0002");
+        assertEquals("Nexon, EV \"Max\"", created.getModel());
+        assertEquals("AVAILABLE", created.getStatus());
+        assertEquals(90.0, created.getBatteryLevel());
+        assertNull(stored.get("REJECT-1"));
+    }
+
+    @Test
+    void rejectsUnknownColumns() {
+        assertThrows(IllegalArgumentException.class,
+                () -> importService.importCsv(new StringReader("vehicleNumber,colour\nKA-01-0009,red")));
+    }
+}
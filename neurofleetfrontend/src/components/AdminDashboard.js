@@ -10,6 +10,19 @@ const AdminDashboard = () => {
 
   useEffect(() => {
     fetchDashboardData();
+
+    // Live counters pushed by the server; EventSource cannot set headers, so the token goes in the URL
+    const token = localStorage.getItem('token');
+    const stream = new EventSource(`http://localhost:8085/api/stream/fleet?access_token=${token}`);
+    const applyCounters = (event) => {
+      const { counters } = JSON.parse(event.data);
+      if (counters) {
+        setDashboardData(prev => prev ? { ...prev, ...counters } : prev);
+      }
+    };
+    stream.addEventListener('snapshot', applyCounters);
+    stream.addEventListener('delta', applyCounters);
+    return () => stream.close();
   }, []);
 
   const fetchDashboardData = async () => {
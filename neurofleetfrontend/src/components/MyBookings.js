@@ -18,13 +18,21 @@ const MyBookings = ({ onRefresh }) => {
       setLoading(true);
       const token = localStorage.getItem('token');
 
-      const response = await axios.get(`${API_URL}/bookings/my-bookings`, {
-        headers: {
-          'Authorization': `Bearer ${token}`
-        }
-      });
-
-      setBookings(response.data);
+      // The API returns one page at a time; follow X-Next-Cursor until the last page
+      let all = [];
+      let cursor = null;
+      do {
+        const response = await axios.get(`${API_URL}/bookings/my-bookings`, {
+          headers: {
+            'Authorization': `Bearer ${token}`
+          },
+          params: cursor ? { limit: 500, cursor } : { limit: 500 }
+        });
+        all = all.concat(response.data);
+        cursor = response.headers['x-next-cursor'];
+      } while (cursor);
+
+      setBookings(all);
       setLoading(false);
     } catch (err) {
       console.error('Error fetching bookings:', err);
@@ -28,10 +28,18 @@ const VehicleList = () => {
   const fetchVehicles = async () => {
     try {
       const token = localStorage.getItem('token');
-      const response = await axios.get('http://localhost:8085/api/vehicles', {
-        headers: { Authorization: `Bearer ${token}` }
-      });
-      setVehicles(response.data);
+      // The API returns one page at a time; follow X-Next-Cursor until the last page
+      let all = [];
+      let cursor = null;
+      do {
+        const response = await axios.get('http://localhost:8085/api/vehicles', {
+          headers: { Authorization: `Bearer ${token}` },
+          params: cursor ? { limit: 500, cursor } : { limit: 500 }
+        });
+        all = all.concat(response.data);
+        cursor = response.headers['x-next-cursor'];
+      } while (cursor);
+      setVehicles(all);
     } catch (err) {
       console.error('Error fetching vehicles:', err);
     }